@@ -0,0 +1,30 @@
+package com.flipkart.hbaseobjectmapper;
+
+/**
+ * What to do with a field of primitive type when the row being read has no value for the column it's mapped to (see {@link HBColumn#absentValuePolicy()})
+ * <p>
+ * Since a primitive field can't be <code>null</code>, such fields are supported only when one of these policies (other than
+ * {@link #NONE}) is chosen. Fields of types <code>int</code>, <code>long</code>, <code>double</code> and <code>boolean</code> are
+ * supported. Values of such fields are serialized exactly the way values of their wrapper types are, but are read and written without boxing.
+ * <p>
+ * A policy can't tell a column the row has no value for from one that wasn't fetched. Hence, methods of DAOs that fetch only specified fields
+ * (e.g. {@link AbstractHBDAO#get(java.io.Serializable, java.util.Set) get(R, Set)}) require all primitive fields to be specified. If you fetch
+ * with a {@link org.apache.hadoop.hbase.client.Get Get} or {@link org.apache.hadoop.hbase.client.Scan Scan} restricted to some columns
+ * yourself, do include columns of primitive fields.
+ */
+public enum AbsentValuePolicy {
+    /**
+     * No policy (default): Fields of primitive types are not allowed
+     */
+    NONE,
+
+    /**
+     * Set the field to <code>0</code> (or <code>false</code>) if the row has no value for its column (or has an empty value)
+     */
+    ZERO,
+
+    /**
+     * Fail the read (with a {@link com.flipkart.hbaseobjectmapper.exceptions.MissingValueForPrimitiveFieldException MissingValueForPrimitiveFieldException}) if the row has no value for the field's column (or has an empty value)
+     */
+    FAIL
+}
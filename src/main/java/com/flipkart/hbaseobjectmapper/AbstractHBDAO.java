@@ -1,8 +1,11 @@
 package com.flipkart.hbaseobjectmapper;
 
 import com.flipkart.hbaseobjectmapper.codec.Codec;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hbase.client.Append;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.ConnectionFactory;
 import org.apache.hadoop.hbase.client.Delete;
@@ -17,8 +20,11 @@ import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
 
 import javax.annotation.concurrent.ThreadSafe;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
@@ -28,7 +34,18 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A <i>Data Access Object</i> (DAO) class that enables simple random access (read/write) of HBase rows.
@@ -43,10 +60,19 @@ import java.util.TreeMap;
  */
 @SuppressWarnings("WeakerAccess")
 @ThreadSafe
-public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T extends HBRecord<R>> extends BaseHBDAO<R, T> {
+public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T extends HBRecord<R>> extends BaseHBDAO<R, T> implements Closeable {
+
+    private static final ThreadFactory FAN_OUT_THREAD_FACTORY = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("hbase-orm-fan-out-%d").build();
 
     protected final Connection connection;
 
+    private static final long DEFAULT_WRITE_BEHIND_CAPACITY_IN_BYTES = 64L * 1024 * 1024;
+    private static final int DEFAULT_MAX_FAN_OUT_THREADS = 16;
+
+    private volatile BufferedMutator bufferedMutator;
+    private volatile WriteBehindQueue writeBehindQueue;
+    private volatile ExecutorService fanOutExecutor;
+
     /**
      * Constructs a data access object using your custom {@link HBObjectMapper}
      * <p>
@@ -139,7 +165,7 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
     public T get(R rowKey, int numVersionsToFetch) throws IOException {
         try (Table table = getHBaseTable()) {
             Result result = table.get(new Get(toBytes(rowKey)).readVersions(numVersionsToFetch));
-            return hbObjectMapper.readValueFromResult(result, hbRecordClass);
+            return readRecord(result);
         }
     }
 
@@ -177,7 +203,7 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
     public T getOnGet(Get get) throws IOException {
         try (Table table = getHBaseTable()) {
             Result result = table.get(get);
-            return hbObjectMapper.readValueFromResult(result, hbRecordClass);
+            return readRecord(result);
         }
     }
 
@@ -188,16 +214,105 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
      */
     @SuppressWarnings("unused")
     public List<T> getOnGets(List<Get> gets) throws IOException {
-        List<T> records = new ArrayList<>(gets.size());
+        try (Table table = getHBaseTable()) {
+            Result[] results = table.get(gets);
+            return readRecords(results);
+        }
+    }
+
+
+    /**
+     * Get a row from HBase table by it's row key, fetching (and deserializing) only specified fields
+     *
+     * @param rowKey     Row key
+     * @param fieldNames Names of fields to fetch (must include all primitive fields, since they can't be left <code>null</code>)
+     * @return HBase row, deserialized as object of your bean-like class (fields other than those specified are <code>null</code>)
+     * @throws IOException              When HBase call fails
+     * @throws IllegalArgumentException If no fields are specified, if any of the fields isn't mapped to an HBase column or if a primitive field isn't specified
+     */
+    public T get(R rowKey, Set<String> fieldNames) throws IOException {
+        return getOnGet(getGet(rowKey, fieldNames));
+    }
+
+    /**
+     * Get rows by list of row keys, fetching (and deserializing) only specified fields (This method is a bulk variant of {@link #get(Serializable, Set) get(R, Set)} method)
+     *
+     * @param rowKeys    Row keys to fetch
+     * @param fieldNames Names of fields to fetch (must include all primitive fields, since they can't be left <code>null</code>)
+     * @return List of rows corresponding to row keys passed, deserialized as objects of your bean-like class (fields other than those specified are <code>null</code>)
+     * @throws IOException              When HBase call fails
+     * @throws IllegalArgumentException If no fields are specified, if any of the fields isn't mapped to an HBase column or if a primitive field isn't specified
+     */
+    public List<T> get(List<R> rowKeys, Set<String> fieldNames) throws IOException {
+        List<Get> gets = new ArrayList<>(rowKeys.size());
+        for (R rowKey : rowKeys) {
+            gets.add(getGet(rowKey, fieldNames));
+        }
+        return getOnGets(gets);
+    }
+
+    /**
+     * Get specified number of versions of a row from HBase table by it's row key, with fields deserialized only when they're first read
+     * <br><br>
+     * This is a lazy variant of {@link #get(Serializable, int) get(R, int)} method, useful when only a few fields of a wide row are needed
+     *
+     * @param rowKey             Row key
+     * @param numVersionsToFetch Number of versions to be retrieved
+     * @return HBase row, as a {@link LazyRecord} of your bean-like class (<code>null</code>, if row doesn't exist)
+     * @throws IOException When HBase call fails
+     */
+    public LazyRecord<R, T> getLazily(R rowKey, int numVersionsToFetch) throws IOException {
+        try (Table table = getHBaseTable()) {
+            Result result = table.get(new Get(toBytes(rowKey)).readVersions(numVersionsToFetch));
+            return hbObjectMapper.readValueLazilyFromResult(result, hbRecordClass);
+        }
+    }
+
+    /**
+     * Get a row from HBase table by it's row key, with fields deserialized only when they're first read
+     *
+     * @param rowKey Row key
+     * @return HBase row, as a {@link LazyRecord} of your bean-like class (<code>null</code>, if row doesn't exist)
+     * @throws IOException When HBase call fails
+     * @see #get(Serializable)
+     */
+    public LazyRecord<R, T> getLazily(R rowKey) throws IOException {
+        return getLazily(rowKey, 1);
+    }
+
+    /**
+     * Get specified number of versions of rows from HBase table by list of row keys, with fields deserialized only when they're first read (This method is a bulk variant of {@link #getLazily(Serializable, int) getLazily(R, int)} method)
+     *
+     * @param rowKeys            Row keys to fetch
+     * @param numVersionsToFetch Number of versions to be retrieved
+     * @return List of rows corresponding to row keys passed, as {@link LazyRecord}s of your bean-like class
+     * @throws IOException When HBase call fails
+     */
+    public List<LazyRecord<R, T>> getLazily(List<R> rowKeys, int numVersionsToFetch) throws IOException {
+        List<Get> gets = new ArrayList<>(rowKeys.size());
+        for (R rowKey : rowKeys) {
+            gets.add(new Get(toBytes(rowKey)).readVersions(numVersionsToFetch));
+        }
+        List<LazyRecord<R, T>> records = new ArrayList<>(rowKeys.size());
         try (Table table = getHBaseTable()) {
             Result[] results = table.get(gets);
             for (Result result : results) {
-                records.add(hbObjectMapper.readValueFromResult(result, hbRecordClass));
+                records.add(hbObjectMapper.readValueLazilyFromResult(result, hbRecordClass));
             }
         }
         return records;
     }
 
+    /**
+     * Get rows by list of row keys, with fields deserialized only when they're first read (This method is a bulk variant of {@link #getLazily(Serializable) getLazily(R)} method)
+     *
+     * @param rowKeys Row keys to fetch
+     * @return List of rows corresponding to row keys passed, as {@link LazyRecord}s of your bean-like class
+     * @throws IOException When HBase call fails
+     */
+    public List<LazyRecord<R, T>> getLazily(List<R> rowKeys) throws IOException {
+        return getLazily(rowKeys, 1);
+    }
 
     /**
      * Get specified number of versions of rows from HBase table by array of row keys (This method is a bulk variant of {@link #get(Serializable, int) get(R, int)} method)
@@ -215,9 +330,7 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
         @SuppressWarnings("unchecked") T[] records = (T[]) Array.newInstance(hbRecordClass, rowKeys.length);
         try (Table table = getHBaseTable()) {
             Result[] results = table.get(gets);
-            for (int i = 0; i < records.length; i++) {
-                records[i] = hbObjectMapper.readValueFromResult(results[i], hbRecordClass);
-            }
+            readRecords(results, records);
         }
         return records;
     }
@@ -246,14 +359,10 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
         for (R rowKey : rowKeys) {
             gets.add(new Get(toBytes(rowKey)).readVersions(numVersionsToFetch));
         }
-        List<T> records = new ArrayList<>(rowKeys.size());
         try (Table table = getHBaseTable()) {
             Result[] results = table.get(gets);
-            for (Result result : results) {
-                records.add(hbObjectMapper.readValueFromResult(result, hbRecordClass));
-            }
+            return readRecords(results);
         }
-        return records;
     }
 
     /**
@@ -298,11 +407,11 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
      * @throws IOException When HBase call fails
      */
     public List<T> get(R startRowKey, boolean startRowInclusive, R endRowKey, boolean endRowInclusive, int numVersionsToFetch) throws IOException {
-        Scan scan = new Scan()
-                .withStartRow(toBytes(startRowKey), startRowInclusive)
-                .withStopRow(toBytes(endRowKey), endRowInclusive)
-                .readVersions(numVersionsToFetch);
-        return get(scan);
+        List<Scan> scans = getScans(startRowKey, startRowInclusive, endRowKey, endRowInclusive);
+        for (Scan scan : scans) {
+            scan.readVersions(numVersionsToFetch);
+        }
+        return getMerged(scans);
     }
 
     /**
@@ -319,12 +428,110 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
         try (Table table = getHBaseTable();
              ResultScanner scanner = table.getScanner(scan)) {
             for (Result result : scanner) {
-                records.add(hbObjectMapper.readValueFromResult(result, hbRecordClass));
+                records.add(readRecord(result));
             }
         }
         return records;
     }
 
+    /**
+     * Get records for given scans over salt buckets (see {@link #getScans(Serializable, boolean, Serializable, boolean) getScans}), running them in parallel
+     * (on {@link #getFanOutExecutor()}) and merging their results in order of row keys
+     */
+    private List<T> getMerged(List<Scan> scans) throws IOException {
+        if (scans.size() == 1) {
+            return get(scans.get(0));
+        }
+        final Executor executor = getFanOutExecutor();
+        final List<CompletableFuture<List<Result>>> futures = new ArrayList<>(scans.size());
+        for (Scan scan : scans) {
+            try {
+                futures.add(CompletableFuture.supplyAsync(() -> scanAll(scan), executor));
+            } catch (RejectedExecutionException e) { // e.g. pool was shut down by a concurrent call to close()
+                futures.add(CompletableFuture.supplyAsync(() -> scanAll(scan), Runnable::run));
+            }
+        }
+        final List<List<Result>> resultsOfScans = new ArrayList<>(scans.size());
+        try {
+            for (CompletableFuture<List<Result>> future : futures) {
+                resultsOfScans.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return readRecords(mergeResults(resultsOfScans));
+    }
+
+    private List<Result> scanAll(Scan scan) {
+        List<Result> results = new ArrayList<>();
+        try (Table table = getHBaseTable();
+             ResultScanner scanner = table.getScanner(scan)) {
+            for (Result result : scanner) {
+                results.add(result);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return results;
+    }
+
+    /**
+     * Executor on which scans over salt buckets of a table are run in parallel, when fetching a range of rows (applicable only to tables whose row keys are salted; see {@link HBTable#rowKeySaltBuckets()})
+     * <p>
+     * By default, this is a pool of this DAO (of at most {@link #getMaxFanOutThreads()} daemon threads, which exit when idle), created on first
+     * call and shut down by {@link #close()}. Override this method to use an executor of your choice (whose lifecycle is then yours to manage).
+     *
+     * @return Executor
+     */
+    protected Executor getFanOutExecutor() {
+        ExecutorService executor = fanOutExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = fanOutExecutor;
+                if (executor == null) {
+                    final int threads = Math.max(1, getMaxFanOutThreads());
+                    ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), FAN_OUT_THREAD_FACTORY);
+                    pool.allowCoreThreadTimeOut(true);
+                    executor = pool;
+                    fanOutExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Maximum number of threads of the pool on which scans over salt buckets are run (see {@link #getFanOutExecutor()})
+     * <p>
+     * By default, this is the number of salt buckets of the table, capped at 16. Scans beyond these wait for a thread to free up. Override this method to change this.
+     *
+     * @return Number of threads
+     */
+    protected int getMaxFanOutThreads() {
+        return Math.min(hbTable.getSaltBuckets(), DEFAULT_MAX_FAN_OUT_THREADS);
+    }
+
+    /**
+     * Get records from HBase table for a given {@link Scan} object, fetching (and deserializing) only specified fields
+     * <br><br>
+     * <b>Caution:</b> If you expect large number or rows for given scan criteria, do <u>not</u> use this method. Use the iterable variant {@link #records(Scan, Set)} instead.
+     *
+     * @param scan       HBase's scan object (columns that specified fields are mapped to are added to it)
+     * @param fieldNames Names of fields to fetch (must include all primitive fields, since they can't be left <code>null</code>)
+     * @return Records corresponding to {@link Scan} object passed, deserialized as objects of your bean-like class (fields other than those specified are <code>null</code>)
+     * @throws IOException              When HBase call fails
+     * @throws IllegalArgumentException If no fields are specified, if any of the fields isn't mapped to an HBase column or if a primitive field isn't specified
+     */
+    public List<T> get(Scan scan, Set<String> fieldNames) throws IOException {
+        return get(addColumns(scan, fieldNames));
+    }
+
     /**
      * Get records whose row keys match provided prefix
      * <br><br>
@@ -336,10 +543,11 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
      * @throws IOException When HBase call fails
      */
     public List<T> getByPrefix(byte[] rowPrefix, int numVersionsToFetch) throws IOException {
-        Scan scan = new Scan()
-                .setRowPrefixFilter(rowPrefix)
-                .readVersions(numVersionsToFetch);
-        return get(scan);
+        List<Scan> scans = getScansByPrefix(rowPrefix);
+        for (Scan scan : scans) {
+            scan.readVersions(numVersionsToFetch);
+        }
+        return getMerged(scans);
     }
 
     /**
@@ -366,6 +574,42 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
         return new SyncRecords<>(connection, hbObjectMapper, hbRecordClass, hbTable.getName(), scan);
     }
 
+    /**
+     * Get an iterable to iterate over records matching given scans over salt buckets (see {@link #getScans(Serializable, boolean, Serializable, boolean) getScans}), in order of row keys
+     */
+    private Records<T> recordsMerged(List<Scan> scans) throws IOException {
+        if (scans.size() == 1) {
+            return records(scans.get(0));
+        }
+        final Table table = getHBaseTable();
+        final List<ResultScanner> scanners = new ArrayList<>(scans.size());
+        try {
+            for (Scan scan : scans) {
+                scanners.add(table.getScanner(scan));
+            }
+        } catch (IOException | RuntimeException e) {
+            for (ResultScanner scanner : scanners) {
+                scanner.close();
+            }
+            table.close();
+            throw e;
+        }
+        return new SyncRecords<>(table, mergeScanners(scanners), hbObjectMapper, hbRecordClass);
+    }
+
+    /**
+     * Get an iterable to iterate over records matching given {@link Scan} object, fetching (and deserializing) only specified fields
+     *
+     * @param scan       HBase's scan object (columns that specified fields are mapped to are added to it)
+     * @param fieldNames Names of fields to fetch (must include all primitive fields, since they can't be left <code>null</code>)
+     * @return An iterable to iterate over records matching the scan criteria (fields other than those specified are <code>null</code>)
+     * @throws IOException              When HBase call fails
+     * @throws IllegalArgumentException If no fields are specified, if any of the fields isn't mapped to an HBase column or if a primitive field isn't specified
+     */
+    public Records<T> records(Scan scan, Set<String> fieldNames) throws IOException {
+        return records(addColumns(scan, fieldNames));
+    }
+
     /**
      * Get an iterable to iterate over records matching given row key prefix
      *
@@ -386,10 +630,11 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
      * @throws IOException When HBase call fails
      */
     public Records<T> recordsByPrefix(byte[] rowPrefix, int numVersionsToFetch) throws IOException {
-        Scan scan = new Scan()
-                .setRowPrefixFilter(rowPrefix)
-                .readVersions(numVersionsToFetch);
-        return records(scan);
+        List<Scan> scans = getScansByPrefix(rowPrefix);
+        for (Scan scan : scans) {
+            scan.readVersions(numVersionsToFetch);
+        }
+        return recordsMerged(scans);
     }
 
     /**
@@ -401,10 +646,7 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
      * @throws IOException When HBase call fails
      */
     public Iterable<T> records(R startRowKey, R endRowKey) throws IOException {
-        Scan scan = new Scan()
-                .withStartRow(toBytes(startRowKey))
-                .withStopRow(toBytes(endRowKey));
-        return records(scan);
+        return recordsMerged(getScans(startRowKey, true, endRowKey, false));
     }
 
     /**
@@ -423,12 +665,11 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
      * @see <a href="https://hbase.apache.org/apidocs/org/apache/hadoop/hbase/client/Scan.html#setCaching-int-">HBase Scan caching</a>
      */
     public Records<T> records(R startRowKey, boolean startRowInclusive, R endRowKey, boolean endRowInclusive, int numVersionsToFetch, int numRowsForCaching) throws IOException {
-        Scan scan = new Scan()
-                .withStartRow(toBytes(startRowKey), startRowInclusive)
-                .withStopRow(toBytes(endRowKey), endRowInclusive)
-                .readVersions(numVersionsToFetch)
-                .setCaching(numRowsForCaching);
-        return records(scan);
+        List<Scan> scans = getScans(startRowKey, startRowInclusive, endRowKey, endRowInclusive);
+        for (Scan scan : scans) {
+            scan.readVersions(numVersionsToFetch).setCaching(numRowsForCaching);
+        }
+        return recordsMerged(scans);
     }
 
     /**
@@ -441,11 +682,11 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
      * @throws IOException When HBase call fails
      */
     public Records<T> records(R startRowKey, R endRowKey, int numVersionsToFetch) throws IOException {
-        Scan scan = new Scan()
-                .withStartRow(toBytes(startRowKey))
-                .withStopRow(toBytes(endRowKey))
-                .readVersions(numVersionsToFetch);
-        return records(scan);
+        List<Scan> scans = getScans(startRowKey, true, endRowKey, false);
+        for (Scan scan : scans) {
+            scan.readVersions(numVersionsToFetch);
+        }
+        return recordsMerged(scans);
     }
 
     /**
@@ -496,7 +737,7 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
     public T increment(Increment increment) throws IOException {
         try (Table table = getHBaseTable()) {
             Result result = table.increment(increment);
-            return hbObjectMapper.readValueFromResult(result, hbRecordClass);
+            return readRecord(result);
         }
     }
 
@@ -535,14 +776,14 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
         Append append = getAppend(rowKey);
         for (Map.Entry<String, Object> e : valuesToAppend.entrySet()) {
             String fieldName = e.getKey();
-            Field field = getField(fieldName);
+            WrappedHBColumn hbColumn = getColumn(fieldName);
+            Field field = hbColumn.getField();
             Object value = e.getValue();
             if (!field.getType().isAssignableFrom(value.getClass())) {
                 throw new IllegalArgumentException(String.format("An attempt was made to append a value of type '%s' to field '%s', which is of type '%s' (incompatible)", value.getClass(), fieldName, field.getType()));
             }
-            WrappedHBColumn hbColumn = new WrappedHBColumn(field);
             append.addColumn(hbColumn.familyBytes(), hbColumn.columnBytes(),
-                    hbObjectMapper.valueToByteArray((Serializable) value, hbColumn.codecFlags())
+                    hbObjectMapper.valueToByteArray((Serializable) value, hbColumn.valueCodec())
             );
         }
         return append(append);
@@ -563,7 +804,7 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
     public T append(Append append) throws IOException {
         try (Table table = getHBaseTable()) {
             Result result = table.append(append);
-            return hbObjectMapper.readValueFromResult(result, hbRecordClass);
+            return readRecord(result);
         }
     }
 
@@ -581,6 +822,10 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
 
     /**
      * Persist your bean-like object (of a class that implements {@link HBRecord}) to HBase table
+     * <br><br>
+     * <b>Note</b>: If write buffering is enabled (see {@link #isWriteBufferingEnabled()}), this method returns as soon as the write is buffered,
+     * and a failed write surfaces only from a later write or {@link #flush()} call. Since values stored for the object aren't known until then,
+     * it isn't tracked for changes (see {@link #isChangeTrackingEnabled()}): {@link #persistChanges(HBRecord) persistChanges} persists it in full.
      *
      * @param record Object that needs to be persisted
      * @return Row key of the persisted object, represented as a {@link String}
@@ -588,14 +833,101 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
      */
     public R persist(T record) throws IOException {
         Put put = hbObjectMapper.writeValueAsPut0(record);
-        try (Table table = getHBaseTable()) {
-            table.put(put);
-            return record.composeRowKey();
+        if (isWriteBufferingEnabled()) {
+            getBufferedMutator().mutate(put);
+            forgetSnapshot(record);
+        } else {
+            try (Table table = getHBaseTable()) {
+                table.put(put);
+            }
+            recordPersisted(record, put);
+        }
+        return record.composeRowKey();
+    }
+
+    /**
+     * Persist your bean-like object (of a class that implements {@link HBRecord}) to HBase table in the background ('write-behind')
+     * <p>
+     * The object is serialized right away, but is written by a background thread of this DAO, which writes all pending objects at once (grouped
+     * by region server and sent in parallel). This method returns as soon as the object is queued, unless the queue is full: The queue is bounded
+     * by the memory its pending writes take (see {@link #getWriteBehindCapacityInBytes()}), in which case this method waits for room (see
+     * {@link #getWriteBehindMaxWaitMs()}). Use the future returned to learn when the object is written (or why it couldn't be).
+     * <br><br>
+     * <b>Note</b>: <ul>
+     * <li>Dependent actions of the future (e.g. callbacks added through <code>thenAccept</code>) run on {@link #getWriteBehindCompletionExecutor()},
+     * not on the background thread. So, they may call methods of this DAO (including this one and {@link #flush()}).</li>
+     * <li>If change tracking is enabled (see {@link #isChangeTrackingEnabled()}), the object is tracked only once it's written: Until then (or if
+     * the write fails), {@link #persistChanges(HBRecord) persistChanges} persists it in full.</li>
+     * <li>Call {@link #flush()} to wait for all pending writes and {@link #close()} before your application shuts down, so that they aren't lost.</li>
+     * </ul>
+     *
+     * @param record Object that needs to be persisted
+     * @return Future that completes with row key of the object, once it's written
+     * @throws RejectedExecutionException If the queue is still full after waiting as long as {@link #getWriteBehindMaxWaitMs()}
+     * @throws IllegalStateException      If the background thread has stopped on an error (call {@link #close()} to start afresh)
+     * @throws InterruptedIOException     If interrupted while waiting for room in the queue
+     */
+    public CompletableFuture<R> persistAsync(T record) throws InterruptedIOException {
+        final Put put = hbObjectMapper.writeValueAsPut0(record);
+        final R rowKey = record.composeRowKey();
+        final CompletableFuture<Void> written;
+        try {
+            written = getWriteBehindQueue().enqueue(put, getWriteBehindMaxWaitMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw (InterruptedIOException) new InterruptedIOException("Interrupted while waiting for room in write-behind queue").initCause(e);
+        }
+        forgetSnapshot(record); // until written, values stored for the record aren't known
+        return written.whenComplete((ignored, failure) -> {
+            if (failure == null) {
+                recordPersisted(record, put);
+            }
+        }).thenApply(ignored -> rowKey);
+    }
+
+    /**
+     * Persist only those fields of your bean-like object that changed since it was read (or persisted) by this DAO
+     * <br><br>
+     * Fields that were modified are written and fields that were set to <code>null</code> are deleted (for a field annotated with
+     * {@link HBColumnMultiVersion}, versions that were removed from it are deleted), all atomically. If nothing changed, no call is made
+     * to HBase. This requires change tracking to be enabled (see {@link #isChangeTrackingEnabled()}). If it isn't, or if the record
+     * wasn't read through this DAO (or its row key has changed since), this method falls back to {@link #persist(HBRecord)}.
+     * <br><br>
+     * <b>Note</b>: If write buffering is enabled (see {@link #isWriteBufferingEnabled()}), writes buffered so far are flushed before changes are
+     * written (so that a buffered write of the same row doesn't overwrite them later on).
+     *
+     * @param record Object whose changes need to be persisted
+     * @return Row key of the persisted object
+     * @throws IOException When HBase call fails
+     */
+    public R persistChanges(T record) throws IOException {
+        RecordSnapshot.Changes changes = getChanges(record);
+        if (changes == null) {
+            return persist(record);
         }
+        if (!changes.isEmpty()) {
+            final BufferedMutator mutator = bufferedMutator;
+            if (mutator != null) {
+                mutator.flush();
+            }
+            try (Table table = getHBaseTable()) {
+                if (changes.getDelete() == null) {
+                    table.put(changes.getPut());
+                } else if (changes.getPut() == null) {
+                    table.delete(changes.getDelete());
+                } else {
+                    table.mutateRow(toRowMutations(changes));
+                }
+            }
+            recordChangesPersisted(record, changes);
+        }
+        return record.composeRowKey();
     }
 
     /**
      * Persist a list of your bean-like objects (of a class that implements {@link HBRecord}) to HBase table (this is a bulk variant of {@link #persist(HBRecord)} method)
+     * <br><br>
+     * <b>Note</b>: If write buffering is enabled, these objects aren't tracked for changes, same as with {@link #persist(HBRecord)}.
      *
      * @param records List of objects that needs to be persisted
      * @return Row keys of the persisted objects, represented as a {@link String}
@@ -608,8 +940,18 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
             puts.add(hbObjectMapper.writeValueAsPut0(record));
             rowKeys.add(record.composeRowKey());
         }
-        try (Table table = getHBaseTable()) {
-            table.put(puts);
+        if (isWriteBufferingEnabled()) {
+            getBufferedMutator().mutate(puts);
+            for (T record : records) {
+                forgetSnapshot(record);
+            }
+        } else {
+            try (Table table = getHBaseTable()) {
+                table.put(puts);
+            }
+            for (int i = 0; i < puts.size(); i++) {
+                recordPersisted(records.get(i), puts.get(i));
+            }
         }
         return rowKeys;
     }
@@ -623,8 +965,12 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
      */
     public void delete(R rowKey) throws IOException {
         Delete delete = new Delete(toBytes(rowKey));
-        try (Table table = getHBaseTable()) {
-            table.delete(delete);
+        if (isWriteBufferingEnabled()) {
+            getBufferedMutator().mutate(delete);
+        } else {
+            try (Table table = getHBaseTable()) {
+                table.delete(delete);
+            }
         }
     }
 
@@ -636,6 +982,7 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
      */
     public void delete(T record) throws IOException {
         this.delete(record.composeRowKey());
+        recordDeleted(record);
     }
 
     /**
@@ -649,9 +996,7 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
         for (R rowKey : rowKeys) {
             deletes.add(new Delete(toBytes(rowKey)));
         }
-        try (Table table = getHBaseTable()) {
-            table.delete(deletes);
-        }
+        deleteAll(deletes);
     }
 
     /**
@@ -665,13 +1010,219 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
         for (T record : records) {
             deletes.add(new Delete(toBytes(record.composeRowKey())));
         }
-        try (Table table = getHBaseTable()) {
-            table.delete(deletes);
+        deleteAll(deletes);
+        for (T record : records) {
+            recordDeleted(record);
+        }
+    }
+
+    private void deleteAll(List<Delete> deletes) throws IOException {
+        if (isWriteBufferingEnabled()) {
+            getBufferedMutator().mutate(deletes);
+        } else {
+            try (Table table = getHBaseTable()) {
+                table.delete(deletes);
+            }
+        }
+    }
+
+    /**
+     * Whether {@link #persist(HBRecord) persist} and {@link #delete(HBRecord) delete} methods (all their variants) write through a
+     * {@link BufferedMutator} shared by all threads using this DAO, rather than making a call to HBase each
+     * <p>
+     * Override this method (to return <code>true</code>) to enable write buffering for your DAO. Mutations are then sent to HBase in large
+     * batches (grouped by region server), when the write buffer fills up (see {@link #getWriteBufferSize()}), when it's been a while since
+     * the last write (see {@link #getWriteBufferPeriodicFlushTimeoutMs()}) or when you call {@link #flush()}. This way, writes of
+     * individual records from many threads are coalesced into a few calls. By default, this is disabled.
+     * <br><br>
+     * <b>Note</b>: <ul>
+     * <li>When enabled, these methods return as soon as the mutation is buffered. So, a record persisted this way may not be visible to reads
+     * until it's flushed, and a failed write surfaces as an {@link IOException} from a later write or {@link #flush()} call.</li>
+     * <li>Records persisted this way aren't tracked for changes, since values stored for them aren't known until they're flushed (see
+     * {@link #persist(HBRecord)}).</li>
+     * <li>{@link #persistChanges(HBRecord) persistChanges} flushes buffered writes before writing changes. Other writes (e.g. <code>increment</code>
+     * and <code>append</code>) aren't buffered: Call {@link #flush()} before them, if they must be applied after buffered writes of the same rows.</li>
+     * <li>Call {@link #close()} (e.g. when your application shuts down), so that buffered writes aren't lost.</li>
+     * </ul>
+     *
+     * @return <code>true</code> if write buffering is enabled
+     */
+    protected boolean isWriteBufferingEnabled() {
+        return false;
+    }
+
+    /**
+     * Size of write buffer, in bytes (applicable only when {@link #isWriteBufferingEnabled()} is overridden)
+     * <p>
+     * By default, this returns <code>0</code>, meaning the size configured for your HBase client (<code>hbase.client.write.buffer</code>) is used.
+     *
+     * @return Size of write buffer, in bytes (or <code>0</code>)
+     */
+    protected long getWriteBufferSize() {
+        return 0;
+    }
+
+    /**
+     * Time (in milliseconds) after which buffered writes are flushed, even if the write buffer isn't full (applicable only when {@link #isWriteBufferingEnabled()} is overridden)
+     * <p>
+     * By default, this returns <code>0</code>, meaning the timeout configured for your HBase client (<code>hbase.client.write.buffer.periodicflush.timeout.ms</code>,
+     * which is disabled by default) is used.
+     *
+     * @return Timeout, in milliseconds (or <code>0</code>)
+     */
+    protected long getWriteBufferPeriodicFlushTimeoutMs() {
+        return 0;
+    }
+
+    /**
+     * Maximum memory (in bytes, as per {@link Put#heapSize()}) that writes queued by {@link #persistAsync(HBRecord)} may take, until they're written
+     * <p>
+     * By default, this is 64MB. Override this method to tune this for your DAO.
+     *
+     * @return Capacity of write-behind queue, in bytes
+     */
+    protected long getWriteBehindCapacityInBytes() {
+        return DEFAULT_WRITE_BEHIND_CAPACITY_IN_BYTES;
+    }
+
+    /**
+     * Maximum time (in milliseconds) {@link #persistAsync(HBRecord)} waits for room in the write-behind queue, when it's full
+     * <p>
+     * By default, this is {@link Long#MAX_VALUE} (i.e. callers block until there's room, which slows producers down to the pace at which
+     * HBase accepts writes). Override this method to return <code>0</code>, if you'd rather have callers fail fast (with a
+     * {@link RejectedExecutionException}), or to return a timeout of your choice.
+     *
+     * @return Timeout, in milliseconds
+     */
+    protected long getWriteBehindMaxWaitMs() {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Executor on which futures returned by {@link #persistAsync(HBRecord)} are completed (and so, on which their dependent actions run, unless
+     * they're added through the <code>*Async</code> variants)
+     * <p>
+     * By default, this is {@link ForkJoinPool#commonPool()}. Override this method to use an executor of your choice. If it rejects a task, futures
+     * are completed on the background thread of the write-behind queue instead.
+     *
+     * @return Executor
+     */
+    protected Executor getWriteBehindCompletionExecutor() {
+        return ForkJoinPool.commonPool();
+    }
+
+    private WriteBehindQueue getWriteBehindQueue() {
+        WriteBehindQueue queue = writeBehindQueue;
+        if (queue == null) {
+            synchronized (this) {
+                queue = writeBehindQueue;
+                if (queue == null) {
+                    queue = new WriteBehindQueue(connection, hbTable.getName(), getWriteBehindCapacityInBytes(), getWriteBehindCompletionExecutor());
+                    writeBehindQueue = queue;
+                }
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * Get the {@link BufferedMutator} through which writes of this DAO are buffered (see {@link #isWriteBufferingEnabled()})
+     * <p>
+     * This is created on first call (as per {@link #getWriteBufferSize()} and {@link #getWriteBufferPeriodicFlushTimeoutMs()}) and is
+     * shared by all threads using this DAO, until {@link #close()} is called. Unlike a {@link Table}, a {@link BufferedMutator} is thread-safe.
+     *
+     * @return {@link BufferedMutator} object
+     * @throws IOException When buffered mutator couldn't be created through connection
+     */
+    public BufferedMutator getBufferedMutator() throws IOException {
+        BufferedMutator mutator = bufferedMutator;
+        if (mutator == null) {
+            synchronized (this) {
+                mutator = bufferedMutator;
+                if (mutator == null) {
+                    BufferedMutatorParams params = new BufferedMutatorParams(hbTable.getName());
+                    if (getWriteBufferSize() > 0) {
+                        params.writeBufferSize(getWriteBufferSize());
+                    }
+                    if (getWriteBufferPeriodicFlushTimeoutMs() > 0) {
+                        params.setWriteBufferPeriodicFlushTimeoutMs(getWriteBufferPeriodicFlushTimeoutMs());
+                    }
+                    mutator = connection.getBufferedMutator(params);
+                    bufferedMutator = mutator;
+                }
+            }
+        }
+        return mutator;
+    }
+
+    /**
+     * Sends all buffered writes to HBase and waits for them to complete (no-op if there are none; see {@link #isWriteBufferingEnabled()}),
+     * and waits for all writes queued by {@link #persistAsync(HBRecord)} so far to complete (their futures are completed on
+     * {@link #getWriteBehindCompletionExecutor()}, possibly a little after this method returns)
+     *
+     * @throws IOException           When HBase call fails (for any of the writes buffered so far; failures of queued writes are reported through their futures)
+     * @throws IllegalStateException If the background thread of write-behind queue has stopped on an error (its queued writes are failed)
+     */
+    public void flush() throws IOException {
+        BufferedMutator mutator = bufferedMutator;
+        if (mutator != null) {
+            mutator.flush();
+        }
+        WriteBehindQueue queue = writeBehindQueue;
+        if (queue != null) {
+            try {
+                queue.flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw (InterruptedIOException) new InterruptedIOException("Interrupted while waiting for queued writes").initCause(e);
+            }
+        }
+    }
+
+    /**
+     * Flushes buffered writes (see {@link #flush()}) and releases the {@link BufferedMutator} of this DAO, waits for writes queued by
+     * {@link #persistAsync(HBRecord)} to complete (after which its background thread exits) and shuts down the default pool of
+     * {@link #getFanOutExecutor()} (letting scans running on it finish)
+     * <p>
+     * This doesn't close the HBase connection (which may be shared). This DAO may still be used after this, in which case a new
+     * {@link BufferedMutator} (or write-behind queue or pool) is created when needed.
+     *
+     * @throws IOException When HBase call fails (for any of the writes buffered so far)
+     */
+    @Override
+    public void close() throws IOException {
+        BufferedMutator mutator;
+        WriteBehindQueue queue;
+        ExecutorService executor;
+        synchronized (this) {
+            mutator = bufferedMutator;
+            bufferedMutator = null;
+            queue = writeBehindQueue;
+            writeBehindQueue = null;
+            executor = fanOutExecutor;
+            fanOutExecutor = null;
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+        if (queue != null) {
+            try {
+                queue.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw (InterruptedIOException) new InterruptedIOException("Interrupted while waiting for queued writes").initCause(e);
+            }
+        }
+        if (mutator != null) {
+            mutator.close();
         }
     }
 
     /**
      * Get reference to HBase table
+     * <p>
+     * A {@link Table} is lightweight (it shares resources of the connection) but isn't thread-safe. So, a new one is obtained for every
+     * call (and closed right after), rather than being shared across threads.
      *
      * @return {@link HTable} object
      * @throws IOException When table reference couldn't be resolved through connection
@@ -739,16 +1290,17 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
      * @throws IOException When HBase call fails
      */
     public NavigableMap<R, NavigableMap<Long, Object>> fetchFieldValues(R startRowKey, R endRowKey, String fieldName, int numVersionsToFetch) throws IOException {
-        Field field = getField(fieldName);
-        WrappedHBColumn hbColumn = new WrappedHBColumn(field);
-        Scan scan = new Scan().withStartRow(toBytes(startRowKey)).withStopRow(toBytes(endRowKey));
-        scan.addColumn(hbColumn.familyBytes(), hbColumn.columnBytes());
-        scan.readVersions(numVersionsToFetch);
+        WrappedHBColumn hbColumn = getColumn(fieldName);
         NavigableMap<R, NavigableMap<Long, Object>> map = new TreeMap<>();
-        try (Table table = getHBaseTable();
-             ResultScanner scanner = table.getScanner(scan)) {
-            for (Result result : scanner) {
-                populateFieldValuesToMap(field, result, map);
+        try (Table table = getHBaseTable()) {
+            for (Scan scan : getScans(startRowKey, true, endRowKey, false)) {
+                scan.addColumn(hbColumn.familyBytes(), hbColumn.columnBytes());
+                scan.readVersions(numVersionsToFetch);
+                try (ResultScanner scanner = table.getScanner(scan)) {
+                    for (Result result : scanner) {
+                        populateFieldValuesToMap(hbColumn, result, map);
+                    }
+                }
             }
         }
         return map;
@@ -777,8 +1329,7 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
      * @throws IOException When HBase call fails
      */
     public Map<R, NavigableMap<Long, Object>> fetchFieldValues(R[] rowKeys, String fieldName, int numVersionsToFetch) throws IOException {
-        Field field = getField(fieldName);
-        WrappedHBColumn hbColumn = new WrappedHBColumn(field);
+        WrappedHBColumn hbColumn = getColumn(fieldName);
         List<Get> gets = new ArrayList<>(rowKeys.length);
         for (R rowKey : rowKeys) {
             Get get = new Get(toBytes(rowKey));
@@ -790,7 +1341,7 @@ public abstract class AbstractHBDAO<R extends Serializable & Comparable<R>, T ex
         try (Table table = getHBaseTable()) {
             Result[] results = table.get(gets);
             for (Result result : results) {
-                populateFieldValuesToMap(field, result, map);
+                populateFieldValuesToMap(hbColumn, result, map);
             }
         }
         return map;
@@ -35,8 +35,14 @@ class AsyncHBAdmin implements HBAdmin {
                             Bytes.toBytes(e.getKey())
                     ).setMaxVersions(e.getValue()).build());
         }
-        connection.getAdmin().createTable(tableDescriptorBuilder.build())
-                .join();
+        final byte[][] splitKeys = wrappedHBTable.getSaltSplitKeys();
+        if (splitKeys == null) {
+            connection.getAdmin().createTable(tableDescriptorBuilder.build())
+                    .join();
+        } else {
+            connection.getAdmin().createTable(tableDescriptorBuilder.build(), splitKeys)
+                    .join();
+        }
     }
 
     @Override
@@ -1,24 +1,38 @@
 package com.flipkart.hbaseobjectmapper;
 
+import com.flipkart.hbaseobjectmapper.codec.BestSuitCodec;
+import com.google.common.collect.MapMaker;
 import com.google.common.reflect.TypeToken;
 import org.apache.hadoop.hbase.Cell;
-import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.client.Append;
+import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.RowMutations;
+import org.apache.hadoop.hbase.client.Scan;
 
 import javax.annotation.Nonnull;
+import java.io.IOException;
 import java.io.Serializable;
+import java.lang.reflect.Array;
 import java.lang.reflect.Field;
-import java.lang.reflect.Type;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 /**
@@ -28,11 +42,18 @@ import java.util.function.Function;
  * @param <T> Entity type that maps to an HBase row (this type must have implemented {@link HBRecord} interface)
  */
 abstract class BaseHBDAO<R extends Serializable & Comparable<R>, T extends HBRecord<R>> {
+    private static final int DEFAULT_PARALLEL_DECODING_THRESHOLD = 1000;
+
     protected final HBObjectMapper hbObjectMapper;
     protected final Class<R> rowKeyClass;
     protected final Class<T> hbRecordClass;
     protected final WrappedHBTable<R, T> hbTable;
-    private final Map<String, Field> fields;
+    protected final WrappedHBClass<R, T> hbClass;
+
+    /**
+     * Snapshots of records read (or written) by this DAO, held against the record objects (compared by identity, and garbage collected along with them)
+     */
+    private final Map<T, RecordSnapshot> snapshots = new MapMaker().weakKeys().makeMap();
 
     @SuppressWarnings({"unchecked", "UnstableApiUsage"})
     protected BaseHBDAO(final HBObjectMapper hbObjectMapper) {
@@ -42,14 +63,13 @@ abstract class BaseHBDAO<R extends Serializable & Comparable<R>, T extends HBRec
         if (hbRecordClass == null) {
             throw new IllegalStateException("Unable to resolve HBase record type");
         }
-        this.hbObjectMapper.validateHBClass(hbRecordClass);
+        this.hbClass = this.hbObjectMapper.validateHBClass(hbRecordClass);
         this.rowKeyClass = (Class<R>) new TypeToken<R>(getClass()) {
         }.getRawType();
         if (rowKeyClass == null) {
             throw new IllegalStateException("Unable to resolve HBase rowkey type");
         }
-        this.hbTable = new WrappedHBTable<>(hbRecordClass);
-        this.fields = hbObjectMapper.getHBColumnFields0(hbRecordClass);
+        this.hbTable = hbClass.getHBTable();
     }
 
     /**
@@ -76,7 +96,7 @@ abstract class BaseHBDAO<R extends Serializable & Comparable<R>, T extends HBRec
      * @return A {@link Set} containing names of fields
      */
     public Set<String> getFields() {
-        return fields.keySet();
+        return hbClass.getFields().keySet();
     }
 
     /**
@@ -86,7 +106,7 @@ abstract class BaseHBDAO<R extends Serializable & Comparable<R>, T extends HBRec
      * @return Byte array corresponding to HBase row key
      */
     public byte[] toBytes(R rowKey) {
-        return hbObjectMapper.rowKeyToBytes(rowKey, hbTable.getCodecFlags());
+        return hbObjectMapper.rowKeyToBytes(rowKey, hbClass);
     }
 
     /**
@@ -100,6 +120,110 @@ abstract class BaseHBDAO<R extends Serializable & Comparable<R>, T extends HBRec
         return new Get(toBytes(rowKey));
     }
 
+    /**
+     * Creates an HBase {@link Get} object that fetches only columns that specified fields are mapped to
+     *
+     * @param rowKey     Row key
+     * @param fieldNames Names of fields to fetch (other fields of the record will be <code>null</code>), which must include all primitive fields
+     * @return HBase's Get object
+     * @throws IllegalArgumentException If no fields are specified, if any of the fields isn't mapped to an HBase column or if a primitive field isn't specified
+     */
+    public Get getGet(@Nonnull final R rowKey, @Nonnull final Set<String> fieldNames) {
+        final Get get = getGet(rowKey);
+        for (WrappedHBColumn hbColumn : getColumns(fieldNames)) {
+            get.addColumn(hbColumn.familyBytes(), hbColumn.columnBytes());
+        }
+        return get;
+    }
+
+    /**
+     * Restricts a {@link Scan} to columns that specified fields are mapped to (the {@link Scan} object passed is modified)
+     *
+     * @param scan       HBase's scan object
+     * @param fieldNames Names of fields to fetch (other fields of records will be <code>null</code>), which must include all primitive fields
+     * @return The same scan object
+     * @throws IllegalArgumentException If no fields are specified, if any of the fields isn't mapped to an HBase column or if a primitive field isn't specified
+     */
+    protected Scan addColumns(@Nonnull final Scan scan, @Nonnull final Set<String> fieldNames) {
+        for (WrappedHBColumn hbColumn : getColumns(fieldNames)) {
+            scan.addColumn(hbColumn.familyBytes(), hbColumn.columnBytes());
+        }
+        return scan;
+    }
+
+    /**
+     * Creates HBase {@link Scan} objects for a range of row keys: one per salt bucket if row keys of this table are salted (see
+     * {@link HBTable#rowKeySaltBuckets()}), or else, just one
+     *
+     * @param startRowKey       Row start
+     * @param startRowInclusive Whether start row is to be included
+     * @param endRowKey         Row end
+     * @param endRowInclusive   Whether end row is to be included
+     * @return HBase's Scan objects
+     */
+    protected List<Scan> getScans(@Nonnull final R startRowKey, final boolean startRowInclusive, @Nonnull final R endRowKey, final boolean endRowInclusive) {
+        if (!hbTable.isSalted()) {
+            return Collections.singletonList(new Scan()
+                    .withStartRow(toBytes(startRowKey), startRowInclusive)
+                    .withStopRow(toBytes(endRowKey), endRowInclusive));
+        }
+        final byte[] startRow = hbObjectMapper.unsaltedRowKeyToBytes(startRowKey, hbClass);
+        final byte[] stopRow = hbObjectMapper.unsaltedRowKeyToBytes(endRowKey, hbClass);
+        final List<Scan> scans = new ArrayList<>(hbTable.getSaltBuckets());
+        for (int bucket = 0; bucket < hbTable.getSaltBuckets(); bucket++) {
+            scans.add(new Scan()
+                    .withStartRow(WrappedHBTable.withSalt(bucket, startRow), startRowInclusive)
+                    .withStopRow(WrappedHBTable.withSalt(bucket, stopRow), endRowInclusive));
+        }
+        return scans;
+    }
+
+    /**
+     * Creates HBase {@link Scan} objects for a row key prefix: one per salt bucket if row keys of this table are salted (see
+     * {@link HBTable#rowKeySaltBuckets()}), or else, just one
+     * <p>
+     * Note: For a table with salted row keys, prefix is matched against row keys without their salt
+     *
+     * @param rowPrefix Prefix to scan for
+     * @return HBase's Scan objects
+     */
+    protected List<Scan> getScansByPrefix(final byte[] rowPrefix) {
+        if (!hbTable.isSalted()) {
+            return Collections.singletonList(new Scan().setRowPrefixFilter(rowPrefix));
+        }
+        final byte[] prefix = rowPrefix == null ? new byte[0] : rowPrefix;
+        final List<Scan> scans = new ArrayList<>(hbTable.getSaltBuckets());
+        for (int bucket = 0; bucket < hbTable.getSaltBuckets(); bucket++) {
+            scans.add(new Scan().setRowPrefixFilter(WrappedHBTable.withSalt(bucket, prefix)));
+        }
+        return scans;
+    }
+
+    /**
+     * Merges results of scans over salt buckets (each of which is in order of row keys) into a single array, in order of row keys
+     */
+    protected Result[] mergeResults(final List<? extends Collection<Result>> resultsOfScans) {
+        int size = 0;
+        for (Collection<Result> results : resultsOfScans) {
+            size += results.size();
+        }
+        final List<Result> merged = new ArrayList<>(size);
+        for (Collection<Result> results : resultsOfScans) {
+            merged.addAll(results);
+        }
+        final Result[] mergedResults = merged.toArray(new Result[0]);
+        // Sort detects the pre-sorted runs and merges them (i.e. this isn't a full-blown sort)
+        Arrays.sort(mergedResults, MergingResultScanner.rowComparator(hbTable.getSaltLength()));
+        return mergedResults;
+    }
+
+    /**
+     * Creates a scanner that merges scanners over salt buckets, in order of row keys
+     */
+    protected ResultScanner mergeScanners(final List<ResultScanner> scanners) {
+        return new MergingResultScanner(scanners, hbTable.getSaltLength());
+    }
+
     /**
      * Gets (native) {@link Increment} object for given row key, to be later used in increment method.
      *
@@ -120,36 +244,65 @@ abstract class BaseHBDAO<R extends Serializable & Comparable<R>, T extends HBRec
         return new Append(toBytes(rowKey));
     }
 
-    protected void populateFieldValuesToMap(final Field field, final Result result, final Map<R, NavigableMap<Long, Object>> map) {
+    protected void populateFieldValuesToMap(final WrappedHBColumn hbColumn, final Result result, final Map<R, NavigableMap<Long, Object>> map) {
         if (result.isEmpty()) {
             return;
         }
-        WrappedHBColumn hbColumn = new WrappedHBColumn(field);
         List<Cell> cells = result.getColumnCells(hbColumn.familyBytes(), hbColumn.columnBytes());
+        if (cells.isEmpty()) {
+            return;
+        }
+        // All cells of a Result belong to the same row, so row key is decoded just once
+        final Cell firstCell = cells.get(0);
+        final R rowKey = hbObjectMapper.bytesToRowKey(firstCell.getRowArray(), firstCell.getRowOffset(), firstCell.getRowLength(), hbClass);
+        NavigableMap<Long, Object> columnValuesVersioned = map.get(rowKey);
+        if (columnValuesVersioned == null) {
+            columnValuesVersioned = new SortedVersionsMap<>(cells.size());
+            map.put(rowKey, columnValuesVersioned);
+        }
         for (Cell cell : cells) {
-            Type fieldType = hbObjectMapper.getFieldType(field, hbColumn.isMultiVersioned());
-            @SuppressWarnings("unchecked") final R rowKey = hbObjectMapper.bytesToRowKey(CellUtil.cloneRow(cell), hbTable.getCodecFlags(), (Class<T>) field.getDeclaringClass());
-            if (!map.containsKey(rowKey)) {
-                map.put(rowKey, new TreeMap<>());
-            }
-            map.get(rowKey).put(cell.getTimestamp(), hbObjectMapper.byteArrayToValue(CellUtil.cloneValue(cell), fieldType, hbColumn.codecFlags()));
+            columnValuesVersioned.put(cell.getTimestamp(), hbObjectMapper.byteArrayToValue(cell.getValueArray(), cell.getValueOffset(), cell.getValueLength(), hbColumn.valueCodec()));
         }
     }
 
     protected WrappedHBColumn validateAndGetLongColumn(@Nonnull final String fieldName) {
-        Field field = getField(fieldName);
-        if (!Long.class.equals(field.getType())) {
+        WrappedHBColumn hbColumn = getColumn(fieldName);
+        if (!Long.class.equals(hbColumn.getField().getType()) && !long.class.equals(hbColumn.getField().getType())) {
             throw new IllegalArgumentException(String.format("Invalid attempt to increment a non-Long field (%s.%s)", hbRecordClass.getName(), fieldName));
         }
-        return new WrappedHBColumn(field);
+        if (hbColumn.codecFlags() != null && "true".equalsIgnoreCase(hbColumn.codecFlags().get(BestSuitCodec.SERIALIZE_AS_VARINT))) {
+            throw new IllegalArgumentException(String.format("Invalid attempt to increment a field serialized as a variable-length integer (%s.%s), since HBase increments only 8-byte values", hbRecordClass.getName(), fieldName));
+        }
+        return hbColumn;
     }
 
     protected Field getField(@Nonnull final String fieldName) {
-        Field field = fields.get(fieldName);
-        if (field == null) {
-            throw new IllegalArgumentException(String.format("Unrecognized field: '%s'. Choose one of %s%n", fieldName, fields.keySet()));
+        return getColumn(fieldName).getField();
+    }
+
+    protected WrappedHBColumn getColumn(@Nonnull final String fieldName) {
+        WrappedHBColumn hbColumn = hbClass.getColumn(fieldName);
+        if (hbColumn == null) {
+            throw new IllegalArgumentException(String.format("Unrecognized field: '%s'. Choose one of %s%n", fieldName, hbClass.getFields().keySet()));
+        }
+        return hbColumn;
+    }
+
+    protected List<WrappedHBColumn> getColumns(@Nonnull final Set<String> fieldNames) {
+        if (fieldNames.isEmpty()) {
+            throw new IllegalArgumentException("Specify at least one field to fetch");
+        }
+        final List<WrappedHBColumn> hbColumns = new ArrayList<>(fieldNames.size());
+        for (String fieldName : fieldNames) {
+            hbColumns.add(getColumn(fieldName));
+        }
+        for (WrappedHBColumn hbColumn : hbClass.getColumns()) {
+            // a primitive field can't be left out as null: it'd be set as per its absent value policy, which a later persist would write back
+            if (hbColumn.isPrimitive() && !fieldNames.contains(hbColumn.getField().getName())) {
+                throw new IllegalArgumentException(String.format("Field '%s' is a primitive (and hence can't be left unfetched). Include it in fields to fetch", hbColumn.getField().getName()));
+            }
         }
-        return field;
+        return hbColumns;
     }
 
     protected Map<R, Object> toSingleVersioned(@Nonnull final Map<R, NavigableMap<Long, Object>> multiVersionedMap, final int mapInitialCapacity) {
@@ -160,7 +313,139 @@ abstract class BaseHBDAO<R extends Serializable & Comparable<R>, T extends HBRec
         return map;
     }
 
+    /**
+     * Whether this DAO tracks changes made to records it reads (and writes), so that only changed fields are written on <code>persistChanges</code>
+     * <p>
+     * When enabled, a snapshot of the serialized values of a record's fields is held (for as long as the record object is reachable)
+     * for every record this DAO fetches through its <code>get</code> methods or persists. Values are copied into the snapshot (costing
+     * roughly as much memory as the record's serialized form, plus a copy per read), so that it doesn't hold on to buffers of HBase responses.
+     * Override this method (to return <code>true</code>) to enable change tracking for your DAO. By default, this is disabled.
+     *
+     * @return <code>true</code> if change tracking is enabled
+     */
+    protected boolean isChangeTrackingEnabled() {
+        return false;
+    }
+
+    protected T readRecord(final Result result) {
+        final T record = hbObjectMapper.readValueFromResult(result, hbRecordClass);
+        if (record != null && isChangeTrackingEnabled()) {
+            snapshots.put(record, RecordSnapshot.of(hbClass, result.getRow(), result.rawCells()));
+        }
+        return record;
+    }
+
+    /**
+     * Executor on which large batches of rows (e.g. results of a multi-get) are deserialized in parallel
+     * <p>
+     * Override this method to enable parallel deserialization for your DAO (e.g. return {@link ForkJoinPool#commonPool()} or an executor dedicated
+     * to this purpose). By default, this returns <code>null</code>, meaning rows are deserialized sequentially on the calling thread.
+     *
+     * @return Executor (or <code>null</code>, to deserialize sequentially)
+     * @see #getParallelDecodingThreshold()
+     */
+    protected Executor getDecodingExecutor() {
+        return null;
+    }
+
+    /**
+     * Minimum number of rows a batch must have, to be deserialized in parallel (applicable only when {@link #getDecodingExecutor()} is overridden)
+     * <p>
+     * Deserializing in parallel has an overhead of its own, which small batches don't make up for. Override this method to tune this for your DAO.
+     *
+     * @return Number of rows
+     */
+    protected int getParallelDecodingThreshold() {
+        return DEFAULT_PARALLEL_DECODING_THRESHOLD;
+    }
+
+    /**
+     * Deserializes a batch of rows, in parallel if it's large enough (see {@link #getDecodingExecutor()}), keeping them in the same order
+     */
+    protected List<T> readRecords(final Result[] results) {
+        @SuppressWarnings("unchecked") final T[] records = (T[]) Array.newInstance(hbRecordClass, results.length);
+        readRecords(results, records);
+        return new ArrayList<>(Arrays.asList(records));
+    }
+
+    protected void readRecords(final Result[] results, final T[] records) {
+        final Executor executor = getDecodingExecutor();
+        if (executor == null || results.length < Math.max(getParallelDecodingThreshold(), 2)) {
+            for (int i = 0; i < results.length; i++) {
+                records[i] = readRecord(results[i]);
+            }
+            return;
+        }
+        final int parallelism = executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism() : Runtime.getRuntime().availableProcessors();
+        final int batchSize = (results.length + parallelism) / (parallelism + 1); // calling thread deserializes a batch too
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(parallelism);
+        int from = batchSize; // first batch is deserialized on the calling thread
+        for (; from < results.length; from += batchSize) {
+            final int start = from, end = Math.min(from + batchSize, results.length);
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = start; i < end; i++) {
+                    records[i] = readRecord(results[i]);
+                }
+            }, executor));
+        }
+        for (int i = 0; i < Math.min(batchSize, results.length); i++) {
+            records[i] = readRecord(results[i]);
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    protected void recordPersisted(final T record, final Put put) {
+        if (isChangeTrackingEnabled()) {
+            snapshots.put(record, RecordSnapshot.of(hbClass, put));
+        }
+    }
+
+    protected void recordDeleted(final T record) {
+        snapshots.remove(record);
+    }
+
+    /**
+     * Discards snapshot of a record whose stored values can't be known for now (e.g. its write is pending or has failed), so that it's
+     * persisted in full the next time
+     */
+    protected void forgetSnapshot(final T record) {
+        snapshots.remove(record);
+    }
+
+    /**
+     * @return Changes made to record since it was read (or persisted), or <code>null</code> if record isn't tracked (or its row key has changed)
+     */
+    RecordSnapshot.Changes getChanges(final T record) {
+        final RecordSnapshot snapshot = snapshots.get(record);
+        return snapshot == null ? null : hbObjectMapper.writeChanges(record, snapshot);
+    }
+
+    void recordChangesPersisted(final T record, final RecordSnapshot.Changes changes) {
+        snapshots.put(record, changes.getSnapshot());
+    }
+
+    /**
+     * Packs {@link Put} and {@link Delete} of changes into a single mutation, so that they're applied atomically
+     */
+    static RowMutations toRowMutations(final RecordSnapshot.Changes changes) throws IOException {
+        final RowMutations rowMutations = new RowMutations(changes.getPut().getRow(), 2);
+        rowMutations.add(changes.getPut());
+        rowMutations.add(changes.getDelete());
+        return rowMutations;
+    }
+
     protected Function<Result, T> mapResultToRecordType() {
-        return result -> hbObjectMapper.readValueFromResult(result, hbRecordClass);
+        return this::readRecord;
+    }
+
+    protected Function<Result, LazyRecord<R, T>> mapResultToLazyRecord() {
+        return result -> hbObjectMapper.readValueLazilyFromResult(result, hbRecordClass);
     }
 }
@@ -0,0 +1,346 @@
+package com.flipkart.hbaseobjectmapper;
+
+import com.flipkart.hbaseobjectmapper.codec.JavaObjectStreamCodec;
+
+import java.io.Externalizable;
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Copies values of fields structurally, for {@link HBObjectMapper#copy(HBRecord)} (for internal use only)
+ * <p>
+ * How values of a class are copied is decided once per class:
+ * <ul>
+ * <li>Values of immutable types (e.g. {@link String}, wrappers of primitives, enums, {@link BigDecimal}, <code>java.time</code> types) are shared</li>
+ * <li>Arrays and common collections (e.g. {@link ArrayList}, {@link HashMap}, {@link TreeMap}, {@link SortedVersionsMap}) are copied into a new instance of the same class, copying their elements</li>
+ * <li>Instances of your own classes (that have an empty constructor and don't customize their Java serialization) are copied field by field</li>
+ * <li>Anything else is copied through Java serialization, same as {@link JavaObjectStreamCodec#deepCopy(Serializable)}</li>
+ * </ul>
+ * An instance of this class copies one object graph: An object referenced more than once in the graph is copied just once (so, shared references and cycles are preserved).
+ */
+final class DeepCopier {
+    private static final List<Class<?>> IMMUTABLE_CLASSES = Arrays.asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+            BigInteger.class, BigDecimal.class, UUID.class, Class.class);
+
+    private static final ClassValue<Strategy> STRATEGIES = new ClassValue<Strategy>() {
+        @Override
+        protected Strategy computeValue(Class<?> clazz) {
+            return strategyFor(clazz);
+        }
+    };
+
+    private IdentityHashMap<Object, Object> copies; // instantiated only when a mutable value is encountered
+
+    Object copy(Object value) {
+        if (value == null) {
+            return null;
+        }
+        Strategy strategy = STRATEGIES.get(value.getClass());
+        if (strategy == Immutable.INSTANCE) {
+            return value;
+        }
+        if (copies == null) {
+            copies = new IdentityHashMap<>();
+        } else {
+            Object copy = copies.get(value);
+            if (copy != null) {
+                return copy;
+            }
+        }
+        return strategy.copy(value, this);
+    }
+
+    /**
+     * Registers copy of a value, before its contents are copied (so that references back to the value resolve to the copy)
+     */
+    private <V> V register(Object value, V copy) {
+        copies.put(value, copy);
+        return copy;
+    }
+
+    private static Strategy strategyFor(Class<?> clazz) {
+        if (clazz.isPrimitive() || clazz.isEnum() || (clazz.getSuperclass() != null && clazz.getSuperclass().isEnum()) || IMMUTABLE_CLASSES.contains(clazz)
+                || (clazz.getName().startsWith("java.time.") && Modifier.isFinal(clazz.getModifiers()))) {
+            return Immutable.INSTANCE;
+        }
+        if (clazz.isArray()) {
+            return clazz.getComponentType().isPrimitive() ? PrimitiveArray.INSTANCE : ObjectArray.INSTANCE;
+        }
+        if (clazz == ArrayList.class || clazz == LinkedList.class || clazz == ArrayDeque.class || clazz == HashSet.class || clazz == LinkedHashSet.class) {
+            return new CollectionCopier(clazz);
+        }
+        if (clazz == TreeSet.class) {
+            return new CollectionCopier(clazz) {
+                @SuppressWarnings("unchecked")
+                @Override
+                Collection<Object> newCollection(Collection<?> collection) {
+                    return new TreeSet<>(((TreeSet<Object>) collection).comparator());
+                }
+            };
+        }
+        if (clazz == HashMap.class || clazz == LinkedHashMap.class) {
+            return new MapCopier(clazz);
+        }
+        if (clazz == TreeMap.class) {
+            return new MapCopier(clazz) {
+                @SuppressWarnings("unchecked")
+                @Override
+                Map<Object, Object> newMap(Map<?, ?> map) {
+                    return new TreeMap<>(((TreeMap<Object, Object>) map).comparator());
+                }
+            };
+        }
+        if (clazz == SortedVersionsMap.class) {
+            return VersionsMapCopier.INSTANCE;
+        }
+        Strategy beanCopier = BeanCopier.of(clazz);
+        return beanCopier != null ? beanCopier : Serialization.INSTANCE;
+    }
+
+    private abstract static class Strategy {
+        abstract Object copy(Object value, DeepCopier copier);
+    }
+
+    private static final class Immutable extends Strategy {
+        static final Immutable INSTANCE = new Immutable();
+
+        @Override
+        Object copy(Object value, DeepCopier copier) {
+            return value;
+        }
+    }
+
+    private static final class PrimitiveArray extends Strategy {
+        static final PrimitiveArray INSTANCE = new PrimitiveArray();
+
+        @Override
+        Object copy(Object value, DeepCopier copier) {
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+            System.arraycopy(value, 0, copy, 0, length);
+            return copier.register(value, copy);
+        }
+    }
+
+    private static final class ObjectArray extends Strategy {
+        static final ObjectArray INSTANCE = new ObjectArray();
+
+        @Override
+        Object copy(Object value, DeepCopier copier) {
+            Object[] array = (Object[]) value;
+            Object[] copy = copier.register(value, (Object[]) Array.newInstance(array.getClass().getComponentType(), array.length));
+            for (int i = 0; i < array.length; i++) {
+                copy[i] = copier.copy(array[i]);
+            }
+            return copy;
+        }
+    }
+
+    private static class CollectionCopier extends Strategy {
+        private final MethodHandle constructor;
+
+        CollectionCopier(Class<?> clazz) {
+            this.constructor = emptyConstructor(clazz);
+        }
+
+        @SuppressWarnings("unchecked")
+        Collection<Object> newCollection(Collection<?> collection) {
+            try {
+                return (Collection<Object>) (Object) constructor.invokeExact();
+            } catch (Throwable t) {
+                throw new IllegalStateException("Could not instantiate " + collection.getClass().getName(), t);
+            }
+        }
+
+        @Override
+        Object copy(Object value, DeepCopier copier) {
+            Collection<?> collection = (Collection<?>) value;
+            Collection<Object> copy = copier.register(value, newCollection(collection));
+            for (Object element : collection) {
+                copy.add(copier.copy(element));
+            }
+            return copy;
+        }
+    }
+
+    private static class MapCopier extends Strategy {
+        private final MethodHandle constructor;
+
+        MapCopier(Class<?> clazz) {
+            this.constructor = emptyConstructor(clazz);
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<Object, Object> newMap(Map<?, ?> map) {
+            try {
+                return (Map<Object, Object>) (Object) constructor.invokeExact();
+            } catch (Throwable t) {
+                throw new IllegalStateException("Could not instantiate " + map.getClass().getName(), t);
+            }
+        }
+
+        @Override
+        Object copy(Object value, DeepCopier copier) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            Map<Object, Object> copy = copier.register(value, newMap(map));
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                copy.put(copier.copy(entry.getKey()), copier.copy(entry.getValue()));
+            }
+            return copy;
+        }
+    }
+
+    private static final class VersionsMapCopier extends Strategy {
+        static final VersionsMapCopier INSTANCE = new VersionsMapCopier();
+
+        @Override
+        Object copy(Object value, DeepCopier copier) {
+            SortedVersionsMap<?> map = (SortedVersionsMap<?>) value;
+            if (!map.isWholeMap()) {
+                return Serialization.INSTANCE.copy(value, copier); // a view: retain its bounds and order
+            }
+            SortedVersionsMap<Object> copy = copier.register(value, new SortedVersionsMap<>(map.size()));
+            for (Map.Entry<Long, ?> entry : map.entrySet()) {
+                copy.put(entry.getKey(), copier.copy(entry.getValue()));
+            }
+            return copy;
+        }
+    }
+
+    /**
+     * Copies instances of a class field by field (fields of all its super classes included), after instantiating it with its empty constructor
+     * <p>
+     * Like Java serialization, <code>static</code> and <code>transient</code> fields aren't copied.
+     */
+    private static final class BeanCopier extends Strategy {
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+        private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+        private static final List<String> SERIALIZATION_METHODS = Arrays.asList("writeObject", "readObject", "readObjectNoData", "writeReplace", "readResolve");
+
+        private final Class<?> clazz;
+        private final MethodHandle constructor;
+        private final MethodHandle[] getters, setters;
+        private final boolean[] immutables;
+
+        private BeanCopier(Class<?> clazz, MethodHandle constructor, List<Field> fields) throws IllegalAccessException {
+            this.clazz = clazz;
+            this.constructor = constructor;
+            this.getters = new MethodHandle[fields.size()];
+            this.setters = new MethodHandle[fields.size()];
+            this.immutables = new boolean[fields.size()];
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            for (int i = 0; i < fields.size(); i++) {
+                Field field = fields.get(i);
+                getters[i] = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+                setters[i] = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+                immutables[i] = field.getType().isPrimitive();
+            }
+        }
+
+        /**
+         * @return Copier for the class, or <code>null</code> if its instances can't be copied field by field (e.g. JDK's own classes,
+         * classes without an empty constructor or those with <code>writeObject</code>, <code>readResolve</code> etc.)
+         */
+        static BeanCopier of(Class<?> clazz) {
+            if (clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers()) || Externalizable.class.isAssignableFrom(clazz)) {
+                return null;
+            }
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = clazz; c != Object.class; c = c.getSuperclass()) {
+                String name = c.getName();
+                if (name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("sun.") || c.isSynthetic() || customizesSerialization(c)) {
+                    return null;
+                }
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                        fields.add(field);
+                    }
+                }
+            }
+            try {
+                MethodHandle constructor = emptyConstructor(clazz);
+                for (Field field : fields) {
+                    field.setAccessible(true);
+                }
+                return new BeanCopier(clazz, constructor, fields);
+            } catch (IllegalAccessException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        private static boolean customizesSerialization(Class<?> c) {
+            for (Method method : c.getDeclaredMethods()) {
+                if (SERIALIZATION_METHODS.contains(method.getName())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        Object copy(Object value, DeepCopier copier) {
+            try {
+                Object copy = copier.register(value, (Object) constructor.invokeExact());
+                for (int i = 0; i < getters.length; i++) {
+                    Object fieldValue = (Object) getters[i].invokeExact(value);
+                    setters[i].invokeExact(copy, immutables[i] ? fieldValue : copier.copy(fieldValue));
+                }
+                return copy;
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Could not copy an instance of " + clazz.getName(), t);
+            }
+        }
+    }
+
+    private static final class Serialization extends Strategy {
+        static final Serialization INSTANCE = new Serialization();
+
+        @Override
+        Object copy(Object value, DeepCopier copier) {
+            if (!(value instanceof Serializable)) {
+                throw new IllegalArgumentException(String.format("Could not copy an instance of %s, since it's neither of a known type nor Serializable", value.getClass().getName()));
+            }
+            return copier.register(value, JavaObjectStreamCodec.deepCopy((Serializable) value));
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException If class doesn't have an empty constructor
+     */
+    private static MethodHandle emptyConstructor(Class<?> clazz) {
+        try {
+            Constructor<?> constructor = clazz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Class " + clazz.getName() + " doesn't have an accessible empty constructor", e);
+        }
+    }
+}
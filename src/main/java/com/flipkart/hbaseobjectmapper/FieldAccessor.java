@@ -0,0 +1,72 @@
+package com.flipkart.hbaseobjectmapper;
+
+import com.flipkart.hbaseobjectmapper.exceptions.BadHBaseLibStateException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Reads and writes value of a field using method handles that are resolved only once (for internal use only)
+ * <p>
+ * This avoids access checks and argument validation of {@link Field#get(Object)} and {@link Field#set(Object, Object)} on every row.
+ * This is public only so that codecs (e.g. order-preserving encoding of composite row keys) can use it too.
+ */
+public class FieldAccessor {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final MethodHandle getter, setter;
+
+    public FieldAccessor(Field field) {
+        this.field = field;
+        try {
+            field.setAccessible(true);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            this.getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new BadHBaseLibStateException(e);
+        }
+        this.setter = unreflectSetter(field, SETTER_TYPE);
+    }
+
+    /**
+     * @return Method handle to set the field, or <code>null</code> if it can't be set (e.g. a <code>final</code> field of a Java record, which is fine for entity classes that are created through a {@link HBRecordCreator})
+     */
+    static MethodHandle unreflectSetter(Field field, MethodType type) {
+        try {
+            return MethodHandles.lookup().unreflectSetter(field).asType(type);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    public Object get(Object record) {
+        try {
+            return (Object) getter.invokeExact(record);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(String.format("Could not read value of field \"%s\"", field.getName()), t);
+        }
+    }
+
+    public void set(Object record, Object value) {
+        if (setter == null) {
+            throw new IllegalStateException(String.format("Field \"%s\" can't be set", field.getName()));
+        }
+        try {
+            setter.invokeExact(record, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(String.format("Could not set value on field \"%s\"", field.getName()), t);
+        }
+    }
+
+    public Field getField() {
+        return field;
+    }
+}
@@ -40,4 +40,11 @@ public @interface HBColumn {
      * @return Flags
      */
     Flag[] codecFlags() default {};
+
+    /**
+     * <b>[optional]</b> what to do when a row has no value for this column, which must be set (to something other than {@link AbsentValuePolicy#NONE}) for fields of primitive types
+     *
+     * @return Policy for absent values
+     */
+    AbsentValuePolicy absentValuePolicy() default AbsentValuePolicy.NONE;
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package com.flipkart.hbaseobjectmapper;
 
 import com.flipkart.hbaseobjectmapper.codec.BestSuitCodec;
+import com.flipkart.hbaseobjectmapper.codec.ByteArrayBuffer;
 import com.flipkart.hbaseobjectmapper.codec.Codec;
+import com.flipkart.hbaseobjectmapper.codec.JavaObjectStreamCodec;
+import com.flipkart.hbaseobjectmapper.codec.ValueCodec;
 import com.flipkart.hbaseobjectmapper.codec.exceptions.DeserializationException;
 import com.flipkart.hbaseobjectmapper.codec.exceptions.SerializationException;
-import com.flipkart.hbaseobjectmapper.exceptions.InternalError;
 import com.flipkart.hbaseobjectmapper.exceptions.*;
+import com.google.common.primitives.Primitives;
 import org.apache.hadoop.hbase.*;
+import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
@@ -14,6 +18,7 @@ import org.apache.hadoop.hbase.util.Bytes;
 
 import java.io.Serializable;
 import java.lang.reflect.*;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 /**
@@ -37,8 +42,29 @@ import java.util.*;
  */
 public class HBObjectMapper {
 
+    /**
+     * Buffers grown beyond this size aren't retained (to not pin memory for the lifetime of a thread, after serializing a huge value)
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Per-thread buffer into which field values are serialized (their contents get copied into cells of {@link Put} right away)
+     */
+    private static final ThreadLocal<ByteArrayBuffer> valueBuffers = ThreadLocal.withInitial(ByteArrayBuffer::new);
+
     private final Codec codec;
 
+    /**
+     * Registry of compiled entity classes (each entity class is validated and compiled only once in the lifetime of this object)
+     */
+    private final ClassValue<WrappedHBClass<?, ?>> hbClasses = new ClassValue<WrappedHBClass<?, ?>>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected WrappedHBClass<?, ?> computeValue(Class<?> clazz) {
+            return compileHBClass((Class) clazz);
+        }
+    };
+
     /**
      * Instantiate object of this class with a custom {@link Codec}
      *
@@ -62,76 +88,250 @@ public class HBObjectMapper {
     }
 
     /**
-     * Serialize row key
+     * Serialize row key (prefixed with its salt, if row keys of the entity class are salted)
      *
-     * @param rowKey Object representing row key
-     * @param <R>    Data type of row key
+     * @param rowKey  Object representing row key
+     * @param hbClass Compiled entity class (whose row key serializer is used)
+     * @param <R>     Data type of row key
      * @return Byte array
      */
-    <R extends Serializable & Comparable<R>> byte[] rowKeyToBytes(R rowKey, Map<String, String> codecFlags) {
-        return valueToByteArray(rowKey, codecFlags);
+    <R extends Serializable & Comparable<R>> byte[] rowKeyToBytes(R rowKey, WrappedHBClass<R, ?> hbClass) {
+        return hbClass.getHBTable().saltRowKey(unsaltedRowKeyToBytes(rowKey, hbClass));
     }
 
+    /**
+     * Serialize row key, without its salt (e.g. to derive bounds of a scan within a salt bucket)
+     */
+    <R extends Serializable & Comparable<R>> byte[] unsaltedRowKeyToBytes(R rowKey, WrappedHBClass<R, ?> hbClass) {
+        return valueToByteArray(rowKey, hbClass.getRowKeyCodec());
+    }
+
+    /**
+     * Deserialize row key (from a slice of a larger array, such as row of a {@link Cell}), skipping its salt (if any)
+     * <p>
+     * Row key's deserializer is compiled along with the entity class, so there are no lookups here
+     */
     @SuppressWarnings("unchecked")
-    <R extends Serializable & Comparable<R>, T extends HBRecord<R>> R bytesToRowKey(byte[] rowKeyBytes, Map<String, String> codecFlags, Class<T> entityClass) {
-        try {
-            return (R) byteArrayToValue(rowKeyBytes, entityClass.getDeclaredMethod("composeRowKey").getReturnType(), codecFlags);
-        } catch (NoSuchMethodException e) {
-            throw new InternalError(e);
-        }
+    <R extends Serializable & Comparable<R>, T extends HBRecord<R>> R bytesToRowKey(byte[] rowKeyBytes, int offset, int length, WrappedHBClass<R, T> hbClass) {
+        final int saltLength = hbClass.getHBTable().getSaltLength();
+        return (R) byteArrayToValue(rowKeyBytes, offset + saltLength, length - saltLength, hbClass.getRowKeyCodec());
     }
 
     /**
      * Core method that drives deserialization
      *
-     * @see #convertRecordToMap(HBRecord)
+     * @see #writeValueAsPut0(HBRecord)
      */
     private <R extends Serializable & Comparable<R>, T extends HBRecord<R>> T convertMapToRecord(
             byte[] rowKeyBytes,
             NavigableMap<byte[], NavigableMap<byte[], NavigableMap<Long, byte[]>>> map,
             Class<T> clazz) {
-        Collection<Field> fields = getHBColumnFields0(clazz).values();
-        WrappedHBTable<R, T> hbTable = new WrappedHBTable<>(clazz);
-        R rowKey = bytesToRowKey(rowKeyBytes, hbTable.getCodecFlags(), clazz);
-        T record;
-        try {
-            record = clazz.getDeclaredConstructor()
-                    .newInstance();
-        } catch (Exception ex) {
-            throw new ObjectNotInstantiatableException("Error while instantiating empty constructor of " + clazz.getName(), ex);
-        }
-        try {
-            record.parseRowKey(rowKey);
-        } catch (Exception ex) {
-            throw new RowKeyCouldNotBeParsedException(String.format("Supplied row key \"%s\" could not be parsed", rowKey), ex);
+        WrappedHBClass<R, T> hbClass = getHBClass(clazz);
+        if (hbClass.getCreator() != null) {
+            return createRecord(hbClass, rowKeyBytes, map);
         }
-        for (Field field : fields) {
-            WrappedHBColumn hbColumn = new WrappedHBColumn(field);
+        T record = newRecord(hbClass, rowKeyBytes);
+        for (WrappedHBColumn hbColumn : hbClass.getColumns()) {
             NavigableMap<byte[], NavigableMap<Long, byte[]>> familyMap = map.get(hbColumn.familyBytes());
             if (familyMap == null || familyMap.isEmpty()) {
+                hbColumn.setAbsent(record);
                 continue;
             }
             NavigableMap<Long, byte[]> columnVersionsMap = familyMap.get(hbColumn.columnBytes());
             if (hbColumn.isSingleVersioned()) {
                 if (columnVersionsMap == null || columnVersionsMap.isEmpty()) {
+                    hbColumn.setAbsent(record);
                     continue;
                 }
                 Map.Entry<Long, byte[]> firstEntry = columnVersionsMap.firstEntry();
-                objectSetFieldValue(record, field, firstEntry.getValue(), hbColumn.codecFlags());
+                objectSetFieldValue(record, hbColumn, firstEntry.getValue());
+            } else {
+                objectSetFieldValue(record, hbColumn, columnVersionsMap);
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Core method that drives deserialization of {@link Result}
+     * <p>
+     * Unlike {@link #convertMapToRecord(byte[], NavigableMap, Class)}, this walks the cells just once and decodes values directly
+     * from them, without building the intermediate family &rarr; column &rarr; version maps that {@link Result#getMap()} does.
+     */
+    <R extends Serializable & Comparable<R>, T extends HBRecord<R>> T convertCellsToRecord(byte[] rowKeyBytes, Cell[] cells, Class<T> clazz) {
+        WrappedHBClass<R, T> hbClass = getHBClass(clazz);
+        if (hbClass.getCreator() != null) {
+            return createRecord(hbClass, rowKeyBytes, cells);
+        }
+        T record = newRecord(hbClass, rowKeyBytes);
+        populateRecord(hbClass, record, cells, false);
+        return record;
+    }
+
+    /**
+     * Same as {@link #convertCellsToRecord(byte[], Cell[], Class)}, but overwrites an existing record (instead of instantiating one)
+     * <p>
+     * Fields the row has no value for are set to <code>null</code> (or, if primitive, as per their {@link AbsentValuePolicy}), and maps of fields annotated with {@link HBColumnMultiVersion} are
+     * cleared and refilled (rather than replaced), so that reading a row allocates nothing beyond the field values themselves.
+     *
+     * @throws IllegalArgumentException If entity class has a constructor or method annotated with {@link HBRecordCreator} (i.e. its records are immutable)
+     */
+    <R extends Serializable & Comparable<R>, T extends HBRecord<R>> T convertCellsToRecord(byte[] rowKeyBytes, Cell[] cells, T record) {
+        @SuppressWarnings("unchecked")
+        WrappedHBClass<R, T> hbClass = getHBClass((Class<T>) record.getClass());
+        if (hbClass.getCreator() != null) {
+            throw new IllegalArgumentException(String.format("Records of class %s can't be read into an existing object, since they're created through a @%s", hbClass, HBRecordCreator.class.getSimpleName()));
+        }
+        parseRowKey(record, bytesToRowKey(rowKeyBytes, 0, rowKeyBytes.length, hbClass));
+        populateRecord(hbClass, record, cells, true);
+        return record;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R extends Serializable & Comparable<R>, T extends HBRecord<R>> void populateRecord(WrappedHBClass<R, T> hbClass, T record, Cell[] cells, boolean overwrite) {
+        WrappedHBColumn[] columns = hbClass.getColumnsInCellOrder();
+        Cell[] latestCells = new Cell[columns.length];
+        NavigableMap<Long, Object>[] columnValuesVersioned = new NavigableMap[columns.length];
+        groupCells(hbClass, cells, overwrite ? record : null, latestCells, columnValuesVersioned);
+        for (int i = 0; i < columns.length; i++) {
+            if (latestCells[i] != null && latestCells[i].getValueLength() > 0) {
+                objectSetFieldValue(record, columns[i], latestCells[i]);
+            } else if (columnValuesVersioned[i] != null) {
+                objectSetFieldValues(record, columns[i], columnValuesVersioned[i]);
+            } else if (columns[i].isPrimitive()) {
+                columns[i].setAbsent(record);
+            } else if (overwrite) {
+                objectSetFieldValues(record, columns[i], null);
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #convertCellsToRecord(byte[], Cell[], Class)}, but for entity classes that have a {@link HBRecordCreator}: Decodes
+     * row key and field values into arguments of the creator and then creates the record in one go
+     */
+    @SuppressWarnings("unchecked")
+    private <R extends Serializable & Comparable<R>, T extends HBRecord<R>> T createRecord(WrappedHBClass<R, T> hbClass, byte[] rowKeyBytes, Cell[] cells) {
+        RecordCreator<T> creator = hbClass.getCreator();
+        WrappedHBColumn[] columns = hbClass.getColumnsInCellOrder();
+        Cell[] latestCells = new Cell[columns.length];
+        NavigableMap<Long, Object>[] columnValuesVersioned = new NavigableMap[columns.length];
+        groupCells(hbClass, cells, null, latestCells, columnValuesVersioned);
+        Object[] arguments = creator.newArguments();
+        arguments[creator.rowKeyIndex()] = bytesToRowKey(rowKeyBytes, 0, rowKeyBytes.length, hbClass);
+        for (int i = 0; i < columns.length; i++) {
+            final Object value;
+            if (latestCells[i] != null && latestCells[i].getValueLength() > 0) {
+                value = cellValueToValue(hbClass.getHBRecordClass(), columns[i], latestCells[i]);
+            } else if (columnValuesVersioned[i] != null) {
+                value = columnValuesVersioned[i];
+            } else {
+                value = columns[i].absentValue();
+            }
+            arguments[creator.argumentIndexOf(i)] = value;
+        }
+        return creator.create(arguments);
+    }
+
+    /**
+     * Same as {@link #createRecord(WrappedHBClass, byte[], Cell[])}, but from family &rarr; column &rarr; version maps (see {@link #convertMapToRecord(byte[], NavigableMap, Class)})
+     */
+    private <R extends Serializable & Comparable<R>, T extends HBRecord<R>> T createRecord(
+            WrappedHBClass<R, T> hbClass,
+            byte[] rowKeyBytes,
+            NavigableMap<byte[], NavigableMap<byte[], NavigableMap<Long, byte[]>>> map) {
+        RecordCreator<T> creator = hbClass.getCreator();
+        WrappedHBColumn[] columns = hbClass.getColumnsInCellOrder();
+        Object[] arguments = creator.newArguments();
+        arguments[creator.rowKeyIndex()] = bytesToRowKey(rowKeyBytes, 0, rowKeyBytes.length, hbClass);
+        for (int i = 0; i < columns.length; i++) {
+            NavigableMap<byte[], NavigableMap<Long, byte[]>> familyMap = map.get(columns[i].familyBytes());
+            NavigableMap<Long, byte[]> columnVersionsMap = familyMap == null ? null : familyMap.get(columns[i].columnBytes());
+            final Object value;
+            if (columns[i].isSingleVersioned()) {
+                byte[] latestValue = columnVersionsMap == null || columnVersionsMap.isEmpty() ? null : columnVersionsMap.firstEntry().getValue();
+                value = latestValue == null || latestValue.length == 0 ? columns[i].absentValue() : byteArrayToValue(latestValue, columns[i].valueCodec());
+            } else if (columnVersionsMap != null) {
+                NavigableMap<Long, Object> columnValuesVersioned = new SortedVersionsMap<>(columnVersionsMap.size());
+                for (Map.Entry<Long, byte[]> versionAndValue : columnVersionsMap.entrySet()) {
+                    columnValuesVersioned.put(versionAndValue.getKey(), byteArrayToValue(versionAndValue.getValue(), columns[i].valueCodec()));
+                }
+                value = columnValuesVersioned;
+            } else {
+                value = null;
+            }
+            arguments[creator.argumentIndexOf(i)] = value;
+        }
+        return creator.create(arguments);
+    }
+
+    /**
+     * Finds, for each mapped column, the cell with latest version (for single-version columns) or values of all versions (for multi-version ones)
+     *
+     * @param reusableRecord Record whose maps of multi-version fields are to be reused (see {@link #reusableVersionsMap(Object, WrappedHBColumn)}), if any
+     */
+    private void groupCells(WrappedHBClass<?, ?> hbClass, Cell[] cells, Object reusableRecord, Cell[] latestCells, NavigableMap<Long, Object>[] columnValuesVersioned) {
+        WrappedHBColumn[] columns = hbClass.getColumnsInCellOrder();
+        int hint = 0;
+        for (Cell cell : cells) {
+            int index = hbClass.indexOf(cell, hint);
+            if (index < 0) {
+                continue; // cell of an unmapped column
+            }
+            hint = index;
+            WrappedHBColumn hbColumn = columns[index];
+            if (hbColumn.isSingleVersioned()) {
+                // Cells are sorted latest version first, but resolve by timestamp anyway (same as Result.getMap())
+                Cell latestCell = latestCells[index];
+                if (latestCell == null || cell.getTimestamp() >= latestCell.getTimestamp()) {
+                    latestCells[index] = cell;
+                }
             } else {
-                objectSetFieldValue(record, field, columnVersionsMap, hbColumn.codecFlags());
+                if (columnValuesVersioned[index] == null) {
+                    columnValuesVersioned[index] = reusableRecord != null ? reusableVersionsMap(reusableRecord, hbColumn) : new SortedVersionsMap<>();
+                }
+                columnValuesVersioned[index].put(cell.getTimestamp(), cellValueToValue(hbClass.getHBRecordClass(), hbColumn, cell));
             }
         }
+    }
+
+    /**
+     * @return Current map of a field annotated with {@link HBColumnMultiVersion} (cleared), if it's a {@link SortedVersionsMap} or a
+     * {@link TreeMap} (and not a view of another map), or a new {@link SortedVersionsMap} otherwise
+     */
+    @SuppressWarnings("unchecked")
+    private NavigableMap<Long, Object> reusableVersionsMap(Object record, WrappedHBColumn hbColumn) {
+        Object fieldValue = hbColumn.getFieldValue(record);
+        if ((fieldValue instanceof SortedVersionsMap && ((SortedVersionsMap<?>) fieldValue).isWholeMap()) || fieldValue instanceof TreeMap) {
+            NavigableMap<Long, Object> columnValuesVersioned = (NavigableMap<Long, Object>) fieldValue;
+            columnValuesVersioned.clear();
+            return columnValuesVersioned;
+        }
+        return new SortedVersionsMap<>();
+    }
+
+    private <R extends Serializable & Comparable<R>, T extends HBRecord<R>> T newRecord(WrappedHBClass<R, T> hbClass, byte[] rowKeyBytes) {
+        R rowKey = bytesToRowKey(rowKeyBytes, 0, rowKeyBytes.length, hbClass);
+        T record = hbClass.newInstance();
+        parseRowKey(record, rowKey);
         return record;
     }
 
+    private <R extends Serializable & Comparable<R>, T extends HBRecord<R>> void parseRowKey(T record, R rowKey) {
+        try {
+            record.parseRowKey(rowKey);
+        } catch (Exception ex) {
+            throw new RowKeyCouldNotBeParsedException(String.format("Supplied row key \"%s\" could not be parsed", rowKey), ex);
+        }
+    }
+
     /**
      * Converts a {@link Serializable} object into a <code>byte[]</code>
      *
      * @param value      Object to be serialized
      * @param codecFlags Flags to be passed to Codec
      * @return Byte-array representing serialized object
-     * @see #byteArrayToValue(byte[], Type, Map)
+     * @see #byteArrayToValue(byte[], ValueCodec)
      */
     byte[] valueToByteArray(Serializable value, Map<String, String> codecFlags) {
         try {
@@ -141,6 +341,50 @@ public class HBObjectMapper {
         }
     }
 
+    /**
+     * Same as {@link #valueToByteArray(Serializable, Map)}, but using a serializer compiled for the value's field (or row key)
+     */
+    byte[] valueToByteArray(Serializable value, ValueCodec valueCodec) {
+        try {
+            return valueCodec.serialize(value);
+        } catch (SerializationException e) {
+            throw new CodecException("Couldn't serialize", e);
+        }
+    }
+
+    /**
+     * Same as {@link #valueToByteArray(Serializable, ValueCodec)}, but serializes into a buffer (which is reset first)
+     *
+     * @return Contents of the buffer (valid only until the buffer is reused)
+     */
+    private ByteBuffer valueToByteBuffer(Serializable value, ValueCodec valueCodec, ByteArrayBuffer buffer) {
+        buffer.reset();
+        try {
+            valueCodec.serialize(value, buffer);
+        } catch (SerializationException e) {
+            throw new CodecException("Couldn't serialize", e);
+        }
+        return buffer.toByteBuffer();
+    }
+
+    /**
+     * Serializes value of a single-version field into a buffer (which is reset first), without boxing it if it's a primitive
+     *
+     * @return Contents of the buffer (valid only until the buffer is reused)
+     */
+    private ByteBuffer fieldValueToByteBuffer(Object record, WrappedHBColumn hbColumn, ByteArrayBuffer buffer) {
+        if (!hbColumn.isPrimitive()) {
+            return valueToByteBuffer((Serializable) hbColumn.getFieldValue(record), hbColumn.valueCodec(), buffer);
+        }
+        buffer.reset();
+        try {
+            hbColumn.writePrimitive(record, buffer);
+        } catch (SerializationException e) {
+            throw new CodecException("Couldn't serialize", e);
+        }
+        return buffer.toByteBuffer();
+    }
+
     /**
      * <p>Serialize an object to HBase's {@link ImmutableBytesWritable}.
      * <p>This method is for use in Mappers, unit-tests for Mappers and unit-tests for Reducers.
@@ -150,18 +394,27 @@ public class HBObjectMapper {
      * @see #getRowKey
      */
     public ImmutableBytesWritable toIbw(Serializable value) {
-        return new ImmutableBytesWritable(valueToByteArray(value, null));
+        return new ImmutableBytesWritable(valueToByteArray(value, (Map<String, String>) null));
     }
 
-    <R extends Serializable & Comparable<R>, T extends HBRecord<R>> WrappedHBTable<R, T> validateHBClass(Class<T> clazz) {
-        Constructor<?> constructor;
-        try {
-            constructor = clazz.getDeclaredConstructor();
-        } catch (NoSuchMethodException e) {
-            throw new NoEmptyConstructorException(clazz, e);
-        }
-        if (!Modifier.isPublic(constructor.getModifiers())) {
-            throw new EmptyConstructorInaccessibleException(String.format("Empty constructor of class %s is inaccessible. It needs to be public.", clazz.getName()));
+    /**
+     * Validates entity class and gets it's compiled mapping (validation and compilation happen only on first call for a given class)
+     */
+    @SuppressWarnings("unchecked")
+    <R extends Serializable & Comparable<R>, T extends HBRecord<R>> WrappedHBClass<R, T> validateHBClass(Class<T> clazz) {
+        return (WrappedHBClass<R, T>) hbClasses.get(clazz);
+    }
+
+    /**
+     * Gets compiled mapping of an entity class (internally, same as {@link #validateHBClass(Class)})
+     */
+    <R extends Serializable & Comparable<R>, T extends HBRecord<R>> WrappedHBClass<R, T> getHBClass(Class<T> clazz) {
+        return validateHBClass(clazz);
+    }
+
+    private <R extends Serializable & Comparable<R>, T extends HBRecord<R>> WrappedHBClass<R, T> compileHBClass(Class<T> clazz) {
+        if (!RecordCreator.isPresent(clazz)) {
+            validateEmptyConstructor(clazz);
         }
         int numOfHBColumns = 0;
         WrappedHBTable<R, T> hbTable = new WrappedHBTable<>(clazz);
@@ -179,7 +432,7 @@ public class HBObjectMapper {
                     validateHBColumnMultiVersionField(field);
                 }
                 if (!columns.add(new FamilyAndColumn(hbColumn.family(), hbColumn.column()))) {
-                    throw new FieldsMappedToSameColumnException(String.format("Class %s has more than one field (e.g. '%s') mapped to same HBase column %s", clazz.getName(), field.getName(), hbColumn));
+                    throw new FieldsMappedToSameColumnException(String.format(MappingRules.FIELDS_MAPPED_TO_SAME_COLUMN, clazz.getName(), field.getName(), hbColumn));
                 }
                 numOfHBColumns++;
             }
@@ -187,7 +440,19 @@ public class HBObjectMapper {
         if (numOfHBColumns == 0) {
             throw new MissingHBColumnFieldsException(clazz);
         }
-        return hbTable;
+        return new WrappedHBClass<>(clazz, hbTable, hbColumnFields, codec);
+    }
+
+    private void validateEmptyConstructor(Class<?> clazz) {
+        Constructor<?> constructor;
+        try {
+            constructor = clazz.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new NoEmptyConstructorException(clazz, e);
+        }
+        if (!Modifier.isPublic(constructor.getModifiers())) {
+            throw new EmptyConstructorInaccessibleException(String.format(MappingRules.EMPTY_CONSTRUCTOR_INACCESSIBLE, clazz.getName()));
+        }
     }
 
     /**
@@ -196,15 +461,15 @@ public class HBObjectMapper {
     private void validateHBColumnMultiVersionField(Field field) {
         validateHBColumnField(field);
         if (!(field.getGenericType() instanceof ParameterizedType)) {
-            throw new IncompatibleFieldForHBColumnMultiVersionAnnotationException(String.format("Field %s is not even a parameterized type", field));
+            throw new IncompatibleFieldForHBColumnMultiVersionAnnotationException(String.format(MappingRules.NOT_A_PARAMETERIZED_TYPE, field));
         }
         if (field.getType() != NavigableMap.class) {
-            throw new IncompatibleFieldForHBColumnMultiVersionAnnotationException(String.format("Field %s is not a NavigableMap", field));
+            throw new IncompatibleFieldForHBColumnMultiVersionAnnotationException(String.format(MappingRules.NOT_A_NAVIGABLE_MAP, field));
         }
         ParameterizedType pType = (ParameterizedType) field.getGenericType();
         Type[] typeArguments = pType.getActualTypeArguments();
         if (typeArguments.length != 2 || typeArguments[0] != Long.class) {
-            throw new IncompatibleFieldForHBColumnMultiVersionAnnotationException(String.format("Field %s has unexpected type params (Key should be of %s type)", field, Long.class.getName()));
+            throw new IncompatibleFieldForHBColumnMultiVersionAnnotationException(String.format(MappingRules.UNEXPECTED_TYPE_PARAMS, field, Long.class.getName()));
         }
         if (!codec.canDeserialize(getFieldType(field, true))) {
             throw new UnsupportedFieldTypeException(String.format("Field %s in class %s is of unsupported type Navigable<Long,%s> ", field.getName(), field.getDeclaringClass().getName(), field.getDeclaringClass().getName()));
@@ -228,7 +493,13 @@ public class HBObjectMapper {
         if (fieldType instanceof Class) {
             Class<?> fieldClazz = (Class<?>) fieldType;
             if (fieldClazz.isPrimitive()) {
-                throw new MappedColumnCantBePrimitiveException(String.format("Field %s in class %s is a primitive of type %s (Primitive data types are not supported as they're not nullable)", field.getName(), field.getDeclaringClass().getName(), fieldClazz.getName()));
+                if (field.getAnnotation(HBColumn.class).absentValuePolicy() == AbsentValuePolicy.NONE) {
+                    throw new MappedColumnCantBePrimitiveException(String.format(MappingRules.PRIMITIVE_FIELD_WITHOUT_ABSENT_VALUE_POLICY, field.getName(), field.getDeclaringClass().getName(), fieldClazz.getName()));
+                }
+                if (!MappingRules.SUPPORTED_PRIMITIVES.contains(fieldClazz)) {
+                    throw new MappedColumnCantBePrimitiveException(String.format(MappingRules.UNSUPPORTED_PRIMITIVE_FIELD, field.getName(), field.getDeclaringClass().getName(), fieldClazz.getName(), MappingRules.SUPPORTED_PRIMITIVES));
+                }
+                fieldType = Primitives.wrap(fieldClazz);
             }
         }
         if (!codec.canDeserialize(fieldType)) {
@@ -247,119 +518,148 @@ public class HBObjectMapper {
         }
     }
 
+    /**
+     * <p>Converts an object of your bean-like class to HBase's {@link Put} object.
+     * <p>This method is for use in a MapReduce job whose <code>Reducer</code> class extends HBase's <code>org.apache.hadoop.hbase.mapreduce.TableReducer</code> class (in other words, a MapReduce job whose output is an HBase table)
+     *
+     * @param record An object of your bean-like class (one that implements {@link HBRecord} interface)
+     * @param <R>    Data type of row key
+     * @param <T>    Entity type
+     * @return HBase's {@link Put} object
+     */
+    @SuppressWarnings("unchecked")
+    public <R extends Serializable & Comparable<R>, T extends HBRecord<R>> Put writeValueAsPut(T record) {
+        validateHBClass((Class<T>) record.getClass());
+        return writeValueAsPut0(record);
+    }
+
     /**
      * Core method that drives serialization
+     * <p>
+     * Cells are added to the {@link Put} straight from field values, in the order HBase sorts them (see {@link WrappedHBClass#getColumnsInCellOrder()})
      *
-     * @see #convertMapToRecord(byte[], NavigableMap, Class)
+     * @see #convertCellsToRecord(byte[], Cell[], Class)
      */
     @SuppressWarnings("unchecked")
-    private <R extends Serializable & Comparable<R>, T extends HBRecord<R>>
-    NavigableMap<byte[], NavigableMap<byte[], NavigableMap<Long, byte[]>>> convertRecordToMap(T record) {
-        Class<T> clazz = (Class<T>) record.getClass();
-        Collection<Field> fields = getHBColumnFields0(clazz).values();
-        NavigableMap<byte[], NavigableMap<byte[], NavigableMap<Long, byte[]>>> map = new TreeMap<>(Bytes.BYTES_COMPARATOR);
+    <R extends Serializable & Comparable<R>, T extends HBRecord<R>> Put writeValueAsPut0(T record) {
+        WrappedHBClass<R, T> hbClass = getHBClass((Class<T>) record.getClass());
+        Put put = new Put(composeRowKey(record), true);
+        ByteArrayBuffer buffer = valueBuffers.get();
         int numOfFieldsToWrite = 0;
-        for (Field field : fields) {
-            WrappedHBColumn hbColumn = new WrappedHBColumn(field);
+        for (WrappedHBColumn hbColumn : hbClass.getColumnsInCellOrder()) {
             if (hbColumn.isSingleVersioned()) {
-                byte[] familyName = hbColumn.familyBytes(), columnName = hbColumn.columnBytes();
-                if (!map.containsKey(familyName)) {
-                    map.put(familyName, new TreeMap<>(Bytes.BYTES_COMPARATOR));
-                }
-                Map<byte[], NavigableMap<Long, byte[]>> columns = map.get(familyName);
-                final byte[] fieldValueBytes = getFieldValueAsBytes(record, field, hbColumn.codecFlags());
-                if (fieldValueBytes == null || fieldValueBytes.length == 0) {
+                ByteBuffer fieldValueBytes = fieldValueToByteBuffer(record, hbColumn, buffer);
+                if (!fieldValueBytes.hasRemaining()) {
                     continue;
                 }
-                NavigableMap<Long, byte[]> singleValue = new TreeMap<>();
-                singleValue.put(HConstants.LATEST_TIMESTAMP, fieldValueBytes);
-                columns.put(columnName, singleValue);
+                put.addColumn(hbColumn.familyBytes(), ByteBuffer.wrap(hbColumn.columnBytes()), HConstants.LATEST_TIMESTAMP, fieldValueBytes);
                 numOfFieldsToWrite++;
             } else if (hbColumn.isMultiVersioned()) {
-                NavigableMap<Long, byte[]> fieldValueVersions = getFieldValuesAsNavigableMapOfBytes(record, field, hbColumn.codecFlags());
+                NavigableMap<Long, Serializable> fieldValueVersions = (NavigableMap<Long, Serializable>) hbColumn.getFieldValue(record);
                 if (fieldValueVersions == null)
                     continue;
-                byte[] familyName = hbColumn.familyBytes(), columnName = hbColumn.columnBytes();
-                if (!map.containsKey(familyName)) {
-                    map.put(familyName, new TreeMap<>(Bytes.BYTES_COMPARATOR));
+                if (fieldValueVersions.isEmpty()) {
+                    throw new FieldAnnotatedWithHBColumnMultiVersionCantBeEmpty();
+                }
+                for (Map.Entry<Long, Serializable> e : fieldValueVersions.entrySet()) {
+                    Serializable fieldValue = e.getValue();
+                    if (fieldValue == null)
+                        continue;
+                    put.addColumn(hbColumn.familyBytes(), ByteBuffer.wrap(hbColumn.columnBytes()), e.getKey(), valueToByteBuffer(fieldValue, hbColumn.valueCodec(), buffer));
                 }
-                Map<byte[], NavigableMap<Long, byte[]>> columns = map.get(familyName);
-                columns.put(columnName, fieldValueVersions);
                 numOfFieldsToWrite++;
             }
         }
+        if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            valueBuffers.remove();
+        }
         if (numOfFieldsToWrite == 0) {
             throw new AllHBColumnFieldsNullException();
         }
-        return map;
-    }
-
-    private <R extends Serializable & Comparable<R>, T extends HBRecord<R>> byte[] getFieldValueAsBytes(T record, Field field, Map<String, String> codecFlags) {
-        Serializable fieldValue;
-        try {
-            field.setAccessible(true);
-            fieldValue = (Serializable) field.get(record);
-        } catch (IllegalAccessException e) {
-            throw new BadHBaseLibStateException(e);
-        }
-        return valueToByteArray(fieldValue, codecFlags);
-    }
-
-    private <R extends Serializable & Comparable<R>, T extends HBRecord<R>> NavigableMap<Long, byte[]> getFieldValuesAsNavigableMapOfBytes(T record, Field field, Map<String, String> codecFlags) {
-        try {
-            field.setAccessible(true);
-            @SuppressWarnings("unchecked")
-            NavigableMap<Long, R> fieldValueVersions = (NavigableMap<Long, R>) field.get(record);
-            if (fieldValueVersions == null)
-                return null;
-            if (fieldValueVersions.size() == 0) {
-                throw new FieldAnnotatedWithHBColumnMultiVersionCantBeEmpty();
-            }
-            NavigableMap<Long, byte[]> output = new TreeMap<>();
-            for (Map.Entry<Long, R> e : fieldValueVersions.entrySet()) {
-                Long timestamp = e.getKey();
-                R fieldValue = e.getValue();
-                if (fieldValue == null)
-                    continue;
-                byte[] fieldValueBytes = valueToByteArray(fieldValue, codecFlags);
-                output.put(timestamp, fieldValueBytes);
-            }
-            return output;
-        } catch (IllegalAccessException e) {
-            throw new BadHBaseLibStateException(e);
-        }
+        return put;
     }
 
     /**
-     * <p>Converts an object of your bean-like class to HBase's {@link Put} object.
-     * <p>This method is for use in a MapReduce job whose <code>Reducer</code> class extends HBase's <code>org.apache.hadoop.hbase.mapreduce.TableReducer</code> class (in other words, a MapReduce job whose output is an HBase table)
+     * Works out what changed in a record since its snapshot was taken, by serializing its fields and comparing them with the snapshot
+     * <p>
+     * Fields whose serialized values differ from (or are absent in) the snapshot go into the {@link Put}. Fields that have been set to
+     * <code>null</code> (and versions removed from fields annotated with {@link HBColumnMultiVersion}) go into the {@link Delete}.
      *
-     * @param record An object of your bean-like class (one that implements {@link HBRecord} interface)
-     * @param <R>    Data type of row key
-     * @param <T>    Entity type
-     * @return HBase's {@link Put} object
+     * @return Changes (with both {@link Put} and {@link Delete} <code>null</code>, if nothing changed), or <code>null</code> if row key
+     * of the record no longer matches the snapshot
+     * @see #writeValueAsPut0(HBRecord)
      */
     @SuppressWarnings("unchecked")
-    public <R extends Serializable & Comparable<R>, T extends HBRecord<R>> Put writeValueAsPut(T record) {
-        validateHBClass((Class<T>) record.getClass());
-        return writeValueAsPut0(record);
-    }
-
-    <R extends Serializable & Comparable<R>, T extends HBRecord<R>> Put writeValueAsPut0(T record) {
-        Put put = new Put(composeRowKey(record));
-        for (Map.Entry<byte[], NavigableMap<byte[], NavigableMap<Long, byte[]>>> fe : convertRecordToMap(record).entrySet()) {
-            byte[] family = fe.getKey();
-            for (Map.Entry<byte[], NavigableMap<Long, byte[]>> e : fe.getValue().entrySet()) {
-                byte[] columnName = e.getKey();
-                NavigableMap<Long, byte[]> columnValuesVersioned = e.getValue();
-                if (columnValuesVersioned == null)
+    <R extends Serializable & Comparable<R>, T extends HBRecord<R>> RecordSnapshot.Changes writeChanges(T record, RecordSnapshot snapshot) {
+        WrappedHBClass<R, T> hbClass = getHBClass((Class<T>) record.getClass());
+        byte[] rowKeyBytes = composeRowKey(record);
+        if (!Bytes.equals(rowKeyBytes, snapshot.getRowKeyBytes())) {
+            return null;
+        }
+        WrappedHBColumn[] columns = hbClass.getColumnsInCellOrder();
+        ByteBuffer[] values = snapshot.copyOfValues();
+        NavigableMap<Long, ByteBuffer>[] versions = snapshot.copyOfVersions();
+        Put put = null;
+        Delete delete = null;
+        ByteArrayBuffer buffer = valueBuffers.get();
+        for (int i = 0; i < columns.length; i++) {
+            WrappedHBColumn hbColumn = columns[i];
+            if (hbColumn.isSingleVersioned()) {
+                ByteBuffer fieldValueBytes = fieldValueToByteBuffer(record, hbColumn, buffer);
+                if (!fieldValueBytes.hasRemaining()) {
+                    if (values[i] != null) {
+                        delete = delete == null ? new Delete(rowKeyBytes) : delete;
+                        delete.addColumns(hbColumn.familyBytes(), hbColumn.columnBytes());
+                        values[i] = null;
+                    }
+                } else if (!fieldValueBytes.equals(values[i])) {
+                    put = put == null ? new Put(rowKeyBytes, true) : put;
+                    put.addColumn(hbColumn.familyBytes(), ByteBuffer.wrap(hbColumn.columnBytes()), HConstants.LATEST_TIMESTAMP, fieldValueBytes);
+                    values[i] = ByteBuffer.wrap(buffer.toByteArray());
+                }
+            } else if (hbColumn.isMultiVersioned()) {
+                NavigableMap<Long, Serializable> fieldValueVersions = (NavigableMap<Long, Serializable>) hbColumn.getFieldValue(record);
+                NavigableMap<Long, ByteBuffer> snapshotVersions = versions[i];
+                if (fieldValueVersions == null) {
+                    if (snapshotVersions != null) {
+                        delete = delete == null ? new Delete(rowKeyBytes) : delete;
+                        delete.addColumns(hbColumn.familyBytes(), hbColumn.columnBytes());
+                        versions[i] = null;
+                    }
                     continue;
-                for (Map.Entry<Long, byte[]> versionAndValue : columnValuesVersioned.entrySet()) {
-                    put.addColumn(family, columnName, versionAndValue.getKey(), versionAndValue.getValue());
                 }
+                if (fieldValueVersions.isEmpty()) {
+                    throw new FieldAnnotatedWithHBColumnMultiVersionCantBeEmpty();
+                }
+                NavigableMap<Long, ByteBuffer> newVersions = new SortedVersionsMap<>(fieldValueVersions.size());
+                for (Map.Entry<Long, Serializable> e : fieldValueVersions.entrySet()) {
+                    Serializable fieldValue = e.getValue();
+                    if (fieldValue == null)
+                        continue;
+                    ByteBuffer fieldValueBytes = valueToByteBuffer(fieldValue, hbColumn.valueCodec(), buffer);
+                    ByteBuffer snapshotValue = snapshotVersions == null ? null : snapshotVersions.get(e.getKey());
+                    if (!fieldValueBytes.equals(snapshotValue)) {
+                        put = put == null ? new Put(rowKeyBytes, true) : put;
+                        put.addColumn(hbColumn.familyBytes(), ByteBuffer.wrap(hbColumn.columnBytes()), e.getKey(), fieldValueBytes);
+                        snapshotValue = ByteBuffer.wrap(buffer.toByteArray());
+                    }
+                    newVersions.put(e.getKey(), snapshotValue);
+                }
+                if (snapshotVersions != null) {
+                    for (Long timestamp : snapshotVersions.keySet()) {
+                        if (!newVersions.containsKey(timestamp)) {
+                            delete = delete == null ? new Delete(rowKeyBytes) : delete;
+                            delete.addColumn(hbColumn.familyBytes(), hbColumn.columnBytes(), timestamp);
+                        }
+                    }
+                }
+                versions[i] = newVersions.isEmpty() ? null : newVersions;
             }
         }
-        return put;
+        if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            valueBuffers.remove();
+        }
+        return new RecordSnapshot.Changes(put, delete, new RecordSnapshot(rowKeyBytes, values, versions));
     }
 
     /**
@@ -391,23 +691,10 @@ public class HBObjectMapper {
     @SuppressWarnings("unchecked")
     public <R extends Serializable & Comparable<R>, T extends HBRecord<R>> Result writeValueAsResult(T record) {
         validateHBClass((Class<T>) record.getClass());
-        byte[] row = composeRowKey(record);
-        List<Cell> cellList = new ArrayList<>();
-        for (Map.Entry<byte[], NavigableMap<byte[], NavigableMap<Long, byte[]>>> fe : convertRecordToMap(record).entrySet()) {
-            byte[] family = fe.getKey();
-            for (Map.Entry<byte[], NavigableMap<Long, byte[]>> e : fe.getValue().entrySet()) {
-                byte[] columnName = e.getKey();
-                NavigableMap<Long, byte[]> valuesVersioned = e.getValue();
-                if (valuesVersioned == null) {
-                    continue;
-                }
-                for (Map.Entry<Long, byte[]> columnVersion : valuesVersioned.entrySet()) {
-                    CellBuilder cellBuilder = CellBuilderFactory.create(CellBuilderType.DEEP_COPY);
-                    cellBuilder.setType(Cell.Type.Put).setRow(row).setFamily(family).setQualifier(columnName).setTimestamp(columnVersion.getKey()).setValue(columnVersion.getValue());
-                    Cell cell = cellBuilder.build();
-                    cellList.add(cell);
-                }
-            }
+        Put put = writeValueAsPut0(record);
+        List<Cell> cellList = new ArrayList<>(put.size());
+        for (List<Cell> familyCells : put.getFamilyCellMap().values()) {
+            cellList.addAll(familyCells);
         }
         return Result.create(cellList);
     }
@@ -464,6 +751,97 @@ public class HBObjectMapper {
         return readValueFromResult(result, clazz);
     }
 
+    /**
+     * <p>Creates a deep copy of an object of your bean-like class, without serializing it (unlike {@link JavaObjectStreamCodec#deepCopy(Serializable)})
+     * <p>The copy has the same row key (passed through {@link HBRecord#composeRowKey()} and {@link HBRecord#parseRowKey(Serializable)}) and the same
+     * values for fields mapped to HBase columns, i.e. it's what writing the object to HBase and reading it back gives (other fields are left as
+     * the empty constructor initializes them). Values of immutable types (e.g. <code>String</code>, <code>Integer</code>, enums) are shared,
+     * whereas collections, arrays and objects of your own classes are copied structurally (falling back to Java serialization for values of other types).
+     *
+     * @param record Object to be copied
+     * @param <R>    Data type of row key
+     * @param <T>    Entity type
+     * @return Copy of the object (or <code>null</code>, if the object passed is <code>null</code>)
+     */
+    @SuppressWarnings("unchecked")
+    public <R extends Serializable & Comparable<R>, T extends HBRecord<R>> T copy(T record) {
+        if (record == null) {
+            return null;
+        }
+        WrappedHBClass<R, T> hbClass = validateHBClass((Class<T>) record.getClass());
+        R rowKey;
+        try {
+            rowKey = record.composeRowKey();
+        } catch (Exception ex) {
+            throw new RowKeyCantBeComposedException(ex);
+        }
+        DeepCopier copier = new DeepCopier();
+        rowKey = (R) copier.copy(rowKey);
+        WrappedHBColumn[] columns = hbClass.getColumnsInCellOrder();
+        RecordCreator<T> creator = hbClass.getCreator();
+        if (creator != null) {
+            Object[] arguments = creator.newArguments();
+            arguments[creator.rowKeyIndex()] = rowKey;
+            for (int i = 0; i < columns.length; i++) {
+                arguments[creator.argumentIndexOf(i)] = copier.copy(columns[i].getFieldValue(record));
+            }
+            return creator.create(arguments);
+        }
+        T copy = hbClass.newInstance();
+        if (rowKey != null) {
+            parseRowKey(copy, rowKey);
+        }
+        for (WrappedHBColumn hbColumn : columns) {
+            hbColumn.setFieldValue(copy, copier.copy(hbColumn.getFieldValue(record)));
+        }
+        return copy;
+    }
+
+    /**
+     * Same as {@link #readValue(Result, Class)}, but overwrites an object of your bean-like class, rather than instantiating one
+     * <p>
+     * Fields the row has no value for are set to <code>null</code>. This is useful when reading a large number of rows, each of which is
+     * discarded right after it's processed (e.g. in a <code>Mapper</code> of a MapReduce job or while aggregating over a scan).
+     *
+     * @param result HBase's {@link Result} object
+     * @param record Object to overwrite
+     * @param <R>    Data type of row key
+     * @param <T>    Entity type
+     * @return The same object that was passed (or <code>null</code>, if {@link Result} is empty, in which case the object is left untouched)
+     * @throws CodecException One or more column values is a <code>byte[]</code> that couldn't be deserialized into field type (as defined in your entity class)
+     */
+    @SuppressWarnings("unchecked")
+    public <R extends Serializable & Comparable<R>, T extends HBRecord<R>> T readValueInto(Result result, T record) {
+        validateHBClass((Class<T>) record.getClass());
+        return readValueFromResultInto(result, record);
+    }
+
+    <R extends Serializable & Comparable<R>, T extends HBRecord<R>> T readValueFromResultInto(Result result, T record) {
+        if (isResultEmpty(result)) return null;
+        return convertCellsToRecord(result.getRow(), result.rawCells(), record);
+    }
+
+    /**
+     * <p>Converts HBase's {@link Result} object to a {@link LazyRecord} of your bean-like class, whose fields are deserialized only when they're first read.
+     * <p>This is useful when only a few fields of a wide row (e.g. one with many columns or large JSON values) are needed.
+     *
+     * @param result HBase's {@link Result} object
+     * @param clazz  {@link Class} to which you want to convert to (must implement {@link HBRecord} interface)
+     * @param <R>    Data type of row key
+     * @param <T>    Entity type
+     * @return Lazily deserialized record (or <code>null</code>, if {@link Result} is empty)
+     * @see #readValue(Result, Class)
+     */
+    public <R extends Serializable & Comparable<R>, T extends HBRecord<R>> LazyRecord<R, T> readValueLazily(Result result, Class<T> clazz) {
+        validateHBClass(clazz);
+        return readValueLazilyFromResult(result, clazz);
+    }
+
+    <R extends Serializable & Comparable<R>, T extends HBRecord<R>> LazyRecord<R, T> readValueLazilyFromResult(Result result, Class<T> clazz) {
+        if (isResultEmpty(result)) return null;
+        return new LazyRecord<>(this, getHBClass(clazz), result.getRow(), result.rawCells());
+    }
+
     private boolean isResultEmpty(Result result) {
         if (result == null || result.isEmpty()) return true;
         byte[] rowBytes = result.getRow();
@@ -472,54 +850,140 @@ public class HBObjectMapper {
 
     <R extends Serializable & Comparable<R>, T extends HBRecord<R>> T readValueFromResult(Result result, Class<T> clazz) {
         if (isResultEmpty(result)) return null;
-        return convertMapToRecord(result.getRow(), result.getMap(), clazz);
+        return convertCellsToRecord(result.getRow(), result.rawCells(), clazz);
     }
 
     private <R extends Serializable & Comparable<R>, T extends HBRecord<R>> T readValueFromRowAndResult(byte[] rowKeyBytes, Result result, Class<T> clazz) {
         if (isResultEmpty(result)) {
             return null;
         }
-        return convertMapToRecord(rowKeyBytes, result.getMap(), clazz);
+        return convertCellsToRecord(rowKeyBytes, result.rawCells(), clazz);
     }
 
-    private void objectSetFieldValue(Object obj, Field field, NavigableMap<Long, byte[]> columnValuesVersioned, Map<String, String> codecFlags) {
+    private void objectSetFieldValue(Object obj, WrappedHBColumn hbColumn, NavigableMap<Long, byte[]> columnValuesVersioned) {
         if (columnValuesVersioned == null)
             return;
         try {
-            field.setAccessible(true);
-            NavigableMap<Long, Object> columnValuesVersionedBoxed = new TreeMap<>();
+            NavigableMap<Long, Object> columnValuesVersionedBoxed = new SortedVersionsMap<>(columnValuesVersioned.size());
             for (Map.Entry<Long, byte[]> versionAndValue : columnValuesVersioned.entrySet()) {
-                columnValuesVersionedBoxed.put(versionAndValue.getKey(), byteArrayToValue(versionAndValue.getValue(), ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[1], codecFlags));
+                columnValuesVersionedBoxed.put(versionAndValue.getKey(), byteArrayToValue(versionAndValue.getValue(), hbColumn.valueCodec()));
             }
-            field.set(obj, columnValuesVersionedBoxed);
+            hbColumn.setFieldValue(obj, columnValuesVersionedBoxed);
         } catch (Exception ex) {
-            throw new ConversionFailedException(String.format("Could not set value on field \"%s\" on instance of class %s", field.getName(), obj.getClass()), ex);
+            throw new ConversionFailedException(String.format("Could not set value on field \"%s\" on instance of class %s", hbColumn.getField().getName(), obj.getClass()), ex);
         }
     }
 
-    private void objectSetFieldValue(Object obj, Field field, byte[] value, Map<String, String> codecFlags) {
-        if (value == null || value.length == 0)
+    private void objectSetFieldValues(Object obj, WrappedHBColumn hbColumn, NavigableMap<Long, Object> columnValuesVersionedBoxed) {
+        try {
+            hbColumn.setFieldValue(obj, columnValuesVersionedBoxed);
+        } catch (Exception ex) {
+            throw new ConversionFailedException(String.format("Could not set value on field \"%s\" on instance of class %s", hbColumn.getField().getName(), obj.getClass()), ex);
+        }
+    }
+
+    private Object cellValueToValue(Class<?> clazz, WrappedHBColumn hbColumn, Cell cell) {
+        try {
+            return byteArrayToValue(cell.getValueArray(), cell.getValueOffset(), cell.getValueLength(), hbColumn.valueCodec());
+        } catch (Exception ex) {
+            throw new ConversionFailedException(String.format("Could not set value on field \"%s\" on instance of class %s", hbColumn.getField().getName(), clazz), ex);
+        }
+    }
+
+    /**
+     * Decodes value of a single field from cells of a row, without instantiating the record (for use by {@link LazyRecord})
+     *
+     * @param hbClass     Compiled entity class
+     * @param columnIndex Index of field's column in {@link WrappedHBClass#getColumnsInCellOrder()}
+     * @param cells       Cells of the row
+     * @param cellColumns Index of column each cell belongs to (see {@link WrappedHBClass#indexOf(Cell[])})
+     * @return Value of field (<code>null</code> if the row has no value for it)
+     */
+    Object cellsToFieldValue(WrappedHBClass<?, ?> hbClass, int columnIndex, Cell[] cells, int[] cellColumns) {
+        WrappedHBColumn hbColumn = hbClass.getColumnsInCellOrder()[columnIndex];
+        if (hbColumn.isSingleVersioned()) {
+            Cell latestCell = null;
+            for (int i = 0; i < cells.length; i++) {
+                if (cellColumns[i] == columnIndex && (latestCell == null || cells[i].getTimestamp() >= latestCell.getTimestamp())) {
+                    latestCell = cells[i];
+                }
+            }
+            if (latestCell == null || latestCell.getValueLength() == 0) {
+                return hbColumn.absentValue();
+            }
+            return byteArrayToValue(latestCell.getValueArray(), latestCell.getValueOffset(), latestCell.getValueLength(), hbColumn.valueCodec());
+        }
+        NavigableMap<Long, Object> columnValuesVersioned = null;
+        for (int i = 0; i < cells.length; i++) {
+            if (cellColumns[i] == columnIndex) {
+                if (columnValuesVersioned == null) {
+                    columnValuesVersioned = new SortedVersionsMap<>();
+                }
+                columnValuesVersioned.put(cells[i].getTimestamp(), cellValueToValue(hbClass.getHBRecordClass(), hbColumn, cells[i]));
+            }
+        }
+        return columnValuesVersioned;
+    }
+
+    private void objectSetFieldValue(Object obj, WrappedHBColumn hbColumn, Cell cell) {
+        if (cell.getValueLength() == 0)
+            return;
+        if (hbColumn.isPrimitive()) {
+            objectSetPrimitiveFieldValue(obj, hbColumn, cell.getValueArray(), cell.getValueOffset(), cell.getValueLength());
             return;
+        }
+        Object fieldValue = byteArrayToValue(cell.getValueArray(), cell.getValueOffset(), cell.getValueLength(), hbColumn.valueCodec());
         try {
-            field.setAccessible(true);
-            field.set(obj, byteArrayToValue(value, field.getGenericType(), codecFlags));
-        } catch (IllegalAccessException e) {
-            throw new ConversionFailedException(String.format("Could not set value on field \"%s\" on instance of class %s", field.getName(), obj.getClass()), e);
+            hbColumn.setFieldValue(obj, fieldValue);
+        } catch (ClassCastException e) {
+            throw new ConversionFailedException(String.format("Could not set value on field \"%s\" on instance of class %s", hbColumn.getField().getName(), obj.getClass()), e);
+        }
+    }
+
+    private void objectSetFieldValue(Object obj, WrappedHBColumn hbColumn, byte[] value) {
+        if (value == null || value.length == 0) {
+            hbColumn.setAbsent(obj);
+            return;
+        }
+        if (hbColumn.isPrimitive()) {
+            objectSetPrimitiveFieldValue(obj, hbColumn, value, 0, value.length);
+            return;
+        }
+        Object fieldValue = byteArrayToValue(value, hbColumn.valueCodec());
+        try {
+            hbColumn.setFieldValue(obj, fieldValue);
+        } catch (ClassCastException e) {
+            throw new ConversionFailedException(String.format("Could not set value on field \"%s\" on instance of class %s", hbColumn.getField().getName(), obj.getClass()), e);
+        }
+    }
+
+    private void objectSetPrimitiveFieldValue(Object obj, WrappedHBColumn hbColumn, byte[] array, int offset, int length) {
+        try {
+            hbColumn.readPrimitive(obj, array, offset, length);
+        } catch (DeserializationException e) {
+            throw new CodecException("Error while deserializing", e);
         }
     }
 
 
     /**
-     * Converts a byte array representing HBase column data to appropriate data type (boxed as object)
+     * Converts a byte array representing HBase column data to appropriate data type (boxed as object), using a deserializer compiled for the value's field (or row key)
      *
-     * @see #valueToByteArray(Serializable, Map)
+     * @see #valueToByteArray(Serializable, ValueCodec)
      */
-    Object byteArrayToValue(byte[] value, Type type, Map<String, String> codecFlags) {
+    private Object byteArrayToValue(byte[] value, ValueCodec valueCodec) {
+        return value == null ? null : byteArrayToValue(value, 0, value.length, valueCodec);
+    }
+
+    /**
+     * Same as {@link #byteArrayToValue(byte[], ValueCodec)}, but for a value that's a slice of a larger array (e.g. value of a {@link Cell})
+     */
+    Object byteArrayToValue(byte[] array, int offset, int length, ValueCodec valueCodec) {
         try {
-            if (value == null || value.length == 0)
+            if (array == null || length == 0)
                 return null;
             else
-                return codec.deserialize(value, type, codecFlags);
+                return valueCodec.deserialize(array, offset, length);
         } catch (DeserializationException e) {
             throw new CodecException("Error while deserializing", e);
         }
@@ -621,8 +1085,8 @@ public class HBObjectMapper {
             throw new RowKeyCantBeEmptyException();
         }
         @SuppressWarnings("unchecked")
-        WrappedHBTable<R, T> hbTable = new WrappedHBTable<>((Class<T>) record.getClass());
-        return valueToByteArray(rowKey, hbTable.getCodecFlags());
+        WrappedHBClass<R, T> hbClass = getHBClass((Class<T>) record.getClass());
+        return rowKeyToBytes(rowKey, hbClass);
     }
 
     /**
@@ -634,8 +1098,8 @@ public class HBObjectMapper {
      * @return Map of column families and their max versions
      */
     <R extends Serializable & Comparable<R>, T extends HBRecord<R>> Map<String, Integer> getColumnFamiliesAndVersions(Class<T> clazz) {
-        final WrappedHBTable<R, T> hbTable = validateHBClass(clazz);
-        return hbTable.getFamiliesAndVersions();
+        final WrappedHBClass<R, T> hbClass = validateHBClass(clazz);
+        return hbClass.getHBTable().getFamiliesAndVersions();
     }
 
 
@@ -662,11 +1126,10 @@ public class HBObjectMapper {
      * @param clazz Bean-like {@link Class} (must implement {@link HBRecord} interface) whose fields you intend to read
      * @param <R>   Data type of row key
      * @param <T>   Entity type
-     * @return A {@link Map} with keys as field names and values as instances of {@link Field}
+     * @return A {@link Map} with keys as field names and values as instances of {@link Field} (a copy, which you may modify)
      */
     public <R extends Serializable & Comparable<R>, T extends HBRecord<R>> Map<String, Field> getHBColumnFields(Class<T> clazz) {
-        validateHBClass(clazz);
-        return getHBColumnFields0(clazz);
+        return new LinkedHashMap<>(validateHBClass(clazz).getFields());
     }
 
     <R extends Serializable & Comparable<R>, T extends HBRecord<R>> Map<String, Field> getHBColumnFields0(Class<T> clazz) {
@@ -0,0 +1,38 @@
+package com.flipkart.hbaseobjectmapper;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.CONSTRUCTOR;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marks a constructor (or a static factory method) of an entity class as the one to create records with, while reading them from HBase
+ * <p>
+ * By default, {@link HBObjectMapper} instantiates a record using the empty constructor and then sets its row key (through
+ * {@link HBRecord#parseRowKey(java.io.Serializable) parseRowKey}) and fields. Entity classes with a constructor (or static factory
+ * method) annotated with this are instead created in one go, by passing row key and values of all mapped fields to it. So, such
+ * classes can be immutable (e.g. with <code>final</code> fields) and needn't have an empty constructor.
+ * <p>
+ * Parameters are matched to row key and fields by {@link #value()}. A field the row has no value for is passed as <code>null</code>
+ * (or, for a primitive field, as per its {@link AbsentValuePolicy}). Records of such classes can't be read into existing objects
+ * (see {@link HBObjectMapper#readValueInto(org.apache.hadoop.hbase.client.Result, HBRecord) readValueInto}).
+ */
+@Target({CONSTRUCTOR, METHOD})
+@Retention(RUNTIME)
+public @interface HBRecordCreator {
+
+    /**
+     * Name to use in {@link #value()}, for the parameter that takes row key
+     */
+    String ROW_KEY = "#rowKey";
+
+    /**
+     * Names of fields (as declared in your entity class), in order of parameters they are to be passed as. Row key and all fields
+     * mapped to HBase columns must be named here (use {@link #ROW_KEY} for row key).
+     *
+     * @return Names of row key and fields, in order of parameters
+     */
+    String[] value();
+}
@@ -0,0 +1,28 @@
+package com.flipkart.hbaseobjectmapper;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Maps a field of a (composite) row key class to a component of HBase row key
+ * <p>
+ * Row keys of such classes are serialized component-wise, in an order-preserving manner (see
+ * {@link com.flipkart.hbaseobjectmapper.codec.BestSuitCodec#ORDER_PRESERVING BestSuitCodec.ORDER_PRESERVING}), in ascending order of
+ * {@link #order()}. Fields of such a class (including those inherited from its super classes) that aren't annotated with this are not part
+ * of the row key. A row key class that isn't a supported scalar type needs at least one field annotated with this.
+ */
+@Target(FIELD)
+@Retention(RUNTIME)
+public @interface HBRowKeyComponent {
+
+    /**
+     * Position of this component in row key (components are serialized in ascending order of this, so a row key prefix made of
+     * first few components can be used for prefix scans)
+     *
+     * @return Position of this component in row key
+     */
+    int order();
+}
@@ -46,4 +46,18 @@ public @interface HBTable {
      * @return Flags
      */
     Flag[] rowKeyCodecFlags() default {};
+
+    /**
+     * <b>[optional]</b> number of buckets to spread rows across, by prefixing (serialized) row keys with a one-byte hash of them (a.k.a. <i>salting</i>)
+     * <p>
+     * Salting avoids hot-spotting a single region when row keys are monotonically increasing (e.g. timestamps). Rows are stored in
+     * order of row keys within each bucket only, so range and prefix scans of DAO classes scan all buckets (in parallel) and merge
+     * their results in order of row keys. Tables created using {@link HBAdmin} are pre-split into a region per bucket. Value must be
+     * between 1 and 256 (<code>0</code>, the default, disables salting).
+     * <p>
+     * Note: Changing this for a table that already has data makes existing rows unreachable
+     *
+     * @return Number of salt buckets
+     */
+    int rowKeySaltBuckets() default 0;
 }
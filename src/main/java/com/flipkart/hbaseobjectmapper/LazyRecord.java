@@ -0,0 +1,92 @@
+package com.flipkart.hbaseobjectmapper;
+
+import com.flipkart.hbaseobjectmapper.exceptions.CodecException;
+import org.apache.hadoop.hbase.Cell;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A row of an HBase table, whose fields are deserialized (from the underlying cells) only when they're first read
+ * <p>
+ * For wide rows (e.g. rows with many columns or large JSON values) of which only a few fields are read, this saves most of the
+ * deserialization cost of converting the row to an object of your bean-like class. Use {@link #getRecord()} when you need the whole
+ * record.
+ * <p>
+ * <b>This class is not thread-safe.</b>
+ *
+ * @param <R> Data type of row key
+ * @param <T> Entity type
+ * @see HBObjectMapper#readValueLazily(org.apache.hadoop.hbase.client.Result, Class)
+ */
+public final class LazyRecord<R extends Serializable & Comparable<R>, T extends HBRecord<R>> {
+    private static final Object NOT_DECODED = new Object();
+
+    private final HBObjectMapper hbObjectMapper;
+    private final WrappedHBClass<R, T> hbClass;
+    private final byte[] rowKeyBytes;
+    private final Cell[] cells;
+    private final int[] cellColumns;
+    private final Object[] fieldValues;
+    private R rowKey;
+    private T record;
+
+    LazyRecord(HBObjectMapper hbObjectMapper, WrappedHBClass<R, T> hbClass, byte[] rowKeyBytes, Cell[] cells) {
+        this.hbObjectMapper = hbObjectMapper;
+        this.hbClass = hbClass;
+        this.rowKeyBytes = rowKeyBytes;
+        this.cells = cells;
+        this.cellColumns = hbClass.indexOf(cells);
+        this.fieldValues = new Object[hbClass.getColumnsInCellOrder().length];
+        Arrays.fill(fieldValues, NOT_DECODED);
+    }
+
+    /**
+     * @return Row key (deserialized)
+     * @throws CodecException If row key couldn't be deserialized
+     */
+    public R getRowKey() {
+        if (rowKey == null) {
+            rowKey = hbObjectMapper.bytesToRowKey(rowKeyBytes, 0, rowKeyBytes.length, hbClass);
+        }
+        return rowKey;
+    }
+
+    /**
+     * Get value of a field, deserializing it if it's being read for the first time
+     *
+     * @param fieldName Name of the field (as declared in your bean-like class)
+     * @return Value of the field (a {@link java.util.NavigableMap} of timestamp to value, for fields annotated with {@link HBColumnMultiVersion}), or <code>null</code> if the row has no value for it (for a primitive field, this is as per its {@link AbsentValuePolicy})
+     * @throws IllegalArgumentException If field isn't mapped to an HBase column
+     * @throws CodecException           If value of field couldn't be deserialized
+     */
+    public Object get(String fieldName) {
+        int columnIndex = hbClass.indexOf(fieldName);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("Unrecognized field: '%s'. Choose one of %s%n", fieldName, hbClass.getFields().keySet()));
+        }
+        Object fieldValue = fieldValues[columnIndex];
+        if (fieldValue == NOT_DECODED) {
+            fieldValue = hbObjectMapper.cellsToFieldValue(hbClass, columnIndex, cells, cellColumns);
+            fieldValues[columnIndex] = fieldValue;
+        }
+        return fieldValue;
+    }
+
+    /**
+     * Get the whole record (all fields are deserialized, the first time this method is invoked)
+     *
+     * @return Object of your bean-like class (same as what {@link HBObjectMapper#readValue(org.apache.hadoop.hbase.client.Result, Class)} would return)
+     */
+    public T getRecord() {
+        if (record == null) {
+            record = hbObjectMapper.convertCellsToRecord(rowKeyBytes, cells, hbClass.getHBRecordClass());
+        }
+        return record;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{rowKey=%s, cells=%d}", LazyRecord.class.getSimpleName(), getRowKey(), cells.length);
+    }
+}
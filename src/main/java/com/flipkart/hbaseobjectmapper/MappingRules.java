@@ -0,0 +1,128 @@
+package com.flipkart.hbaseobjectmapper;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Limits and error messages of validations of entity classes, shared by run-time checks (of {@link HBObjectMapper}) and compile-time checks
+ * (of {@link com.flipkart.hbaseobjectmapper.processor.HBRecordProcessor HBRecordProcessor}), so that the two can't disagree (for internal use only)
+ * <p>
+ * Messages are format strings for {@link String#format(String, Object...)}. Arguments are documented against each of them.
+ */
+public final class MappingRules {
+
+    private MappingRules() {
+        throw new UnsupportedOperationException("This is a holder of constants; not to be instantiated");
+    }
+
+    /**
+     * Maximum value of {@link HBTable#rowKeySaltBuckets()}
+     */
+    public static final int MAX_SALT_BUCKETS = 256;
+
+    /**
+     * Primitive data types of fields that can be mapped to columns (with an {@link AbsentValuePolicy})
+     */
+    public static final List<Class<?>> SUPPORTED_PRIMITIVES = Collections.unmodifiableList(Arrays.asList(int.class, long.class, double.class, boolean.class));
+
+    /**
+     * Arguments: name of {@link HBTable} annotation, class
+     */
+    public static final String EMPTY_TABLE_NAME = "Annotation %s on class %s has empty name";
+
+    /**
+     * Arguments: name of {@link HBTable} annotation, class
+     */
+    public static final String EMPTY_COLUMN_FAMILY_NAME = "The %s annotation on class %s has a column family with empty name";
+
+    /**
+     * Arguments: name of {@link HBTable} annotation, class, column family
+     */
+    public static final String INVALID_VERSIONS = "The %s annotation on class %s has a column family '%s' which has 'versions' less than 1";
+
+    /**
+     * Arguments: name of {@link HBTable} annotation, class, column family
+     */
+    public static final String DUPLICATE_COLUMN_FAMILY_NAMES = "The %s annotation on class %s has two or more column families with same name '%s' (Note: column family names must be unique)";
+
+    /**
+     * Arguments: name of {@link HBTable} annotation, class, number of salt buckets, {@link #MAX_SALT_BUCKETS}
+     */
+    public static final String INVALID_ROW_KEY_SALT_BUCKETS = "The %s annotation on class %s has 'rowKeySaltBuckets' %d, which is outside the range 0 to %d";
+
+    /**
+     * Arguments: name of {@link HBTable} annotation, class, codec flag
+     */
+    public static final String DUPLICATE_ROW_KEY_CODEC_FLAG = "The %s annotation on %s class has duplicate codec flags. See codec flag '%s'.";
+
+    /**
+     * Arguments: annotation class, field, class, codec flag
+     */
+    public static final String DUPLICATE_COLUMN_CODEC_FLAG = "The @%s annotation on field %s on class %s has duplicate codec flags (See flag %s)";
+
+    /**
+     * Arguments: class
+     */
+    public static final String NO_EMPTY_CONSTRUCTOR = "Class %s needs to specify an empty (public) constructor";
+
+    /**
+     * Arguments: class
+     */
+    public static final String EMPTY_CONSTRUCTOR_INACCESSIBLE = "Empty constructor of class %s is inaccessible. It needs to be public.";
+
+    /**
+     * Arguments: class, field, name of {@link HBColumn} annotation, name of {@link HBColumnMultiVersion} annotation
+     */
+    public static final String BOTH_HBCOLUMN_ANNOTATIONS = "Class %s has a field %s that's annotated with both @%s and @%s (you can use only one of them on a field)";
+
+    /**
+     * Arguments: field, class, column family, column, column family, name of {@link HBTable} annotation
+     */
+    public static final String COLUMN_FAMILY_NOT_IN_HBTABLE = "Field '%s' of class '%s' is mapped to HBase column '%s:%s' - but column family '%s' isn't specified in class's @%s annotation";
+
+    /**
+     * Arguments: class, field, name of annotation on field
+     */
+    public static final String TRANSIENT_FIELD = "In class \"%s\", the field \"%s\" is annotated with \"%s\", but is declared as transient (Transient fields cannot be persisted)";
+
+    /**
+     * Arguments: class, field, name of annotation on field
+     */
+    public static final String STATIC_FIELD = "In class \"%s\", the field \"%s\" is annotated with \"%s\", but is declared as static (Only instance fields can be mapped to HBase columns)";
+
+    /**
+     * Arguments: field, class, type of field
+     */
+    public static final String PRIMITIVE_FIELD_WITHOUT_ABSENT_VALUE_POLICY = "Field %s in class %s is a primitive of type %s (Primitive data types are supported only with an absent value policy, since they're not nullable)";
+
+    /**
+     * Arguments: field, class, type of field, {@link #SUPPORTED_PRIMITIVES}
+     */
+    public static final String UNSUPPORTED_PRIMITIVE_FIELD = "Field %s in class %s is a primitive of type %s (Supported primitive data types are %s)";
+
+    /**
+     * Arguments: class, field, column
+     */
+    public static final String FIELDS_MAPPED_TO_SAME_COLUMN = "Class %s has more than one field (e.g. '%s') mapped to same HBase column %s";
+
+    /**
+     * Arguments: field
+     */
+    public static final String NOT_A_PARAMETERIZED_TYPE = "Field %s is not even a parameterized type";
+
+    /**
+     * Arguments: field
+     */
+    public static final String NOT_A_NAVIGABLE_MAP = "Field %s is not a NavigableMap";
+
+    /**
+     * Arguments: field, name of {@link Long} class
+     */
+    public static final String UNEXPECTED_TYPE_PARAMS = "Field %s has unexpected type params (Key should be of %s type)";
+
+    /**
+     * Arguments: class, name of {@link HBColumn} annotation, name of {@link HBColumnMultiVersion} annotation
+     */
+    public static final String MISSING_HBCOLUMN_FIELDS = "Class %s doesn't even have a single field annotated with @%s or @%s";
+}
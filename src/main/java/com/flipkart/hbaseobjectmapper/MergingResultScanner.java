@@ -0,0 +1,104 @@
+package com.flipkart.hbaseobjectmapper;
+
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A {@link ResultScanner} that merges results of scanners over salt buckets of a table, in order of (unsalted) row keys (for internal use only)
+ * <p>
+ * Each of the underlying scanners returns rows in order of row keys, so this merely picks the smallest of their current rows each time.
+ */
+class MergingResultScanner implements ResultScanner {
+
+    private final List<ResultScanner> scanners;
+    private final PriorityQueue<Head> heads;
+    private boolean started = false;
+
+    /**
+     * @param scanners   Scanners over salt buckets (these are closed when this scanner is closed)
+     * @param saltLength Length of salt prefix in row keys (which is ignored while comparing rows)
+     */
+    MergingResultScanner(List<ResultScanner> scanners, int saltLength) {
+        this.scanners = scanners;
+        this.heads = new PriorityQueue<>(Math.max(scanners.size(), 1), comparator(saltLength));
+    }
+
+    /**
+     * @return Comparator that orders {@link Result}s by their row keys, ignoring salt prefix
+     */
+    static Comparator<Result> rowComparator(final int saltLength) {
+        return (r1, r2) -> {
+            final byte[] row1 = r1.getRow(), row2 = r2.getRow();
+            return Bytes.compareTo(row1, saltLength, row1.length - saltLength, row2, saltLength, row2.length - saltLength);
+        };
+    }
+
+    private static Comparator<Head> comparator(final int saltLength) {
+        final Comparator<Result> rowComparator = rowComparator(saltLength);
+        return (h1, h2) -> rowComparator.compare(h1.result, h2.result);
+    }
+
+    @Override
+    public Result next() throws IOException {
+        if (!started) {
+            for (ResultScanner scanner : scanners) {
+                advance(scanner);
+            }
+            started = true;
+        }
+        final Head head = heads.poll();
+        if (head == null) {
+            return null;
+        }
+        advance(head.scanner);
+        return head.result;
+    }
+
+    private void advance(ResultScanner scanner) throws IOException {
+        final Result result = scanner.next();
+        if (result != null) {
+            heads.add(new Head(scanner, result));
+        }
+    }
+
+    @Override
+    public void close() {
+        for (ResultScanner scanner : scanners) {
+            scanner.close();
+        }
+    }
+
+    @Override
+    public boolean renewLease() {
+        boolean renewed = true;
+        for (ResultScanner scanner : scanners) {
+            renewed &= scanner.renewLease();
+        }
+        return renewed;
+    }
+
+    /**
+     * @return <code>null</code> (metrics are collected per salt bucket, by the underlying scanners)
+     */
+    @Override
+    public ScanMetrics getScanMetrics() {
+        return null;
+    }
+
+    private static final class Head {
+        private final ResultScanner scanner;
+        private final Result result;
+
+        Head(ResultScanner scanner, Result result) {
+            this.scanner = scanner;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.flipkart.hbaseobjectmapper;
+
+import com.flipkart.hbaseobjectmapper.codec.ByteArrayBuffer;
+import com.flipkart.hbaseobjectmapper.codec.ValueCodec;
+import com.flipkart.hbaseobjectmapper.codec.exceptions.DeserializationException;
+import com.flipkart.hbaseobjectmapper.codec.exceptions.SerializationException;
+import com.flipkart.hbaseobjectmapper.exceptions.BadHBaseLibStateException;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Serializes and deserializes value of a field of primitive type straight between the field and a byte array, without boxing (for internal use only)
+ * <p>
+ * Unlike {@link FieldAccessor}, method handles here are typed exactly as per the primitive (e.g. <code>(Object)long</code>), and
+ * values are passed to (or taken from) primitive-specific methods of {@link ValueCodec} (e.g. {@link ValueCodec#serializeLong(long, ByteArrayBuffer)}).
+ */
+abstract class PrimitiveFieldAccessor {
+    private final Field field;
+    final MethodHandle getter, setter;
+
+    private PrimitiveFieldAccessor(Field field, Class<?> type) {
+        this.field = field;
+        try {
+            field.setAccessible(true);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            this.getter = lookup.unreflectGetter(field).asType(MethodType.methodType(type, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new BadHBaseLibStateException(e);
+        }
+        this.setter = FieldAccessor.unreflectSetter(field, MethodType.methodType(void.class, Object.class, type));
+    }
+
+    /**
+     * @return Accessor for the field, or <code>null</code> if field's type isn't one of the supported primitives (see {@link AbsentValuePolicy})
+     */
+    static PrimitiveFieldAccessor of(Field field) {
+        Class<?> type = field.getType();
+        if (type == int.class) {
+            return new IntAccessor(field);
+        } else if (type == long.class) {
+            return new LongAccessor(field);
+        } else if (type == double.class) {
+            return new DoubleAccessor(field);
+        } else if (type == boolean.class) {
+            return new BooleanAccessor(field);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Serializes value of field into the buffer
+     */
+    abstract void write(Object record, ValueCodec valueCodec, ByteArrayBuffer buffer) throws SerializationException;
+
+    /**
+     * Deserializes a slice of byte array and sets the value on field
+     */
+    abstract void read(Object record, ValueCodec valueCodec, byte[] bytes, int offset, int length) throws DeserializationException;
+
+    /**
+     * Sets field to <code>0</code> (or <code>false</code>)
+     */
+    abstract void setZero(Object record);
+
+    /**
+     * @return <code>0</code> (or <code>false</code>), boxed
+     */
+    abstract Serializable zero();
+
+    /**
+     * @throws IllegalStateException If the field can't be set (see {@link FieldAccessor#unreflectSetter(Field, MethodType)})
+     */
+    void checkSettable() {
+        if (setter == null) {
+            throw new IllegalStateException(String.format("Field \"%s\" can't be set", field.getName()));
+        }
+    }
+
+    IllegalStateException accessFailure(Throwable t) {
+        return new IllegalStateException(String.format("Could not access field \"%s\"", field.getName()), t);
+    }
+
+    private static final class IntAccessor extends PrimitiveFieldAccessor {
+        IntAccessor(Field field) {
+            super(field, int.class);
+        }
+
+        @Override
+        void write(Object record, ValueCodec valueCodec, ByteArrayBuffer buffer) throws SerializationException {
+            final int value;
+            try {
+                value = (int) getter.invokeExact(record);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw accessFailure(t);
+            }
+            valueCodec.serializeInt(value, buffer);
+        }
+
+        @Override
+        void read(Object record, ValueCodec valueCodec, byte[] bytes, int offset, int length) throws DeserializationException {
+            set(record, valueCodec.deserializeInt(bytes, offset, length));
+        }
+
+        @Override
+        void setZero(Object record) {
+            set(record, 0);
+        }
+
+        @Override
+        Serializable zero() {
+            return 0;
+        }
+
+        private void set(Object record, int value) {
+            checkSettable();
+            try {
+                setter.invokeExact(record, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw accessFailure(t);
+            }
+        }
+    }
+
+    private static final class LongAccessor extends PrimitiveFieldAccessor {
+        LongAccessor(Field field) {
+            super(field, long.class);
+        }
+
+        @Override
+        void write(Object record, ValueCodec valueCodec, ByteArrayBuffer buffer) throws SerializationException {
+            final long value;
+            try {
+                value = (long) getter.invokeExact(record);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw accessFailure(t);
+            }
+            valueCodec.serializeLong(value, buffer);
+        }
+
+        @Override
+        void read(Object record, ValueCodec valueCodec, byte[] bytes, int offset, int length) throws DeserializationException {
+            set(record, valueCodec.deserializeLong(bytes, offset, length));
+        }
+
+        @Override
+        void setZero(Object record) {
+            set(record, 0L);
+        }
+
+        @Override
+        Serializable zero() {
+            return 0L;
+        }
+
+        private void set(Object record, long value) {
+            checkSettable();
+            try {
+                setter.invokeExact(record, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw accessFailure(t);
+            }
+        }
+    }
+
+    private static final class DoubleAccessor extends PrimitiveFieldAccessor {
+        DoubleAccessor(Field field) {
+            super(field, double.class);
+        }
+
+        @Override
+        void write(Object record, ValueCodec valueCodec, ByteArrayBuffer buffer) throws SerializationException {
+            final double value;
+            try {
+                value = (double) getter.invokeExact(record);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw accessFailure(t);
+            }
+            valueCodec.serializeDouble(value, buffer);
+        }
+
+        @Override
+        void read(Object record, ValueCodec valueCodec, byte[] bytes, int offset, int length) throws DeserializationException {
+            set(record, valueCodec.deserializeDouble(bytes, offset, length));
+        }
+
+        @Override
+        void setZero(Object record) {
+            set(record, 0.0);
+        }
+
+        @Override
+        Serializable zero() {
+            return 0.0;
+        }
+
+        private void set(Object record, double value) {
+            checkSettable();
+            try {
+                setter.invokeExact(record, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw accessFailure(t);
+            }
+        }
+    }
+
+    private static final class BooleanAccessor extends PrimitiveFieldAccessor {
+        BooleanAccessor(Field field) {
+            super(field, boolean.class);
+        }
+
+        @Override
+        void write(Object record, ValueCodec valueCodec, ByteArrayBuffer buffer) throws SerializationException {
+            final boolean value;
+            try {
+                value = (boolean) getter.invokeExact(record);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw accessFailure(t);
+            }
+            valueCodec.serializeBoolean(value, buffer);
+        }
+
+        @Override
+        void read(Object record, ValueCodec valueCodec, byte[] bytes, int offset, int length) throws DeserializationException {
+            set(record, valueCodec.deserializeBoolean(bytes, offset, length));
+        }
+
+        @Override
+        void setZero(Object record) {
+            set(record, false);
+        }
+
+        @Override
+        Serializable zero() {
+            return false;
+        }
+
+        private void set(Object record, boolean value) {
+            checkSettable();
+            try {
+                setter.invokeExact(record, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw accessFailure(t);
+            }
+        }
+    }
+}
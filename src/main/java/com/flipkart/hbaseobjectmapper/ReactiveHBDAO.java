@@ -32,9 +32,9 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -151,6 +151,45 @@ public abstract class ReactiveHBDAO<R extends Serializable & Comparable<R>, T ex
         return get(rowKey, 1);
     }
 
+    /**
+     * Get a row from HBase table by it's row key, fetching (and deserializing) only specified fields
+     *
+     * @param rowKey     Row key
+     * @param fieldNames Names of fields to fetch (must include all primitive fields, since they can't be left <code>null</code>)
+     * @return HBase row, deserialized as object of your bean-like class (fields other than those specified are <code>null</code>)
+     * @throws IllegalArgumentException If no fields are specified, if any of the fields isn't mapped to an HBase column or if a primitive field isn't specified
+     */
+    public CompletableFuture<T> get(@Nonnull final R rowKey, @Nonnull final Set<String> fieldNames) {
+        return getOnGet(getGet(rowKey, fieldNames));
+    }
+
+    /**
+     * Get specified number of versions of a row from HBase table by it's row key, with fields deserialized only when they're first read
+     * <br><br>
+     * This is a lazy variant of {@link #get(Serializable, int) get(R, int)} method, useful when only a few fields of a wide row are needed
+     *
+     * @param rowKey             Row key
+     * @param numVersionsToFetch Number of versions to be retrieved
+     * @return HBase row, as a {@link LazyRecord} of your bean-like class (<code>null</code>, if row doesn't exist)
+     */
+    public CompletableFuture<LazyRecord<R, T>> getLazily(@Nonnull final R rowKey, final int numVersionsToFetch) {
+        final Get get = getGet(rowKey, numVersionsToFetch);
+        return getHBaseTable()
+                .get(get)
+                .thenApply(mapResultToLazyRecord());
+    }
+
+    /**
+     * Get a row from HBase table by it's row key, with fields deserialized only when they're first read
+     *
+     * @param rowKey Row key
+     * @return HBase row, as a {@link LazyRecord} of your bean-like class (<code>null</code>, if row doesn't exist)
+     * @see #get(Serializable)
+     */
+    public CompletableFuture<LazyRecord<R, T>> getLazily(@Nonnull final R rowKey) {
+        return getLazily(rowKey, 1);
+    }
+
     /**
      * Fetch an HBase row for a given {@link Get} object
      *
@@ -233,11 +272,11 @@ public abstract class ReactiveHBDAO<R extends Serializable & Comparable<R>, T ex
      * @return List of rows corresponding to row keys passed, deserialized as objects of your bean-like class
      */
     public CompletableFuture<List<T>> get(@Nonnull final R startRowKey, final boolean startRowInclusive, @Nonnull final R endRowKey, final boolean endRowInclusive, final int numVersionsToFetch) {
-        final Scan scan = new Scan()
-                .withStartRow(toBytes(startRowKey), startRowInclusive)
-                .withStopRow(toBytes(endRowKey), endRowInclusive)
-                .readVersions(numVersionsToFetch);
-        return get(scan);
+        final List<Scan> scans = getScans(startRowKey, startRowInclusive, endRowKey, endRowInclusive);
+        for (final Scan scan : scans) {
+            scan.readVersions(numVersionsToFetch);
+        }
+        return getMerged(scans);
     }
 
     /**
@@ -252,7 +291,44 @@ public abstract class ReactiveHBDAO<R extends Serializable & Comparable<R>, T ex
 
         return getHBaseTable()
                 .scanAll(scan)
-                .thenApply(results -> results.stream().map(mapResultToRecordType()).collect(Collectors.toList()));
+                .thenApply(results -> readRecords(results.toArray(new Result[0])));
+    }
+
+    /**
+     * Get records for given scans over salt buckets (see {@link #getScans(Serializable, boolean, Serializable, boolean) getScans}), running them
+     * in parallel and merging their results in order of row keys
+     */
+    private CompletableFuture<List<T>> getMerged(final List<Scan> scans) {
+        if (scans.size() == 1) {
+            return get(scans.get(0));
+        }
+        final AsyncTable<AdvancedScanResultConsumer> table = getHBaseTable();
+        final List<CompletableFuture<List<Result>>> futures = new ArrayList<>(scans.size());
+        for (final Scan scan : scans) {
+            futures.add(table.scanAll(scan));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    final List<List<Result>> resultsOfScans = new ArrayList<>(futures.size());
+                    for (final CompletableFuture<List<Result>> future : futures) {
+                        resultsOfScans.add(future.join());
+                    }
+                    return readRecords(mergeResults(resultsOfScans));
+                });
+    }
+
+    /**
+     * Get records from HBase table for a given {@link Scan} object, fetching (and deserializing) only specified fields
+     * <br><br>
+     * <b>Caution:</b> If you expect large number or rows for given scan criteria, do <u>not</u> use this method. Use the iterable variant {@link #records(Scan, Set)} instead.
+     *
+     * @param scan       HBase's scan object (columns that specified fields are mapped to are added to it)
+     * @param fieldNames Names of fields to fetch (must include all primitive fields, since they can't be left <code>null</code>)
+     * @return Records corresponding to {@link Scan} object passed, deserialized as objects of your bean-like class (fields other than those specified are <code>null</code>)
+     * @throws IllegalArgumentException If no fields are specified, if any of the fields isn't mapped to an HBase column or if a primitive field isn't specified
+     */
+    public CompletableFuture<List<T>> get(@Nonnull final Scan scan, @Nonnull final Set<String> fieldNames) {
+        return get(addColumns(scan, fieldNames));
     }
 
     /**
@@ -276,10 +352,11 @@ public abstract class ReactiveHBDAO<R extends Serializable & Comparable<R>, T ex
      * @return Records corresponding to provided prefix, deserialized as list of objects of your bean-like class
      */
     public CompletableFuture<List<T>> getByPrefix(@Nonnull final byte[] rowPrefix, int numVersionsToFetch) {
-        final Scan scan = new Scan()
-                .setRowPrefixFilter(rowPrefix)
-                .readVersions(numVersionsToFetch);
-        return get(scan);
+        final List<Scan> scans = getScansByPrefix(rowPrefix);
+        for (final Scan scan : scans) {
+            scan.readVersions(numVersionsToFetch);
+        }
+        return getMerged(scans);
     }
 
     /**
@@ -304,6 +381,33 @@ public abstract class ReactiveHBDAO<R extends Serializable & Comparable<R>, T ex
         return new ReactiveRecords<>(getHBaseTable().getScanner(scan), hbObjectMapper, hbRecordClass);
     }
 
+    /**
+     * Get an iterable to iterate over records matching given scans over salt buckets (see {@link #getScans(Serializable, boolean, Serializable, boolean) getScans}), in order of row keys
+     */
+    private Records<T> recordsMerged(final List<Scan> scans) {
+        if (scans.size() == 1) {
+            return records(scans.get(0));
+        }
+        final AsyncTable<AdvancedScanResultConsumer> table = getHBaseTable();
+        final List<ResultScanner> scanners = new ArrayList<>(scans.size());
+        for (final Scan scan : scans) {
+            scanners.add(table.getScanner(scan));
+        }
+        return new ReactiveRecords<>(mergeScanners(scanners), hbObjectMapper, hbRecordClass);
+    }
+
+    /**
+     * Get an iterable to iterate over records matching given {@link Scan} object, fetching (and deserializing) only specified fields
+     *
+     * @param scan       HBase's scan object (columns that specified fields are mapped to are added to it)
+     * @param fieldNames Names of fields to fetch (must include all primitive fields, since they can't be left <code>null</code>)
+     * @return An iterable to iterate over records matching the scan criteria (fields other than those specified are <code>null</code>)
+     * @throws IllegalArgumentException If no fields are specified, if any of the fields isn't mapped to an HBase column or if a primitive field isn't specified
+     */
+    public Records<T> records(@Nonnull final Scan scan, @Nonnull final Set<String> fieldNames) {
+        return records(addColumns(scan, fieldNames));
+    }
+
     /**
      * Get an iterable to iterate over records matching given row key prefix
      *
@@ -322,10 +426,11 @@ public abstract class ReactiveHBDAO<R extends Serializable & Comparable<R>, T ex
      * @return An iterable over objects of your bean-like class
      */
     public Records<T> recordsByPrefix(@Nonnull final byte[] rowPrefix, int numVersionsToFetch) {
-        final Scan scan = new Scan()
-                .setRowPrefixFilter(rowPrefix)
-                .readVersions(numVersionsToFetch);
-        return records(scan);
+        final List<Scan> scans = getScansByPrefix(rowPrefix);
+        for (final Scan scan : scans) {
+            scan.readVersions(numVersionsToFetch);
+        }
+        return recordsMerged(scans);
     }
 
     /**
@@ -336,10 +441,7 @@ public abstract class ReactiveHBDAO<R extends Serializable & Comparable<R>, T ex
      * @return An iterable over objects of your bean-like class
      */
     public Iterable<T> records(@Nonnull final R startRowKey, @Nonnull final R endRowKey) {
-        Scan scan = new Scan()
-                .withStartRow(toBytes(startRowKey))
-                .withStopRow(toBytes(endRowKey));
-        return records(scan);
+        return recordsMerged(getScans(startRowKey, true, endRowKey, false));
     }
 
     /**
@@ -357,12 +459,11 @@ public abstract class ReactiveHBDAO<R extends Serializable & Comparable<R>, T ex
      * @see <a href="https://hbase.apache.org/apidocs/org/apache/hadoop/hbase/client/Scan.html#setCaching-int-">HBase Scan caching</a>
      */
     public Records<T> records(@Nonnull final R startRowKey, final boolean startRowInclusive, @Nonnull final R endRowKey, final boolean endRowInclusive, final int numVersionsToFetch, final int numRowsForCaching) {
-        final Scan scan = new Scan()
-                .withStartRow(toBytes(startRowKey), startRowInclusive)
-                .withStopRow(toBytes(endRowKey), endRowInclusive)
-                .readVersions(numVersionsToFetch)
-                .setCaching(numRowsForCaching);
-        return records(scan);
+        final List<Scan> scans = getScans(startRowKey, startRowInclusive, endRowKey, endRowInclusive);
+        for (final Scan scan : scans) {
+            scan.readVersions(numVersionsToFetch).setCaching(numRowsForCaching);
+        }
+        return recordsMerged(scans);
     }
 
     /**
@@ -374,11 +475,11 @@ public abstract class ReactiveHBDAO<R extends Serializable & Comparable<R>, T ex
      * @return An iterable over objects of your bean-like class
      */
     public Records<T> records(@Nonnull final R startRowKey, @Nonnull final R endRowKey, final int numVersionsToFetch) {
-        final Scan scan = new Scan()
-                .withStartRow(toBytes(startRowKey))
-                .withStopRow(toBytes(endRowKey))
-                .readVersions(numVersionsToFetch);
-        return records(scan);
+        final List<Scan> scans = getScans(startRowKey, true, endRowKey, false);
+        for (final Scan scan : scans) {
+            scan.readVersions(numVersionsToFetch);
+        }
+        return recordsMerged(scans);
     }
 
     /**
@@ -462,14 +563,14 @@ public abstract class ReactiveHBDAO<R extends Serializable & Comparable<R>, T ex
         final Append append = getAppend(rowKey);
         for (final Map.Entry<String, Object> e : valuesToAppend.entrySet()) {
             final String fieldName = e.getKey();
-            final Field field = getField(fieldName);
+            final WrappedHBColumn hbColumn = getColumn(fieldName);
+            final Field field = hbColumn.getField();
             final Object value = e.getValue();
             if (!field.getType().isAssignableFrom(value.getClass())) {
                 throw new IllegalArgumentException(String.format("An attempt was made to append a value of type '%s' to field '%s', which is of type '%s' (incompatible)", value.getClass(), fieldName, field.getType()));
             }
-            final WrappedHBColumn hbColumn = new WrappedHBColumn(field);
             append.addColumn(hbColumn.familyBytes(), hbColumn.columnBytes(),
-                    hbObjectMapper.valueToByteArray((Serializable) value, hbColumn.codecFlags())
+                    hbObjectMapper.valueToByteArray((Serializable) value, hbColumn.valueCodec())
             );
         }
         return append(append);
@@ -504,7 +605,47 @@ public abstract class ReactiveHBDAO<R extends Serializable & Comparable<R>, T ex
         final Put put = hbObjectMapper.writeValueAsPut0(record);
         return getHBaseTable()
                 .put(put)
-                .thenApply(nothing -> record.composeRowKey());
+                .thenApply(nothing -> {
+                    recordPersisted(record, put);
+                    return record.composeRowKey();
+                });
+    }
+
+    /**
+     * Persist only those fields of your bean-like object that changed since it was read (or persisted) by this DAO
+     * <br><br>
+     * Fields that were modified are written and fields that were set to <code>null</code> are deleted (for a field annotated with
+     * {@link HBColumnMultiVersion}, versions that were removed from it are deleted), all atomically. If nothing changed, no call is made
+     * to HBase. This requires change tracking to be enabled (see {@link #isChangeTrackingEnabled()}). If it isn't, or if the record
+     * wasn't read through this DAO (or its row key has changed since), this method falls back to {@link #persist(HBRecord)}.
+     *
+     * @param record Object whose changes need to be persisted
+     * @return Row key of the persisted object
+     */
+    public CompletableFuture<R> persistChanges(@Nonnull final T record) {
+        final RecordSnapshot.Changes changes = getChanges(record);
+        if (changes == null) {
+            return persist(record);
+        }
+        if (changes.isEmpty()) {
+            return CompletableFuture.completedFuture(record.composeRowKey());
+        }
+        final CompletableFuture<Void> result;
+        if (changes.getDelete() == null) {
+            result = getHBaseTable().put(changes.getPut());
+        } else if (changes.getPut() == null) {
+            result = getHBaseTable().delete(changes.getDelete());
+        } else {
+            try {
+                result = getHBaseTable().mutateRow(toRowMutations(changes));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return result.thenApply(nothing -> {
+            recordChangesPersisted(record, changes);
+            return record.composeRowKey();
+        });
     }
 
     /**
@@ -525,7 +666,10 @@ public abstract class ReactiveHBDAO<R extends Serializable & Comparable<R>, T ex
                 .put(puts);
         return IntStream
                 .range(0, putResults.size())
-                .mapToObj(index -> putResults.get(index).thenApply(nothing -> rowKeys.get(index)));
+                .mapToObj(index -> putResults.get(index).thenApply(nothing -> {
+                    recordPersisted(records.get(index), puts.get(index));
+                    return rowKeys.get(index);
+                }));
     }
 
     /**
@@ -547,7 +691,11 @@ public abstract class ReactiveHBDAO<R extends Serializable & Comparable<R>, T ex
      * @return nothing or an error if the operation has failed
      */
     public CompletableFuture<Void> delete(@Nonnull final T record) {
-        return this.delete(record.composeRowKey());
+        return this.delete(record.composeRowKey())
+                .thenApply(nothing -> {
+                    recordDeleted(record);
+                    return nothing;
+                });
     }
 
     /**
@@ -578,8 +726,14 @@ public abstract class ReactiveHBDAO<R extends Serializable & Comparable<R>, T ex
             deletes.add(new Delete(toBytes(record.composeRowKey())));
         }
 
-        return getHBaseTable().delete(deletes)
-                .stream();
+        final List<CompletableFuture<Void>> deleteResults = getHBaseTable()
+                .delete(deletes);
+        return IntStream
+                .range(0, deleteResults.size())
+                .mapToObj(index -> deleteResults.get(index).thenApply(nothing -> {
+                    recordDeleted(records.get(index));
+                    return nothing;
+                }));
     }
 
     /**
@@ -653,16 +807,16 @@ public abstract class ReactiveHBDAO<R extends Serializable & Comparable<R>, T ex
      * @return Map of row key and column values (versioned)
      */
     public CompletableFuture<NavigableMap<R, NavigableMap<Long, Object>>> fetchFieldValues(@Nonnull final R startRowKey, @Nonnull final R endRowKey, @Nonnull final String fieldName, int numVersionsToFetch) {
-        final Field field = getField(fieldName);
-        final WrappedHBColumn hbColumn = new WrappedHBColumn(field);
-        final Scan scan = new Scan().withStartRow(toBytes(startRowKey)).withStopRow(toBytes(endRowKey));
-        scan.addColumn(hbColumn.familyBytes(), hbColumn.columnBytes());
-        scan.readVersions(numVersionsToFetch);
+        final WrappedHBColumn hbColumn = getColumn(fieldName);
         final NavigableMap<R, NavigableMap<Long, Object>> map = new TreeMap<>();
 
-        final ResultScanner resultScanner = getHBaseTable().getScanner(scan);
-        for (final Result result : resultScanner) {
-            populateFieldValuesToMap(field, result, map);
+        for (final Scan scan : getScans(startRowKey, true, endRowKey, false)) {
+            scan.addColumn(hbColumn.familyBytes(), hbColumn.columnBytes());
+            scan.readVersions(numVersionsToFetch);
+            final ResultScanner resultScanner = getHBaseTable().getScanner(scan);
+            for (final Result result : resultScanner) {
+                populateFieldValuesToMap(hbColumn, result, map);
+            }
         }
         return CompletableFuture.completedFuture(map);
     }
@@ -676,8 +830,7 @@ public abstract class ReactiveHBDAO<R extends Serializable & Comparable<R>, T ex
      * @return Map of row key and column values (versioned)
      */
     public CompletableFuture<Map<R, NavigableMap<Long, Object>>> fetchFieldValues(@Nonnull final R[] rowKeys, @Nonnull final String fieldName, final int numVersionsToFetch) {
-        final Field field = getField(fieldName);
-        final WrappedHBColumn hbColumn = new WrappedHBColumn(field);
+        final WrappedHBColumn hbColumn = getColumn(fieldName);
         final List<Get> gets = new ArrayList<>(rowKeys.length);
         for (final R rowKey : rowKeys) {
             final Get get = new Get(toBytes(rowKey));
@@ -698,7 +851,7 @@ public abstract class ReactiveHBDAO<R extends Serializable & Comparable<R>, T ex
                 .thenApply(nothing -> {
                     completableFutures.forEach(resultCompletableFuture -> {
                         final Result result = resultCompletableFuture.join();
-                        populateFieldValuesToMap(field, result, map);
+                        populateFieldValuesToMap(hbColumn, result, map);
                     });
                     return map;
                 });
@@ -4,6 +4,7 @@ import org.apache.hadoop.hbase.client.ResultScanner;
 
 import javax.annotation.Nonnull;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * Records derived from the asynchronous variant of HBase DAO.
@@ -32,4 +33,9 @@ public class ReactiveRecords<T extends HBRecord> implements Records<T> {
     public Iterator<T> iterator() {
         return new RecordsIterator<>(hbObjectMapper, clazz, scanner.iterator());
     }
+
+    @Override
+    public Iterable<T> reusing(@Nonnull final List<T> records) {
+        return RecordsIterator.reusing(hbObjectMapper, clazz, scanner, records);
+    }
 }
@@ -0,0 +1,194 @@
+package com.flipkart.hbaseobjectmapper;
+
+import com.flipkart.hbaseobjectmapper.exceptions.ImproperHBRecordCreatorException;
+import com.flipkart.hbaseobjectmapper.exceptions.ObjectNotInstantiatableException;
+import com.google.common.primitives.Primitives;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates records of an entity class through its constructor (or static factory method) annotated with {@link HBRecordCreator}, for internal use only
+ * <p>
+ * The annotated member is resolved and validated once per class, and is invoked through a method handle that takes all arguments
+ * as a single <code>Object[]</code> (with arguments of primitive types unboxed by the handle itself).
+ *
+ * @param <T> Entity type
+ */
+class RecordCreator<T> {
+    private static final MethodType CREATOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private final Class<T> clazz;
+    private final MethodHandle creator;
+    private final int parameterCount;
+    private final int rowKeyIndex;
+    private final int[] argumentIndexes;
+
+    private RecordCreator(Class<T> clazz, MethodHandle creator, int parameterCount, int rowKeyIndex, int[] argumentIndexes) {
+        this.clazz = clazz;
+        this.creator = creator;
+        this.parameterCount = parameterCount;
+        this.rowKeyIndex = rowKeyIndex;
+        this.argumentIndexes = argumentIndexes;
+    }
+
+    /**
+     * @return Whether the class declares a constructor (or method) annotated with {@link HBRecordCreator}
+     */
+    static boolean isPresent(Class<?> clazz) {
+        return find(clazz) != null;
+    }
+
+    /**
+     * Resolves and validates the creator of an entity class
+     *
+     * @param clazz              Entity class
+     * @param rowKeyClass        Data type of row key
+     * @param columnsInCellOrder Mapped columns (see {@link WrappedHBClass#getColumnsInCellOrder()})
+     * @return Creator, or <code>null</code> if the class doesn't declare one
+     * @throws ImproperHBRecordCreatorException If the annotated member doesn't match row key and fields of the class
+     */
+    static <T> RecordCreator<T> of(Class<T> clazz, Class<?> rowKeyClass, WrappedHBColumn[] columnsInCellOrder) {
+        Executable executable = find(clazz);
+        if (executable == null) {
+            return null;
+        }
+        if (!Modifier.isPublic(executable.getModifiers())) {
+            throw new ImproperHBRecordCreatorException(clazz, String.format("%s needs to be public", describe(executable)));
+        }
+        if (executable instanceof Method) {
+            Method method = (Method) executable;
+            if (!Modifier.isStatic(method.getModifiers())) {
+                throw new ImproperHBRecordCreatorException(clazz, String.format("%s needs to be static", describe(executable)));
+            }
+            if (!clazz.isAssignableFrom(method.getReturnType())) {
+                throw new ImproperHBRecordCreatorException(clazz, String.format("%s needs to return an instance of %s", describe(executable), clazz.getName()));
+            }
+        }
+        String[] names = executable.getAnnotation(HBRecordCreator.class).value();
+        Class<?>[] parameterTypes = executable.getParameterTypes();
+        if (names.length != parameterTypes.length) {
+            throw new ImproperHBRecordCreatorException(clazz, String.format("%s takes %d parameter(s), whereas %d name(s) are specified", describe(executable), parameterTypes.length, names.length));
+        }
+        Map<String, Integer> parameterIndexes = new HashMap<>(names.length, 1.0f);
+        for (int i = 0; i < names.length; i++) {
+            if (parameterIndexes.put(names[i], i) != null) {
+                throw new ImproperHBRecordCreatorException(clazz, String.format("Name '%s' is specified more than once", names[i]));
+            }
+        }
+        Integer rowKeyIndex = parameterIndexes.remove(HBRecordCreator.ROW_KEY);
+        if (rowKeyIndex == null) {
+            throw new ImproperHBRecordCreatorException(clazz, String.format("No parameter is named '%s' (to take row key)", HBRecordCreator.ROW_KEY));
+        }
+        validateParameterType(clazz, parameterTypes[rowKeyIndex], rowKeyClass, "row key");
+        int[] argumentIndexes = new int[columnsInCellOrder.length];
+        for (int i = 0; i < columnsInCellOrder.length; i++) {
+            Field field = columnsInCellOrder[i].getField();
+            Integer parameterIndex = parameterIndexes.remove(field.getName());
+            if (parameterIndex == null) {
+                throw new ImproperHBRecordCreatorException(clazz, String.format("No parameter is named '%s' (to take value of field mapped to HBase column %s)", field.getName(), columnsInCellOrder[i]));
+            }
+            validateParameterType(clazz, parameterTypes[parameterIndex], field.getType(), "field " + field.getName());
+            argumentIndexes[i] = parameterIndex;
+        }
+        if (!parameterIndexes.isEmpty()) {
+            throw new ImproperHBRecordCreatorException(clazz, String.format("Name(s) %s don't match any field mapped to an HBase column", parameterIndexes.keySet()));
+        }
+        return new RecordCreator<>(clazz, resolve(executable), parameterTypes.length, rowKeyIndex, argumentIndexes);
+    }
+
+    private static Executable find(Class<?> clazz) {
+        List<Executable> creators = new ArrayList<>(1);
+        for (Executable executable : clazz.getDeclaredConstructors()) {
+            if (executable.isAnnotationPresent(HBRecordCreator.class)) {
+                creators.add(executable);
+            }
+        }
+        for (Executable executable : clazz.getDeclaredMethods()) {
+            if (executable.isAnnotationPresent(HBRecordCreator.class)) {
+                creators.add(executable);
+            }
+        }
+        if (creators.size() > 1) {
+            throw new ImproperHBRecordCreatorException(clazz, String.format("Only one constructor or method can be annotated, whereas %d are", creators.size()));
+        }
+        return creators.isEmpty() ? null : creators.get(0);
+    }
+
+    /**
+     * A parameter can be of the same type as the value (or a super type of it), boxed or not. A parameter of a primitive type can
+     * only take value of a primitive field (since values of other fields may be <code>null</code>).
+     */
+    private static void validateParameterType(Class<?> clazz, Class<?> parameterType, Class<?> valueType, String description) {
+        if (!Primitives.wrap(parameterType).isAssignableFrom(Primitives.wrap(valueType))
+                || (parameterType.isPrimitive() && !valueType.isPrimitive())) {
+            throw new ImproperHBRecordCreatorException(clazz, String.format("Parameter for %s is of type %s, which can't take a value of type %s", description, parameterType.getName(), valueType.getName()));
+        }
+    }
+
+    private static MethodHandle resolve(Executable executable) {
+        try {
+            executable.setAccessible(true); // public, but its class may not be
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = executable instanceof Constructor
+                    ? lookup.unreflectConstructor((Constructor<?>) executable)
+                    : lookup.unreflect((Method) executable);
+            return handle.asSpreader(Object[].class, executable.getParameterCount()).asType(CREATOR_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new ImproperHBRecordCreatorException(executable.getDeclaringClass(), String.format("%s is inaccessible", describe(executable)));
+        }
+    }
+
+    private static String describe(Executable executable) {
+        return (executable instanceof Constructor ? "Constructor " : "Method ") + executable.getName() + Arrays.toString(executable.getParameterTypes());
+    }
+
+    /**
+     * @return A new (empty) array of arguments, to be filled with row key and field values and then passed to {@link #create(Object[])}
+     */
+    Object[] newArguments() {
+        return new Object[parameterCount];
+    }
+
+    /**
+     * @return Index (in array of arguments) that takes row key
+     */
+    int rowKeyIndex() {
+        return rowKeyIndex;
+    }
+
+    /**
+     * @param columnIndex Index of column in {@link WrappedHBClass#getColumnsInCellOrder()}
+     * @return Index (in array of arguments) that takes value of column's field
+     */
+    int argumentIndexOf(int columnIndex) {
+        return argumentIndexes[columnIndex];
+    }
+
+    /**
+     * Creates a record by invoking the annotated constructor (or method)
+     */
+    T create(Object[] arguments) {
+        final Object record;
+        try {
+            record = (Object) creator.invokeExact(arguments);
+        } catch (Throwable t) {
+            throw new ObjectNotInstantiatableException("Error while creating an instance of " + clazz.getName() + " through its @" + HBRecordCreator.class.getSimpleName(), t);
+        }
+        if (record == null) {
+            throw new ObjectNotInstantiatableException("@" + HBRecordCreator.class.getSimpleName() + " of " + clazz.getName() + " returned null", null);
+        }
+        return clazz.cast(record);
+    }
+}
@@ -0,0 +1,133 @@
+package com.flipkart.hbaseobjectmapper;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Put;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableMap;
+
+/**
+ * Serialized state of a record, as it was last read from (or written to) HBase, for internal use only (see {@link BaseHBDAO#isChangeTrackingEnabled()})
+ * <p>
+ * Values are copied out of the cells they were read from, since backing arrays of cells of a {@link org.apache.hadoop.hbase.client.Result Result}
+ * are typically whole blocks of an RPC response (which a snapshot, held as long as its record, would otherwise keep from being garbage
+ * collected). Instances of this class are never modified once built, so they're safe to share across threads.
+ */
+final class RecordSnapshot {
+    private final byte[] rowKeyBytes;
+    private final ByteBuffer[] values;
+    private final NavigableMap<Long, ByteBuffer>[] versions;
+
+    RecordSnapshot(byte[] rowKeyBytes, ByteBuffer[] values, NavigableMap<Long, ByteBuffer>[] versions) {
+        this.rowKeyBytes = rowKeyBytes;
+        this.values = values;
+        this.versions = versions;
+    }
+
+    /**
+     * Captures values of mapped columns from cells of a row (cells of unmapped columns are ignored)
+     */
+    @SuppressWarnings("unchecked")
+    static RecordSnapshot of(WrappedHBClass<?, ?> hbClass, byte[] rowKeyBytes, Cell[] cells) {
+        WrappedHBColumn[] columns = hbClass.getColumnsInCellOrder();
+        Cell[] latestCells = new Cell[columns.length];
+        NavigableMap<Long, ByteBuffer>[] versions = new NavigableMap[columns.length];
+        int hint = 0;
+        for (Cell cell : cells) {
+            int index = hbClass.indexOf(cell, hint);
+            if (index < 0) {
+                continue;
+            }
+            hint = index;
+            if (columns[index].isSingleVersioned()) {
+                // same resolution of latest version as HBObjectMapper#convertCellsToRecord
+                if (latestCells[index] == null || cell.getTimestamp() >= latestCells[index].getTimestamp()) {
+                    latestCells[index] = cell;
+                }
+            } else {
+                if (versions[index] == null) {
+                    versions[index] = new SortedVersionsMap<>();
+                }
+                versions[index].put(cell.getTimestamp(), valueOf(cell));
+            }
+        }
+        ByteBuffer[] values = new ByteBuffer[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            if (latestCells[i] != null && latestCells[i].getValueLength() > 0) {
+                values[i] = valueOf(latestCells[i]);
+            }
+        }
+        return new RecordSnapshot(rowKeyBytes, values, versions);
+    }
+
+    private static ByteBuffer valueOf(Cell cell) {
+        return ByteBuffer.wrap(Arrays.copyOfRange(cell.getValueArray(), cell.getValueOffset(), cell.getValueOffset() + cell.getValueLength()));
+    }
+
+    /**
+     * Captures values of mapped columns from cells of a {@link Put} (typically, one built from the record by {@link HBObjectMapper})
+     */
+    static RecordSnapshot of(WrappedHBClass<?, ?> hbClass, Put put) {
+        List<Cell> cells = new ArrayList<>(put.size());
+        for (List<Cell> familyCells : put.getFamilyCellMap().values()) {
+            cells.addAll(familyCells);
+        }
+        return of(hbClass, put.getRow(), cells.toArray(new Cell[0]));
+    }
+
+    byte[] getRowKeyBytes() {
+        return rowKeyBytes;
+    }
+
+    ByteBuffer[] copyOfValues() {
+        return values.clone();
+    }
+
+    NavigableMap<Long, ByteBuffer>[] copyOfVersions() {
+        return versions.clone();
+    }
+
+    /**
+     * Changes made to a record since its snapshot was taken, as HBase mutations
+     */
+    static final class Changes {
+        private final Put put;
+        private final Delete delete;
+        private final RecordSnapshot snapshot;
+
+        Changes(Put put, Delete delete, RecordSnapshot snapshot) {
+            this.put = put;
+            this.delete = delete;
+            this.snapshot = snapshot;
+        }
+
+        /**
+         * @return Cells to be written (<code>null</code> if no field was added or modified)
+         */
+        Put getPut() {
+            return put;
+        }
+
+        /**
+         * @return Columns (or versions) to be deleted (<code>null</code> if no field was set to <code>null</code>)
+         */
+        Delete getDelete() {
+            return delete;
+        }
+
+        /**
+         * @return Snapshot of the record, as it would be once these changes are applied
+         */
+        RecordSnapshot getSnapshot() {
+            return snapshot;
+        }
+
+        boolean isEmpty() {
+            return put == null && delete == null;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.flipkart.hbaseobjectmapper;
 
 import java.io.Closeable;
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * This class is the return type of all 'records' methods of {@link AbstractHBDAO} &amp; {@link ReactiveHBDAO} classes, which enable you to iterate over large number of records
@@ -15,4 +17,33 @@ import java.io.Serializable;
  */
 @SuppressWarnings("rawtypes")
 public interface Records<T extends HBRecord> extends Closeable, Iterable<T> {
+
+    /**
+     * Iterate over records by overwriting the object you pass, for every row (instead of instantiating an object per row)
+     * <br><br>
+     * Fields a row has no value for are set to <code>null</code>. Use this when each record is processed and discarded before moving on to the
+     * next one (e.g. while aggregating over a large number of rows), to cut down on garbage created per row.
+     * <br><br>
+     * <b>Caution:</b> The object returned by the iterator on each iteration is the same object. Do <u>not</u> hold references to it across iterations.
+     *
+     * @param record Object to overwrite with each row
+     * @return An iterable that returns the object passed on every iteration (overwritten with the next row)
+     */
+    default Iterable<T> reusing(T record) {
+        return reusing(Collections.singletonList(record));
+    }
+
+    /**
+     * Iterate over records by overwriting objects you pass (in round-robin order), for every row (instead of instantiating an object per row)
+     * <br><br>
+     * This is a variant of {@link #reusing(HBRecord)} for when you need to hold on to a few of the most recent records (e.g. to compare consecutive rows):
+     * With <i>n</i> objects passed, a record returned by the iterator is overwritten only after <i>n</i> more iterations.
+     *
+     * @param records Objects to overwrite with rows (at least one)
+     * @return An iterable that returns objects passed, overwritten with rows
+     * @throws UnsupportedOperationException if this implementation doesn't support reusing objects (all implementations in this library do)
+     */
+    default Iterable<T> reusing(List<T> records) {
+        throw new UnsupportedOperationException(getClass().getName() + " doesn't support reusing objects");
+    }
 }
@@ -1,8 +1,11 @@
 package com.flipkart.hbaseobjectmapper;
 
 import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * Iterator implementation, for internal use only
@@ -14,11 +17,34 @@ class RecordsIterator<T extends HBRecord> implements Iterator<T> {
     private final HBObjectMapper hbObjectMapper;
     private final Class<T> clazz;
     private final Iterator<Result> resultIterator;
+    private final List<T> reusableRecords;
+    private int nextReusableRecord;
 
     public RecordsIterator(HBObjectMapper hbObjectMapper, Class<T> clazz, Iterator<Result> resultIterator) {
+        this(hbObjectMapper, clazz, resultIterator, null);
+    }
+
+    /**
+     * @param reusableRecords Records to overwrite (in round-robin order) with rows, instead of instantiating a record per row (<code>null</code>, to instantiate)
+     */
+    RecordsIterator(HBObjectMapper hbObjectMapper, Class<T> clazz, Iterator<Result> resultIterator, List<T> reusableRecords) {
         this.hbObjectMapper = hbObjectMapper;
         this.clazz = clazz;
         this.resultIterator = resultIterator;
+        this.reusableRecords = reusableRecords;
+    }
+
+    /**
+     * Backs {@link Records#reusing(List)} implementations of this library
+     *
+     * @param records Records to overwrite (in round-robin order) with rows (at least one)
+     */
+    static <T extends HBRecord> Iterable<T> reusing(HBObjectMapper hbObjectMapper, Class<T> clazz, ResultScanner scanner, List<T> records) {
+        final List<T> reusableRecords = new ArrayList<>(records);
+        if (reusableRecords.isEmpty()) {
+            throw new IllegalArgumentException("Specify at least one record to reuse");
+        }
+        return () -> new RecordsIterator<>(hbObjectMapper, clazz, scanner.iterator(), reusableRecords);
     }
 
     @Override
@@ -30,7 +56,12 @@ class RecordsIterator<T extends HBRecord> implements Iterator<T> {
     @SuppressWarnings("unchecked")
     public T next() {
         Result result = resultIterator.next();
-        return (T) hbObjectMapper.readValue(result, clazz);
+        if (reusableRecords == null) {
+            return (T) hbObjectMapper.readValue(result, clazz);
+        }
+        T record = reusableRecords.get(nextReusableRecord);
+        nextReusableRecord = (nextReusableRecord + 1) % reusableRecords.size();
+        return (T) hbObjectMapper.readValueFromResultInto(result, record);
     }
 
 }
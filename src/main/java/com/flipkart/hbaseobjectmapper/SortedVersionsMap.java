@@ -0,0 +1,805 @@
+package com.flipkart.hbaseobjectmapper;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * A {@link NavigableMap} of version (timestamp) to value, backed by a sorted <code>long[]</code> of versions and a parallel array of values
+ * <p>
+ * This is what {@link HBObjectMapper} sets on fields annotated with {@link HBColumnMultiVersion}. Unlike a {@link TreeMap}, it doesn't
+ * allocate a boxed {@link Long} and a tree node per version, which matters for columns that keep many versions. Lookups are binary
+ * searches and both adding a version newer than all others and one older than all others (the order in which HBase returns
+ * versions) take amortized constant time. Adding or removing a version elsewhere shifts the versions on one side of it.
+ * <p>
+ * Views ({@link #subMap(Long, boolean, Long, boolean) subMap}, {@link #headMap(Long, boolean) headMap}, {@link #tailMap(Long, boolean) tailMap},
+ * {@link #descendingMap() descendingMap} and key sets) are backed by the map, as in {@link TreeMap}. Like {@link TreeMap}, this
+ * doesn't permit <code>null</code> keys, isn't thread-safe and has fail-fast iterators.
+ *
+ * @param <V> Type of values
+ */
+public class SortedVersionsMap<V> extends AbstractMap<Long, V> implements NavigableMap<Long, V>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Store store;
+
+    // Bounds of this map, if it's a view (in ascending order of versions, irrespective of descending)
+    private final boolean fromStart, loInclusive, toEnd, hiInclusive;
+    private final long lo, hi;
+    private final boolean descending;
+
+    private transient EntrySet entrySet;
+    private transient KeySet<V> navigableKeySet;
+
+    /**
+     * Constructs an empty map
+     */
+    public SortedVersionsMap() {
+        this(0);
+    }
+
+    /**
+     * Constructs an empty map, with room for specified number of versions
+     *
+     * @param initialCapacity Number of versions the map is expected to hold
+     */
+    public SortedVersionsMap(int initialCapacity) {
+        this(new Store(initialCapacity), true, 0, true, true, 0, true, false);
+    }
+
+    /**
+     * Constructs a map with same mappings as the specified map
+     *
+     * @param map Map whose mappings are to be placed in this map
+     */
+    public SortedVersionsMap(Map<Long, ? extends V> map) {
+        this(map.size());
+        putAll(map);
+    }
+
+    private SortedVersionsMap(Store store, boolean fromStart, long lo, boolean loInclusive, boolean toEnd, long hi, boolean hiInclusive, boolean descending) {
+        this.store = store;
+        this.fromStart = fromStart;
+        this.lo = lo;
+        this.loInclusive = loInclusive;
+        this.toEnd = toEnd;
+        this.hi = hi;
+        this.hiInclusive = hiInclusive;
+        this.descending = descending;
+    }
+
+    /**
+     * Whether this is a map on its own (as against a view of another map)
+     */
+    boolean isWholeMap() {
+        return fromStart && toEnd && !descending;
+    }
+
+    // ---- bounds ----
+
+    private boolean tooLow(long key) {
+        return !fromStart && (key < lo || (key == lo && !loInclusive));
+    }
+
+    private boolean tooHigh(long key) {
+        return !toEnd && (key > hi || (key == hi && !hiInclusive));
+    }
+
+    private boolean inRange(long key) {
+        return !tooLow(key) && !tooHigh(key);
+    }
+
+    private boolean inClosedRange(long key) {
+        return (fromStart || key >= lo) && (toEnd || key <= hi);
+    }
+
+    private boolean inRange(long key, boolean inclusive) {
+        return inclusive ? inRange(key) : inClosedRange(key);
+    }
+
+    /**
+     * Index (in store) of first version in this map
+     */
+    private int lowIndex() {
+        return fromStart ? 0 : loInclusive ? store.ceilingIndex(lo) : store.higherIndex(lo);
+    }
+
+    /**
+     * Index (in store) next to the last version in this map
+     */
+    private int highIndex() {
+        return toEnd ? store.size : hiInclusive ? store.higherIndex(hi) : store.ceilingIndex(hi);
+    }
+
+    // ---- navigation, in ascending order of versions (returning index in store, or -1) ----
+
+    private int absLowest() {
+        int index = lowIndex();
+        return index < highIndex() ? index : -1;
+    }
+
+    private int absHighest() {
+        int index = highIndex() - 1;
+        return index >= lowIndex() ? index : -1;
+    }
+
+    private int absCeiling(long key) {
+        if (tooLow(key)) {
+            return absLowest();
+        }
+        int index = store.ceilingIndex(key);
+        return index < highIndex() ? index : -1;
+    }
+
+    private int absHigher(long key) {
+        if (tooLow(key)) {
+            return absLowest();
+        }
+        int index = store.higherIndex(key);
+        return index < highIndex() ? index : -1;
+    }
+
+    private int absFloor(long key) {
+        if (tooHigh(key)) {
+            return absHighest();
+        }
+        int index = store.higherIndex(key) - 1;
+        return index >= lowIndex() ? index : -1;
+    }
+
+    private int absLower(long key) {
+        if (tooHigh(key)) {
+            return absHighest();
+        }
+        int index = store.ceilingIndex(key) - 1;
+        return index >= lowIndex() ? index : -1;
+    }
+
+    private Entry<Long, V> exportEntry(int index) {
+        return index < 0 ? null : new SimpleImmutableEntry<>(store.keys[store.head + index], store.<V>value(index));
+    }
+
+    private Long exportKey(int index) {
+        return index < 0 ? null : store.keys[store.head + index];
+    }
+
+    private Entry<Long, V> pollEntry(int index) {
+        if (index < 0) {
+            return null;
+        }
+        Entry<Long, V> entry = exportEntry(index);
+        store.remove(index);
+        return entry;
+    }
+
+    private static long toKey(Object key) {
+        if (key == null) {
+            throw new NullPointerException("Versions can't be null");
+        }
+        return (Long) key;
+    }
+
+    // ---- Map ----
+
+    @Override
+    public int size() {
+        return isWholeMap() ? store.size : Math.max(highIndex() - lowIndex(), 0);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        long version = toKey(key);
+        return inRange(version) && store.search(version) >= 0;
+    }
+
+    @Override
+    public V get(Object key) {
+        long version = toKey(key);
+        if (!inRange(version)) {
+            return null;
+        }
+        int index = store.search(version);
+        return index >= 0 ? store.<V>value(index) : null;
+    }
+
+    @Override
+    public V put(Long key, V value) {
+        long version = toKey(key);
+        if (!inRange(version)) {
+            throw new IllegalArgumentException(String.format("Version %d is out of range of this map", version));
+        }
+        int index = store.search(version);
+        if (index >= 0) {
+            V oldValue = store.value(index);
+            store.values[store.head + index] = value;
+            return oldValue;
+        }
+        store.insert(-(index + 1), version, value);
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        long version = toKey(key);
+        if (!inRange(version)) {
+            return null;
+        }
+        int index = store.search(version);
+        if (index < 0) {
+            return null;
+        }
+        V oldValue = store.value(index);
+        store.remove(index);
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        if (isWholeMap()) {
+            store.clear();
+        } else {
+            store.removeRange(lowIndex(), highIndex());
+        }
+    }
+
+    @Override
+    public Set<Entry<Long, V>> entrySet() {
+        EntrySet es = entrySet;
+        return es != null ? es : (entrySet = new EntrySet());
+    }
+
+    @Override
+    public Set<Long> keySet() {
+        return navigableKeySet();
+    }
+
+    // ---- SortedMap ----
+
+    @Override
+    public Comparator<? super Long> comparator() {
+        return descending ? Collections.reverseOrder() : null;
+    }
+
+    @Override
+    public Long firstKey() {
+        return key(descending ? absHighest() : absLowest());
+    }
+
+    @Override
+    public Long lastKey() {
+        return key(descending ? absLowest() : absHighest());
+    }
+
+    private Long key(int index) {
+        if (index < 0) {
+            throw new NoSuchElementException();
+        }
+        return store.keys[store.head + index];
+    }
+
+    @Override
+    public SortedMap<Long, V> subMap(Long fromKey, Long toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    @Override
+    public SortedMap<Long, V> headMap(Long toKey) {
+        return headMap(toKey, false);
+    }
+
+    @Override
+    public SortedMap<Long, V> tailMap(Long fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    // ---- NavigableMap ----
+
+    @Override
+    public Entry<Long, V> lowerEntry(Long key) {
+        return exportEntry(descending ? absHigher(toKey(key)) : absLower(toKey(key)));
+    }
+
+    @Override
+    public Long lowerKey(Long key) {
+        return exportKey(descending ? absHigher(toKey(key)) : absLower(toKey(key)));
+    }
+
+    @Override
+    public Entry<Long, V> floorEntry(Long key) {
+        return exportEntry(descending ? absCeiling(toKey(key)) : absFloor(toKey(key)));
+    }
+
+    @Override
+    public Long floorKey(Long key) {
+        return exportKey(descending ? absCeiling(toKey(key)) : absFloor(toKey(key)));
+    }
+
+    @Override
+    public Entry<Long, V> ceilingEntry(Long key) {
+        return exportEntry(descending ? absFloor(toKey(key)) : absCeiling(toKey(key)));
+    }
+
+    @Override
+    public Long ceilingKey(Long key) {
+        return exportKey(descending ? absFloor(toKey(key)) : absCeiling(toKey(key)));
+    }
+
+    @Override
+    public Entry<Long, V> higherEntry(Long key) {
+        return exportEntry(descending ? absLower(toKey(key)) : absHigher(toKey(key)));
+    }
+
+    @Override
+    public Long higherKey(Long key) {
+        return exportKey(descending ? absLower(toKey(key)) : absHigher(toKey(key)));
+    }
+
+    @Override
+    public Entry<Long, V> firstEntry() {
+        return exportEntry(descending ? absHighest() : absLowest());
+    }
+
+    @Override
+    public Entry<Long, V> lastEntry() {
+        return exportEntry(descending ? absLowest() : absHighest());
+    }
+
+    @Override
+    public Entry<Long, V> pollFirstEntry() {
+        return pollEntry(descending ? absHighest() : absLowest());
+    }
+
+    @Override
+    public Entry<Long, V> pollLastEntry() {
+        return pollEntry(descending ? absLowest() : absHighest());
+    }
+
+    @Override
+    public NavigableMap<Long, V> descendingMap() {
+        return new SortedVersionsMap<>(store, fromStart, lo, loInclusive, toEnd, hi, hiInclusive, !descending);
+    }
+
+    @Override
+    public NavigableSet<Long> navigableKeySet() {
+        KeySet<V> ks = navigableKeySet;
+        return ks != null ? ks : (navigableKeySet = new KeySet<>(this));
+    }
+
+    @Override
+    public NavigableSet<Long> descendingKeySet() {
+        return descendingMap().navigableKeySet();
+    }
+
+    @Override
+    public NavigableMap<Long, V> subMap(Long fromKey, boolean fromInclusive, Long toKey, boolean toInclusive) {
+        long from = toKey(fromKey), to = toKey(toKey);
+        if (descending) {
+            return ascendingSubMap(to, toInclusive, from, fromInclusive);
+        }
+        return ascendingSubMap(from, fromInclusive, to, toInclusive);
+    }
+
+    @Override
+    public NavigableMap<Long, V> headMap(Long toKey, boolean inclusive) {
+        long to = toKey(toKey);
+        if (descending) {
+            checkRange(to, inclusive);
+            return new SortedVersionsMap<>(store, false, to, inclusive, toEnd, hi, hiInclusive, true);
+        }
+        checkRange(to, inclusive);
+        return new SortedVersionsMap<>(store, fromStart, lo, loInclusive, false, to, inclusive, false);
+    }
+
+    @Override
+    public NavigableMap<Long, V> tailMap(Long fromKey, boolean inclusive) {
+        long from = toKey(fromKey);
+        checkRange(from, inclusive);
+        if (descending) {
+            return new SortedVersionsMap<>(store, fromStart, lo, loInclusive, false, from, inclusive, true);
+        }
+        return new SortedVersionsMap<>(store, false, from, inclusive, toEnd, hi, hiInclusive, false);
+    }
+
+    /**
+     * Sub-map with given bounds (in ascending order), in same order as this map
+     */
+    private NavigableMap<Long, V> ascendingSubMap(long from, boolean fromInclusive, long to, boolean toInclusive) {
+        if (from > to) {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        checkRange(from, fromInclusive);
+        checkRange(to, toInclusive);
+        return new SortedVersionsMap<>(store, false, from, fromInclusive, false, to, toInclusive, descending);
+    }
+
+    private void checkRange(long key, boolean inclusive) {
+        if (!inRange(key, inclusive)) {
+            throw new IllegalArgumentException(String.format("Version %d is out of range of this map", key));
+        }
+    }
+
+    // ---- views ----
+
+    /**
+     * Iterates over indices (in store) of versions in this map, in this map's order
+     */
+    private abstract class IndexIterator<E> implements Iterator<E> {
+        private int next, last = -1, end, expectedModCount = store.modCount;
+
+        IndexIterator() {
+            if (descending) {
+                next = highIndex() - 1;
+                end = lowIndex() - 1;
+            } else {
+                next = lowIndex();
+                end = highIndex();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return descending ? next > end : next < end;
+        }
+
+        int nextIndex() {
+            if (store.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next += descending ? -1 : 1;
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (store.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            store.remove(last);
+            if (!descending) {
+                next--;
+                end--;
+            }
+            last = -1;
+            expectedModCount = store.modCount;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<Long, V>> {
+        @Override
+        public Iterator<Entry<Long, V>> iterator() {
+            return new IndexIterator<Entry<Long, V>>() {
+                @Override
+                public Entry<Long, V> next() {
+                    return new MapEntry(store.keys[store.head + nextIndex()]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return SortedVersionsMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            SortedVersionsMap.this.clear();
+        }
+    }
+
+    /**
+     * Entry returned while iterating (reads and writes through to the map, by version)
+     */
+    private final class MapEntry implements Entry<Long, V> {
+        private final long key;
+
+        MapEntry(long key) {
+            this.key = key;
+        }
+
+        @Override
+        public Long getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return get(key);
+        }
+
+        @Override
+        public V setValue(V value) {
+            int index = store.search(key);
+            if (index < 0) {
+                throw new IllegalStateException(String.format("Version %d is no longer in the map", key));
+            }
+            V oldValue = store.value(index);
+            store.values[store.head + index] = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            return getKey().equals(e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(key) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+
+    private static final class KeySet<V> extends AbstractSet<Long> implements NavigableSet<Long> {
+        private final SortedVersionsMap<V> map;
+
+        KeySet(SortedVersionsMap<V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public Iterator<Long> iterator() {
+            return map.new IndexIterator<Long>() {
+                @Override
+                public Long next() {
+                    return map.store.keys[map.store.head + nextIndex()];
+                }
+            };
+        }
+
+        @Override
+        public Iterator<Long> descendingIterator() {
+            return descendingSet().iterator();
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return map.containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            int sizeBefore = map.size();
+            map.remove(o);
+            return map.size() != sizeBefore;
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @Override
+        public Comparator<? super Long> comparator() {
+            return map.comparator();
+        }
+
+        @Override
+        public Long first() {
+            return map.firstKey();
+        }
+
+        @Override
+        public Long last() {
+            return map.lastKey();
+        }
+
+        @Override
+        public Long lower(Long e) {
+            return map.lowerKey(e);
+        }
+
+        @Override
+        public Long floor(Long e) {
+            return map.floorKey(e);
+        }
+
+        @Override
+        public Long ceiling(Long e) {
+            return map.ceilingKey(e);
+        }
+
+        @Override
+        public Long higher(Long e) {
+            return map.higherKey(e);
+        }
+
+        @Override
+        public Long pollFirst() {
+            Entry<Long, V> e = map.pollFirstEntry();
+            return e == null ? null : e.getKey();
+        }
+
+        @Override
+        public Long pollLast() {
+            Entry<Long, V> e = map.pollLastEntry();
+            return e == null ? null : e.getKey();
+        }
+
+        @Override
+        public NavigableSet<Long> descendingSet() {
+            return map.descendingMap().navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<Long> subSet(Long fromElement, boolean fromInclusive, Long toElement, boolean toInclusive) {
+            return map.subMap(fromElement, fromInclusive, toElement, toInclusive).navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<Long> headSet(Long toElement, boolean inclusive) {
+            return map.headMap(toElement, inclusive).navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<Long> tailSet(Long fromElement, boolean inclusive) {
+            return map.tailMap(fromElement, inclusive).navigableKeySet();
+        }
+
+        @Override
+        public SortedSet<Long> subSet(Long fromElement, Long toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+
+        @Override
+        public SortedSet<Long> headSet(Long toElement) {
+            return headSet(toElement, false);
+        }
+
+        @Override
+        public SortedSet<Long> tailSet(Long fromElement) {
+            return tailSet(fromElement, true);
+        }
+    }
+
+    // ---- storage ----
+
+    /**
+     * Sorted versions and their values, in slots <code>[head, head + size)</code> of two parallel arrays
+     * <p>
+     * Free slots are kept on both sides, so that a version can be added at either end without shifting others.
+     */
+    private static final class Store implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private static final long[] EMPTY_KEYS = {};
+        private static final Object[] EMPTY_VALUES = {};
+
+        private long[] keys;
+        private Object[] values;
+        private int head, size;
+        private transient int modCount;
+
+        Store(int initialCapacity) {
+            if (initialCapacity < 0) {
+                throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+            }
+            keys = initialCapacity == 0 ? EMPTY_KEYS : new long[initialCapacity];
+            values = initialCapacity == 0 ? EMPTY_VALUES : new Object[initialCapacity];
+        }
+
+        @SuppressWarnings("unchecked")
+        <V> V value(int index) {
+            return (V) values[head + index];
+        }
+
+        /**
+         * @return Index of version, if present, or <code>-(insertion point) - 1</code> (same as {@link Arrays#binarySearch(long[], long)})
+         */
+        int search(long key) {
+            if (size > 0 && key > keys[head + size - 1]) {
+                return -(size + 1); // newer than all versions (a common case while building a map)
+            }
+            int index = Arrays.binarySearch(keys, head, head + size, key);
+            return index >= 0 ? index - head : index + head;
+        }
+
+        /**
+         * @return Index of first version that is equal to or greater than the given one
+         */
+        int ceilingIndex(long key) {
+            int index = search(key);
+            return index >= 0 ? index : -(index + 1);
+        }
+
+        /**
+         * @return Index of first version that is greater than the given one
+         */
+        int higherIndex(long key) {
+            int index = search(key);
+            return index >= 0 ? index + 1 : -(index + 1);
+        }
+
+        void insert(int index, long key, Object value) {
+            if (index < size - index && head > 0 || head + size == keys.length && head > 0) {
+                // shift versions before index towards front
+                System.arraycopy(keys, head, keys, head - 1, index);
+                System.arraycopy(values, head, values, head - 1, index);
+                head--;
+            } else if (head + size < keys.length) {
+                // shift versions from index onwards towards back
+                System.arraycopy(keys, head + index, keys, head + index + 1, size - index);
+                System.arraycopy(values, head + index, values, head + index + 1, size - index);
+            } else {
+                grow(index < size - index);
+                insert(index, key, value);
+                return;
+            }
+            keys[head + index] = key;
+            values[head + index] = value;
+            size++;
+            modCount++;
+        }
+
+        /**
+         * @param atFront Whether to leave the free slots in front of versions (or behind them)
+         */
+        private void grow(boolean atFront) {
+            int capacity = Math.max(keys.length * 2, 8);
+            int newHead = size == 0 ? capacity / 2 : atFront ? capacity - size : 0;
+            long[] newKeys = new long[capacity];
+            Object[] newValues = new Object[capacity];
+            System.arraycopy(keys, head, newKeys, newHead, size);
+            System.arraycopy(values, head, newValues, newHead, size);
+            keys = newKeys;
+            values = newValues;
+            head = newHead;
+        }
+
+        void remove(int index) {
+            if (index < size - index - 1) {
+                System.arraycopy(keys, head, keys, head + 1, index);
+                System.arraycopy(values, head, values, head + 1, index);
+                values[head] = null;
+                head++;
+            } else {
+                System.arraycopy(keys, head + index + 1, keys, head + index, size - index - 1);
+                System.arraycopy(values, head + index + 1, values, head + index, size - index - 1);
+                values[head + size - 1] = null;
+            }
+            size--;
+            modCount++;
+        }
+
+        void removeRange(int fromIndex, int toIndex) {
+            if (fromIndex >= toIndex) {
+                return;
+            }
+            int removed = toIndex - fromIndex;
+            System.arraycopy(keys, head + toIndex, keys, head + fromIndex, size - toIndex);
+            System.arraycopy(values, head + toIndex, values, head + fromIndex, size - toIndex);
+            Arrays.fill(values, head + size - removed, head + size, null);
+            size -= removed;
+            modCount++;
+        }
+
+        void clear() {
+            Arrays.fill(values, head, head + size, null);
+            head = keys.length / 2;
+            size = 0;
+            modCount++;
+        }
+    }
+}
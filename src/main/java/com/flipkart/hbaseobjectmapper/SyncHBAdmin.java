@@ -45,7 +45,12 @@ class SyncHBAdmin implements HBAdmin {
                                 Bytes.toBytes(e.getKey())
                         ).setMaxVersions(e.getValue()).build());
             }
-            admin.createTable(tableDescriptorBuilder.build());
+            byte[][] splitKeys = wrappedHBTable.getSaltSplitKeys();
+            if (splitKeys == null) {
+                admin.createTable(tableDescriptorBuilder.build());
+            } else {
+                admin.createTable(tableDescriptorBuilder.build(), splitKeys);
+            }
         }
     }
 
@@ -8,6 +8,7 @@ import org.apache.hadoop.hbase.client.Table;
 
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * Records derived from the synchronous variant of HBase DAO.
@@ -28,6 +29,13 @@ public class SyncRecords<T extends HBRecord> implements Records<T> {
         this.scanner = table.getScanner(scan);
     }
 
+    SyncRecords(Table table, ResultScanner scanner, HBObjectMapper hbObjectMapper, Class<T> clazz) {
+        this.hbObjectMapper = hbObjectMapper;
+        this.clazz = clazz;
+        this.table = table;
+        this.scanner = scanner;
+    }
+
     @Override
     public void close() throws IOException {
         scanner.close();
@@ -40,4 +48,8 @@ public class SyncRecords<T extends HBRecord> implements Records<T> {
         return new RecordsIterator<>(hbObjectMapper, clazz, scanner.iterator());
     }
 
+    @Override
+    public Iterable<T> reusing(List<T> records) {
+        return RecordsIterator.reusing(hbObjectMapper, clazz, scanner, records);
+    }
 }
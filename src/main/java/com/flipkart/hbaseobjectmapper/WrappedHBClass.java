@@ -0,0 +1,256 @@
+package com.flipkart.hbaseobjectmapper;
+
+import com.flipkart.hbaseobjectmapper.codec.Codec;
+import com.flipkart.hbaseobjectmapper.codec.ValueCodec;
+import com.flipkart.hbaseobjectmapper.exceptions.InternalError;
+import com.flipkart.hbaseobjectmapper.exceptions.ObjectNotInstantiatableException;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compiled (and immutable) mapping of an entity class to its HBase table, for internal use only.
+ * <p>
+ * An instance of this class is built once per entity class (by {@link HBObjectMapper}, after validating the class) and captures
+ * everything the per-row serialization and deserialization paths need, so that those paths don't have to parse annotations or
+ * walk the class hierarchy again.
+ *
+ * @param <R> Data type of row key
+ * @param <T> Entity type
+ */
+class WrappedHBClass<R extends Serializable & Comparable<R>, T extends HBRecord<R>> {
+    private final Class<T> clazz;
+    private final WrappedHBTable<R, T> hbTable;
+    private final Class<R> rowKeyClass;
+    private final ValueCodec rowKeyCodec;
+    private final List<WrappedHBColumn> columns;
+    private final WrappedHBColumn[] columnsInCellOrder;
+    private final Map<String, Integer> cellOrderIndexesByFieldName;
+    private final Map<String, WrappedHBColumn> columnsByFieldName;
+    private final Map<String, Field> fields;
+    private final MethodHandle constructor;
+    private final RecordCreator<T> creator;
+
+    /**
+     * Same order in which HBase sorts cells of a row (i.e. by column family and then by column qualifier)
+     */
+    private static final Comparator<WrappedHBColumn> CELL_ORDER = (c1, c2) -> {
+        int cmp = Bytes.compareTo(c1.familyBytes(), c2.familyBytes());
+        return cmp != 0 ? cmp : Bytes.compareTo(c1.columnBytes(), c2.columnBytes());
+    };
+
+    /**
+     * @param codec Codec to compile serializers/deserializers of row key and fields with
+     */
+    WrappedHBClass(Class<T> clazz, WrappedHBTable<R, T> hbTable, Map<String, Field> hbColumnFields, Codec codec) {
+        this.clazz = clazz;
+        this.hbTable = hbTable;
+        this.rowKeyClass = resolveRowKeyClass(clazz);
+        this.rowKeyCodec = codec.compile(rowKeyClass, hbTable.getCodecFlags());
+        List<WrappedHBColumn> columns = new ArrayList<>(hbColumnFields.size());
+        Map<String, WrappedHBColumn> columnsByFieldName = new LinkedHashMap<>(hbColumnFields.size(), 1.0f);
+        for (Map.Entry<String, Field> e : hbColumnFields.entrySet()) {
+            WrappedHBColumn hbColumn = new WrappedHBColumn(e.getValue(), codec);
+            columns.add(hbColumn);
+            columnsByFieldName.put(e.getKey(), hbColumn);
+        }
+        this.columns = Collections.unmodifiableList(columns);
+        this.columnsInCellOrder = columns.toArray(new WrappedHBColumn[0]);
+        Arrays.sort(this.columnsInCellOrder, CELL_ORDER);
+        Map<String, Integer> cellOrderIndexesByFieldName = new HashMap<>(columnsInCellOrder.length, 1.0f);
+        for (int i = 0; i < columnsInCellOrder.length; i++) {
+            cellOrderIndexesByFieldName.put(columnsInCellOrder[i].getField().getName(), i);
+        }
+        this.cellOrderIndexesByFieldName = cellOrderIndexesByFieldName;
+        this.columnsByFieldName = Collections.unmodifiableMap(columnsByFieldName);
+        this.fields = Collections.unmodifiableMap(new LinkedHashMap<>(hbColumnFields));
+        this.creator = RecordCreator.of(clazz, rowKeyClass, columnsInCellOrder);
+        this.constructor = creator == null ? resolveConstructor(clazz) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R extends Serializable & Comparable<R>> Class<R> resolveRowKeyClass(Class<?> clazz) {
+        Method composeRowKey;
+        try {
+            composeRowKey = clazz.getDeclaredMethod("composeRowKey");
+        } catch (NoSuchMethodException e) {
+            try {
+                composeRowKey = clazz.getMethod("composeRowKey");
+            } catch (NoSuchMethodException e1) {
+                throw new InternalError(e1);
+            }
+        }
+        return (Class<R>) composeRowKey.getReturnType();
+    }
+
+    /**
+     * @return Method handle of empty constructor, or <code>null</code> if it isn't accessible (in which case, instantiation fails on read)
+     */
+    private static MethodHandle resolveConstructor(Class<?> clazz) {
+        Constructor<?> constructor;
+        try {
+            constructor = clazz.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new InternalError(e); // validation ensures presence of empty constructor
+        }
+        try {
+            constructor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Instantiates an empty record, using the empty constructor of the entity class
+     *
+     * @see #getCreator()
+     */
+    T newInstance() {
+        if (creator != null) {
+            throw new ObjectNotInstantiatableException(String.format("Class %s can only be instantiated through its @%s", clazz.getName(), HBRecordCreator.class.getSimpleName()), null);
+        }
+        if (constructor == null) {
+            throw new ObjectNotInstantiatableException("Empty constructor of " + clazz.getName() + " is inaccessible", null);
+        }
+        try {
+            return clazz.cast((Object) constructor.invokeExact());
+        } catch (Throwable t) {
+            throw new ObjectNotInstantiatableException("Error while instantiating empty constructor of " + clazz.getName(), t);
+        }
+    }
+
+    /**
+     * @return Creator of records (if the entity class has a constructor or method annotated with {@link HBRecordCreator}), or <code>null</code>
+     */
+    RecordCreator<T> getCreator() {
+        return creator;
+    }
+
+    Class<T> getHBRecordClass() {
+        return clazz;
+    }
+
+    WrappedHBTable<R, T> getHBTable() {
+        return hbTable;
+    }
+
+    Class<R> getRowKeyClass() {
+        return rowKeyClass;
+    }
+
+    /**
+     * Serializer/deserializer compiled for row key's type and codec flags
+     */
+    ValueCodec getRowKeyCodec() {
+        return rowKeyCodec;
+    }
+
+    /**
+     * Mapped columns, in the order in which their fields are declared
+     */
+    List<WrappedHBColumn> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Mapped columns, in the order in which HBase sorts cells of a row
+     *
+     * @see #indexOf(Cell, int)
+     */
+    WrappedHBColumn[] getColumnsInCellOrder() {
+        return columnsInCellOrder;
+    }
+
+    /**
+     * @return Index of field's column in {@link #getColumnsInCellOrder()}, or <code>-1</code> if field isn't mapped
+     */
+    int indexOf(String fieldName) {
+        Integer index = cellOrderIndexesByFieldName.get(fieldName);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Finds the column a cell belongs to, without copying family or qualifier out of the cell
+     *
+     * @param cell Cell (of a row of this entity's table)
+     * @param hint Index (in {@link #getColumnsInCellOrder()}) to try first, typically the index of the column the previous cell belonged to
+     * @return Index of column in {@link #getColumnsInCellOrder()}, or <code>-1</code> if cell doesn't belong to any mapped column
+     */
+    int indexOf(Cell cell, int hint) {
+        if (hint >= 0 && hint < columnsInCellOrder.length) {
+            int cmp = compare(cell, columnsInCellOrder[hint]);
+            if (cmp == 0) {
+                return hint;
+            }
+            if (cmp > 0 && hint + 1 < columnsInCellOrder.length && compare(cell, columnsInCellOrder[hint + 1]) == 0) {
+                return hint + 1;
+            }
+        }
+        int low = 0, high = columnsInCellOrder.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(cell, columnsInCellOrder[mid]);
+            if (cmp > 0) {
+                low = mid + 1;
+            } else if (cmp < 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the columns cells of a row belong to
+     *
+     * @param cells Cells of a row
+     * @return Index of column (in {@link #getColumnsInCellOrder()}) for each cell, <code>-1</code> for cells that don't belong to any mapped column
+     */
+    int[] indexOf(Cell[] cells) {
+        int[] indexes = new int[cells.length];
+        int hint = 0;
+        for (int i = 0; i < cells.length; i++) {
+            indexes[i] = indexOf(cells[i], hint);
+            if (indexes[i] >= 0) {
+                hint = indexes[i];
+            }
+        }
+        return indexes;
+    }
+
+    private static int compare(Cell cell, WrappedHBColumn hbColumn) {
+        byte[] family = hbColumn.familyBytes(), column = hbColumn.columnBytes();
+        int cmp = Bytes.compareTo(cell.getFamilyArray(), cell.getFamilyOffset(), cell.getFamilyLength(), family, 0, family.length);
+        return cmp != 0 ? cmp : Bytes.compareTo(cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength(), column, 0, column.length);
+    }
+
+    WrappedHBColumn getColumn(String fieldName) {
+        return columnsByFieldName.get(fieldName);
+    }
+
+    Map<String, Field> getFields() {
+        return fields;
+    }
+
+    @Override
+    public String toString() {
+        return clazz.getName();
+    }
+}
@@ -1,11 +1,21 @@
 package com.flipkart.hbaseobjectmapper;
 
+import com.flipkart.hbaseobjectmapper.codec.ByteArrayBuffer;
+import com.flipkart.hbaseobjectmapper.codec.Codec;
+import com.flipkart.hbaseobjectmapper.codec.ValueCodec;
+import com.flipkart.hbaseobjectmapper.codec.exceptions.DeserializationException;
+import com.flipkart.hbaseobjectmapper.codec.exceptions.SerializationException;
 import com.flipkart.hbaseobjectmapper.exceptions.BothHBColumnAnnotationsPresentException;
 import com.flipkart.hbaseobjectmapper.exceptions.DuplicateCodecFlagForColumnException;
+import com.flipkart.hbaseobjectmapper.exceptions.MissingValueForPrimitiveFieldException;
+import com.google.common.primitives.Primitives;
 import org.apache.hadoop.hbase.util.Bytes;
 
+import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -14,12 +24,25 @@ import java.util.Map;
  */
 class WrappedHBColumn {
     private final String family, column;
+    private final byte[] familyBytes, columnBytes;
+    private final Type fieldType;
     private final boolean multiVersioned, singleVersioned;
     private final Class<? extends Annotation> annotationClass;
     private final Map<String, String> codecFlags;
+    private final AbsentValuePolicy absentValuePolicy;
     private final Field field;
+    private final FieldAccessor accessor;
+    private final PrimitiveFieldAccessor primitiveAccessor;
+    private final ValueCodec valueCodec;
 
     WrappedHBColumn(Field field) {
+        this(field, null);
+    }
+
+    /**
+     * @param codec Codec to compile serializer/deserializer of the field with, which also implies method handles for reading/writing the field are resolved (only for fields of validated classes)
+     */
+    WrappedHBColumn(Field field, Codec codec) {
         this.field = field;
         HBColumn hbColumn = field.getAnnotation(HBColumn.class);
         HBColumnMultiVersion hbColumnMultiVersion = field.getAnnotation(HBColumnMultiVersion.class);
@@ -33,6 +56,7 @@ class WrappedHBColumn {
             multiVersioned = false;
             annotationClass = HBColumn.class;
             codecFlags = toMap(hbColumn.codecFlags());
+            absentValuePolicy = hbColumn.absentValuePolicy();
         } else if (hbColumnMultiVersion != null) {
             family = hbColumnMultiVersion.family();
             column = hbColumnMultiVersion.column();
@@ -40,6 +64,7 @@ class WrappedHBColumn {
             multiVersioned = true;
             annotationClass = HBColumnMultiVersion.class;
             codecFlags = toMap(hbColumnMultiVersion.codecFlags());
+            absentValuePolicy = AbsentValuePolicy.NONE;
         } else {
             family = null;
             column = null;
@@ -47,7 +72,31 @@ class WrappedHBColumn {
             multiVersioned = false;
             annotationClass = null;
             codecFlags = null;
+            absentValuePolicy = AbsentValuePolicy.NONE;
         }
+        familyBytes = family == null ? null : Bytes.toBytes(family);
+        columnBytes = column == null ? null : Bytes.toBytes(column);
+        fieldType = resolveFieldType(field, multiVersioned);
+        accessor = codec == null ? null : new FieldAccessor(field);
+        primitiveAccessor = codec == null || !isPrimitive() ? null : PrimitiveFieldAccessor.of(field);
+        // a primitive field is serialized exactly as its wrapper type is
+        valueCodec = codec == null ? null : codec.compile(isPrimitive() ? Primitives.wrap(field.getType()) : fieldType, codecFlags);
+    }
+
+    /**
+     * For multi-version fields (i.e. <code>NavigableMap&lt;Long, T&gt;</code>), this resolves to <code>T</code>
+     */
+    private static Type resolveFieldType(Field field, boolean multiVersioned) {
+        if (!multiVersioned) {
+            return field.getGenericType();
+        }
+        if (field.getGenericType() instanceof ParameterizedType) {
+            Type[] typeArguments = ((ParameterizedType) field.getGenericType()).getActualTypeArguments();
+            if (typeArguments.length == 2) {
+                return typeArguments[1];
+            }
+        }
+        return null; // an invalid field, which gets rejected during validation
     }
 
     private Map<String, String> toMap(Flag[] codecFlags) {
@@ -66,7 +115,7 @@ class WrappedHBColumn {
     }
 
     public byte[] familyBytes() {
-        return Bytes.toBytes(family);
+        return familyBytes;
     }
 
     public String column() {
@@ -74,13 +123,96 @@ class WrappedHBColumn {
     }
 
     public byte[] columnBytes() {
-        return Bytes.toBytes(column);
+        return columnBytes;
     }
 
     public Map<String, String> codecFlags() {
         return codecFlags;
     }
 
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Serializer/deserializer compiled for this field's type and codec flags (see {@link Codec#compile(Type, Map)})
+     */
+    ValueCodec valueCodec() {
+        return valueCodec;
+    }
+
+    /**
+     * Whether this is a single-version field of a primitive type (valid only if an {@link AbsentValuePolicy} is set)
+     */
+    boolean isPrimitive() {
+        return singleVersioned && field.getType().isPrimitive();
+    }
+
+    AbsentValuePolicy absentValuePolicy() {
+        return absentValuePolicy;
+    }
+
+    /**
+     * Serializes value of this (primitive) field into the buffer, without boxing it
+     */
+    void writePrimitive(Object record, ByteArrayBuffer buffer) throws SerializationException {
+        primitiveAccessor.write(record, valueCodec, buffer);
+    }
+
+    /**
+     * Deserializes a slice of byte array into this (primitive) field, without boxing it
+     */
+    void readPrimitive(Object record, byte[] bytes, int offset, int length) throws DeserializationException {
+        primitiveAccessor.read(record, valueCodec, bytes, offset, length);
+    }
+
+    /**
+     * Sets this field as per its {@link AbsentValuePolicy}, for a row that has no value for its column (for non-primitive fields, this does nothing)
+     * <p>
+     * Note: Columns of primitive fields are never left out of projections of DAOs (see {@link BaseHBDAO#getColumns(java.util.Set)}), so their absence is real
+     *
+     * @throws MissingValueForPrimitiveFieldException If policy is {@link AbsentValuePolicy#FAIL}
+     */
+    void setAbsent(Object record) {
+        if (isPrimitive()) {
+            checkAbsentAllowed();
+            primitiveAccessor.setZero(record);
+        }
+    }
+
+    /**
+     * @return Value of this field for a row that has no value for its column (as per its {@link AbsentValuePolicy}), which is <code>null</code> for non-primitive fields
+     * @throws MissingValueForPrimitiveFieldException If policy is {@link AbsentValuePolicy#FAIL}
+     */
+    Serializable absentValue() {
+        if (!isPrimitive()) {
+            return null;
+        }
+        checkAbsentAllowed();
+        return primitiveAccessor.zero();
+    }
+
+    private void checkAbsentAllowed() {
+        if (absentValuePolicy == AbsentValuePolicy.FAIL) {
+            throw new MissingValueForPrimitiveFieldException(field, toString());
+        }
+    }
+
+    Object getFieldValue(Object record) {
+        return accessor.get(record);
+    }
+
+    void setFieldValue(Object record, Object value) {
+        accessor.set(record, value);
+    }
+
+    /**
+     * Type of values stored in the HBase column (for multi-version fields, this is the type of values in the <code>NavigableMap</code>)
+     */
+    public Type getFieldType() {
+        return fieldType;
+    }
+
     public boolean isPresent() {
         return singleVersioned || multiVersioned;
     }
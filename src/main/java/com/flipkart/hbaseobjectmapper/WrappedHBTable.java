@@ -5,6 +5,7 @@ import com.flipkart.hbaseobjectmapper.exceptions.ImproperHBTableAnnotationExcept
 import org.apache.hadoop.hbase.TableName;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -15,10 +16,10 @@ import java.util.Map;
  * @param <T> Entity type
  */
 class WrappedHBTable<R extends Serializable & Comparable<R>, T extends HBRecord<R>> {
-
     private final TableName tableName;
     private final Map<String, Integer> families; // This should evolve to Map<String, FamilyDetails>
     private final Map<String, String> codecFlags;
+    private final int saltBuckets;
     private final Class<T> clazz;
 
     WrappedHBTable(Class<T> clazz) {
@@ -28,7 +29,7 @@ class WrappedHBTable<R extends Serializable & Comparable<R>, T extends HBRecord<
             throw new ImproperHBTableAnnotationExceptions.MissingHBTableAnnotationException(String.format("Class %s is missing %s annotation", clazz.getName(), HBTable.class.getSimpleName()));
         }
         if (hbTable.name().isEmpty()) {
-            throw new ImproperHBTableAnnotationExceptions.EmptyTableNameOnHBTableAnnotationException(String.format("Annotation %s on class %s has empty name", HBTable.class.getName(), clazz.getName()));
+            throw new ImproperHBTableAnnotationExceptions.EmptyTableNameOnHBTableAnnotationException(String.format(MappingRules.EMPTY_TABLE_NAME, HBTable.class.getName(), clazz.getName()));
         }
         if (hbTable.name().contains(":")) {
             tableName = TableName.valueOf(hbTable.name());
@@ -36,17 +37,21 @@ class WrappedHBTable<R extends Serializable & Comparable<R>, T extends HBRecord<
             tableName = TableName.valueOf(hbTable.namespace(), hbTable.name());
         }
         codecFlags = toMap(hbTable.rowKeyCodecFlags());
+        if (hbTable.rowKeySaltBuckets() < 0 || hbTable.rowKeySaltBuckets() > MappingRules.MAX_SALT_BUCKETS) {
+            throw new ImproperHBTableAnnotationExceptions.InvalidValueForRowKeySaltBucketsOnHBTableAnnotationException(String.format(MappingRules.INVALID_ROW_KEY_SALT_BUCKETS, HBTable.class.getSimpleName(), clazz.getName(), hbTable.rowKeySaltBuckets(), MappingRules.MAX_SALT_BUCKETS));
+        }
+        saltBuckets = hbTable.rowKeySaltBuckets();
         families = new HashMap<>(hbTable.families().length, 1.0f);
         for (Family family : hbTable.families()) {
             if (family.name().isEmpty()) {
-                throw new ImproperHBTableAnnotationExceptions.EmptyColumnFamilyOnHBTableAnnotationException(String.format("The %s annotation on class %s has a column family with empty name", HBTable.class.getSimpleName(), clazz.getName()));
+                throw new ImproperHBTableAnnotationExceptions.EmptyColumnFamilyOnHBTableAnnotationException(String.format(MappingRules.EMPTY_COLUMN_FAMILY_NAME, HBTable.class.getSimpleName(), clazz.getName()));
             }
             if (family.versions() < 1) {
-                throw new ImproperHBTableAnnotationExceptions.InvalidValueForVersionsOnHBTableAnnotationException(String.format("The %s annotation on class %s has a column family '%s' which has 'versions' less than 1", HBTable.class.getSimpleName(), clazz.getName(), family.name()));
+                throw new ImproperHBTableAnnotationExceptions.InvalidValueForVersionsOnHBTableAnnotationException(String.format(MappingRules.INVALID_VERSIONS, HBTable.class.getSimpleName(), clazz.getName(), family.name()));
             }
             final Integer prevValue = families.put(family.name(), family.versions());
             if (prevValue != null) {
-                throw new ImproperHBTableAnnotationExceptions.DuplicateColumnFamilyNamesOnHBTableAnnotationException(String.format("The %s annotation on class %s has two or more column families with same name '%s' (Note: column family names must be unique)", HBTable.class.getSimpleName(), clazz.getName(), family.name()));
+                throw new ImproperHBTableAnnotationExceptions.DuplicateColumnFamilyNamesOnHBTableAnnotationException(String.format(MappingRules.DUPLICATE_COLUMN_FAMILY_NAMES, HBTable.class.getSimpleName(), clazz.getName(), family.name()));
             }
         }
     }
@@ -78,6 +83,55 @@ class WrappedHBTable<R extends Serializable & Comparable<R>, T extends HBRecord<
         return codecFlags;
     }
 
+    boolean isSalted() {
+        return saltBuckets > 0;
+    }
+
+    /**
+     * @return Number of salt buckets (<code>0</code>, if row keys aren't salted)
+     */
+    int getSaltBuckets() {
+        return saltBuckets;
+    }
+
+    /**
+     * @return Length of salt prefix in row keys (<code>0</code>, if row keys aren't salted)
+     */
+    int getSaltLength() {
+        return isSalted() ? 1 : 0;
+    }
+
+    /**
+     * Prefixes serialized row key with its salt (i.e. the bucket it falls in), if row keys are salted
+     */
+    byte[] saltRowKey(byte[] rowKeyBytes) {
+        if (!isSalted()) {
+            return rowKeyBytes;
+        }
+        return withSalt((Arrays.hashCode(rowKeyBytes) & Integer.MAX_VALUE) % saltBuckets, rowKeyBytes);
+    }
+
+    /**
+     * @return Row keys at which a table is to be split into regions, so that each salt bucket starts in a region of its own (<code>null</code>, if row keys aren't salted)
+     */
+    byte[][] getSaltSplitKeys() {
+        if (saltBuckets <= 1) {
+            return null;
+        }
+        byte[][] splitKeys = new byte[saltBuckets - 1][];
+        for (int bucket = 1; bucket < saltBuckets; bucket++) {
+            splitKeys[bucket - 1] = new byte[]{(byte) bucket};
+        }
+        return splitKeys;
+    }
+
+    static byte[] withSalt(int bucket, byte[] bytes) {
+        byte[] saltedBytes = new byte[bytes.length + 1];
+        saltedBytes[0] = (byte) bucket;
+        System.arraycopy(bytes, 0, saltedBytes, 1, bytes.length);
+        return saltedBytes;
+    }
+
     @Override
     public String toString() {
         return tableName.getNameWithNamespaceInclAsString();
@@ -0,0 +1,262 @@
+package com.flipkart.hbaseobjectmapper;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Table;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A queue of mutations that are written to an HBase table in the background, for internal use only (see {@link AbstractHBDAO#persistAsync(HBRecord)})
+ * <p>
+ * The queue is bounded by the memory its mutations take (as per {@link Mutation#heapSize()}), counting mutations from when they're
+ * enqueued until they're written. A single background thread takes all pending mutations at once and writes them through
+ * {@link Table#batch(List, Object[])}, which groups them by region server and sends the groups in parallel. So, the more mutations pile
+ * up while a batch is being written, the larger the next batch is.
+ * <p>
+ * Futures of mutations are completed on a separate executor, so that their dependent actions (which may well enqueue more mutations or wait
+ * for the queue to be flushed) never hold up the background thread.
+ */
+final class WriteBehindQueue {
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("hbase-orm-write-behind-%d").build();
+    private static final long LIVENESS_CHECK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Connection connection;
+    private final TableName tableName;
+    private final long capacityInBytes;
+    private final Executor completionExecutor;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition(), notFull = lock.newCondition(), written = lock.newCondition();
+    private final ArrayDeque<Pending> pending = new ArrayDeque<>();
+    private final Thread flusher;
+    private List<Pending> inFlight = Collections.emptyList();
+    private long bytes; // of mutations pending or being written
+    private long numEnqueued, numWritten;
+    private boolean closed;
+    private Throwable stoppedBy; // set if background thread stops abnormally
+
+    private static final class Pending {
+        final Mutation mutation;
+        final long size;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Pending(Mutation mutation, long size) {
+            this.mutation = mutation;
+            this.size = size;
+        }
+    }
+
+    WriteBehindQueue(Connection connection, TableName tableName, long capacityInBytes, Executor completionExecutor) {
+        this.connection = connection;
+        this.tableName = tableName;
+        this.capacityInBytes = capacityInBytes;
+        this.completionExecutor = completionExecutor;
+        this.flusher = THREAD_FACTORY.newThread(this::writeAll);
+        this.flusher.start();
+    }
+
+    /**
+     * Enqueues a mutation, waiting for room if the queue is full (a mutation larger than the queue's capacity is let in only when the queue is empty)
+     *
+     * @param maxWaitMs Time to wait for room, in milliseconds (<code>0</code> to not wait at all)
+     * @return Future that completes when the mutation is written (or fails to be)
+     * @throws RejectedExecutionException If there isn't room even after waiting
+     * @throws IllegalStateException      If the queue is closed (or its background thread has stopped)
+     * @throws InterruptedException       If interrupted while waiting
+     */
+    CompletableFuture<Void> enqueue(Mutation mutation, long maxWaitMs) throws InterruptedException {
+        final long size = mutation.heapSize();
+        lock.lockInterruptibly();
+        try {
+            long nanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+            while (!closed && bytes > 0 && bytes + size > capacityInBytes) {
+                checkRunning();
+                if (nanos <= 0) {
+                    throw new RejectedExecutionException(String.format("Write-behind queue of table %s is full (%d bytes of mutations are pending, whereas its capacity is %d bytes)", tableName, bytes, capacityInBytes));
+                }
+                final long wait = Math.min(nanos, LIVENESS_CHECK_INTERVAL_NANOS);
+                nanos -= wait - notFull.awaitNanos(wait);
+            }
+            checkRunning();
+            if (closed) {
+                throw new IllegalStateException(String.format("Write-behind queue of table %s is closed", tableName));
+            }
+            Pending p = new Pending(mutation, size);
+            pending.add(p);
+            bytes += size;
+            numEnqueued++;
+            notEmpty.signal();
+            return p.future;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until all mutations enqueued so far are written (or fail to be), though their futures may be completed a little later (on the completion executor)
+     *
+     * @throws IllegalStateException If the background thread has stopped (in which case, mutations that were pending are failed)
+     */
+    void flush() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            final long target = numEnqueued;
+            checkRunning();
+            while (numWritten < target) {
+                written.awaitNanos(LIVENESS_CHECK_INTERVAL_NANOS);
+                checkRunning();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting mutations and waits until the ones enqueued so far are written
+     */
+    void close() throws InterruptedException {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        flusher.join();
+    }
+
+    /**
+     * Throws if the background thread has stopped abnormally (to be called while holding the lock)
+     */
+    private void checkRunning() {
+        if (stoppedBy != null || !flusher.isAlive() && numWritten < numEnqueued) {
+            throw new IllegalStateException(String.format("Background thread of write-behind queue of table %s has stopped", tableName), stoppedBy);
+        }
+    }
+
+    private void writeAll() {
+        try {
+            while (true) {
+                final List<Pending> batch;
+                lock.lock();
+                try {
+                    while (pending.isEmpty() && !closed) {
+                        notEmpty.awaitUninterruptibly();
+                    }
+                    if (pending.isEmpty()) {
+                        return; // closed, and nothing left to write
+                    }
+                    batch = new ArrayList<>(pending);
+                    pending.clear();
+                    inFlight = batch;
+                } finally {
+                    lock.unlock();
+                }
+                write(batch);
+                lock.lock();
+                try {
+                    inFlight = Collections.emptyList();
+                    release(batch);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } catch (Throwable t) {
+            stop(t);
+            throw t;
+        }
+    }
+
+    /**
+     * Releases room taken by mutations that are done with (to be called while holding the lock)
+     */
+    private void release(List<Pending> done) {
+        for (Pending p : done) {
+            bytes -= p.size;
+        }
+        numWritten += done.size();
+        notFull.signalAll();
+        written.signalAll();
+    }
+
+    /**
+     * Fails all mutations that are pending (or being written) and stops accepting more, when the background thread stops abnormally
+     */
+    private void stop(Throwable cause) {
+        final List<Pending> failed;
+        lock.lock();
+        try {
+            stoppedBy = cause;
+            closed = true;
+            failed = new ArrayList<>(inFlight.size() + pending.size());
+            failed.addAll(inFlight);
+            failed.addAll(pending);
+            inFlight = Collections.emptyList();
+            pending.clear();
+            release(failed);
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Pending p : failed) {
+            completeQuietly(p.future, null, cause); // no-op for futures of the batch being written, if they were completed already
+        }
+    }
+
+    /**
+     * Writes a batch of mutations and has their futures completed on the completion executor
+     */
+    private void write(List<Pending> batch) {
+        final Object[] results = new Object[batch.size()];
+        Throwable failure = null;
+        try {
+            final List<Mutation> mutations = new ArrayList<>(batch.size());
+            for (Pending p : batch) {
+                mutations.add(p.mutation);
+            }
+            try (Table table = connection.getTable(tableName)) {
+                table.batch(mutations, results);
+            }
+        } catch (Throwable t) { // including errors (e.g. OutOfMemoryError), which mustn't leave futures of the batch pending
+            failure = t; // results of mutations that succeeded (or failed individually) are still filled in
+        }
+        final Throwable batchFailure = failure;
+        final Runnable completion = () -> {
+            for (int i = 0; i < results.length; i++) {
+                completeQuietly(batch.get(i).future, results[i], batchFailure);
+            }
+        };
+        try {
+            completionExecutor.execute(completion);
+        } catch (RejectedExecutionException e) {
+            completion.run();
+        }
+    }
+
+    private static void completeQuietly(CompletableFuture<Void> future, Object result, Throwable batchFailure) {
+        try {
+            if (result instanceof Throwable) {
+                future.completeExceptionally((Throwable) result);
+            } else if (result == null && batchFailure != null) {
+                future.completeExceptionally(batchFailure);
+            } else {
+                future.complete(null);
+            }
+        } catch (RuntimeException | Error ignored) {
+            // thrown by a dependent action (e.g. a callback) of the future, which mustn't stop completion of others
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.flipkart.hbaseobjectmapper.codec;
 
 import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.flipkart.hbaseobjectmapper.Flag;
@@ -11,7 +12,12 @@ import org.apache.hadoop.hbase.util.Bytes;
 import java.io.Serializable;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.LongFunction;
 
 /**
  * This is an implementation of {@link Codec} that:
@@ -24,6 +30,11 @@ import java.util.Map;
  * This codec takes the following {@link Flag Flag}s:
  * <ul>
  * <li><b><code>{@link #SERIALIZE_AS_STRING}</code></b>: When this flag is "true", this codec stores field/rowkey values in it's string representation (e.g. <b>560034</b> is serialized into a <code>byte[]</code> that represents the string <b>"560034"</b>). This flag applies only to fields or rowkeys of data types in point 1 above.</li>
+ * <li><b><code>{@link #SERIALIZE_AS_VARINT}</code></b>: When this flag is "true", this codec stores values of data types {@link Short}, {@link Integer} and {@link Long} as variable-length integers (ZigZag encoded, 7 bits per byte), so small numbers take fewer bytes (e.g. values from -64 to 63 take a single byte). Since these can't be told apart from fixed-width values, this flag can't be turned on (or off) for a field that already has data. Also, fields with this flag can't be incremented (HBase increments only 8-byte values). {@link #SERIALIZE_AS_STRING} takes precedence over this flag.</li>
+ * <li><b><code>{@link #SERIALIZE_AS_SMILE}</code></b>: When this flag is "true", this codec stores field values in <a href="https://github.com/FasterXML/smile-format-specification">Smile</a> format (Jackson's binary equivalent of JSON), which is more compact and faster to parse than JSON text. This flag applies only to fields of data types in point 2 above. Values are deserialized from either format (irrespective of this flag), so this flag can be turned on (or off) for a field that already has data.</li>
+ * <li><b><code>{@link #COMPRESS}</code></b>: When this flag is "true", this codec compresses (using DEFLATE) field values whose serialized form is larger than {@link #COMPRESSION_THRESHOLD} bytes, if that makes them smaller. This flag applies only to fields of data types in point 2 above. As with the previous flag, values are deserialized whether they're compressed or not.</li>
+ * <li><b><code>{@link #COMPRESSION_THRESHOLD}</code></b>: Size (in bytes) above which values are compressed, when {@link #COMPRESS} flag is "true" (defaults to {@value #DEFAULT_COMPRESSION_THRESHOLD})</li>
+ * <li><b><code>{@link #ORDER_PRESERVING}</code></b>: When this flag is "true" (typically, in {@link com.flipkart.hbaseobjectmapper.HBTable#rowKeyCodecFlags() rowKeyCodecFlags}), this codec encodes values such that their serialized forms sort (byte-wise, as HBase sorts row keys) in the same order as the values. This supports {@link Short}, {@link Integer}, {@link Long}, {@link Float}, {@link Double}, {@link Boolean} and {@link String}, and classes composed of fields of these types, each annotated with {@link com.flipkart.hbaseobjectmapper.HBRowKeyComponent HBRowKeyComponent} to set its position (e.g. a row key class with fields <code>String country</code> and <code>long timestamp</code>). Serialized form of a {@link String} is same as without this flag, but that of other types isn't (so this flag can't be turned on for a table that already has data). Row key classes with fields annotated with {@link com.flipkart.hbaseobjectmapper.HBRowKeyComponent HBRowKeyComponent} are always encoded this way (irrespective of this flag).</li>
  * </ul>
  * <p>
  * This is the default codec for {@link com.flipkart.hbaseobjectmapper.HBObjectMapper HBObjectMapper}.
@@ -31,17 +42,68 @@ import java.util.Map;
 
 public class BestSuitCodec implements Codec {
     public static final String SERIALIZE_AS_STRING = "serializeAsString";
+    public static final String SERIALIZE_AS_VARINT = "serializeAsVarint";
+    public static final String SERIALIZE_AS_SMILE = "serializeAsSmile";
+    public static final String COMPRESS = "compress";
+    public static final String COMPRESSION_THRESHOLD = "compressionThreshold";
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+    public static final String ORDER_PRESERVING = "orderPreserving";
+
+    /**
+     * Every Smile document starts with these bytes (which can't start a JSON text), so they tell the formats apart
+     */
+    private static final byte[] SMILE_HEADER = {':', ')', '\n'};
 
     private final ObjectMapper objectMapper;
+    private final boolean serializeOverridden, deserializeOverridden;
+    private final boolean compilable;
+
+    /**
+     * Jackson's readers and writers, specialized for (and built once per) a type, since resolving type and (de)serializer on every call is costly
+     */
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>(), smileReaders = new ConcurrentHashMap<>();
+    private final ClassValue<ObjectWriter> writers = new ClassValue<ObjectWriter>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> clazz) {
+            return objectMapper.writerFor(clazz);
+        }
+    };
+    private final ClassValue<ObjectWriter> smileWriters = new ClassValue<ObjectWriter>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> clazz) {
+            return writers.get(clazz).with(smileFactory);
+        }
+    };
+    private final SmileFactory smileFactory = new SmileFactory();
+    private final ClassValue<ValueCodec> orderPreservingCodecs = new ClassValue<ValueCodec>() {
+        @Override
+        protected ValueCodec computeValue(Class<?> clazz) {
+            return OrderPreservingCodecs.forClass(clazz);
+        }
+    };
+    private final ClassValue<Boolean> annotatedComposites = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> clazz) {
+            return OrderPreservingCodecs.hasAnnotatedComponents(clazz);
+        }
+    };
+    private final ConcurrentMap<Type, Boolean> deserializableTypes = new ConcurrentHashMap<>();
 
     /**
      * Construct an object of class {@link BestSuitCodec} with custom instance of Jackson's Object Mapper
+     * <p>
+     * Readers and writers derived from the Object Mapper are cached (per type), so configure it fully <i>before</i> passing it here.
      *
      * @param objectMapper Instance of Jackson's Object Mapper
      */
     @SuppressWarnings("WeakerAccess")
     public BestSuitCodec(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
+        this.serializeOverridden = isOverridden("serialize", Serializable.class, Map.class);
+        this.deserializeOverridden = isOverridden("deserialize", byte[].class, Type.class, Map.class);
+        this.compilable = !serializeOverridden && !deserializeOverridden
+                && !isOverridden("serialize", Serializable.class, Map.class, ByteArrayBuffer.class)
+                && !isOverridden("deserialize", byte[].class, int.class, int.class, Type.class, Map.class);
     }
 
     /**
@@ -51,6 +113,17 @@ public class BestSuitCodec implements Codec {
         this(getObjectMapper());
     }
 
+    /**
+     * Whether a subclass overrides a <code>byte[]</code> based method (in which case, buffer/slice based methods must go through it)
+     */
+    private boolean isOverridden(String methodName, Class<?>... parameterTypes) {
+        try {
+            return getClass().getMethod(methodName, parameterTypes).getDeclaringClass() != BestSuitCodec.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
     private static ObjectMapper getObjectMapper() {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
@@ -67,10 +140,89 @@ public class BestSuitCodec implements Codec {
         if (object == null) {
             return null;
         }
+        if (isOrderPreserving(object.getClass(), flags)) {
+            return getOrderPreservingSerializer(object.getClass()).serialize(object);
+        }
+        byte[] bytes = serializeNatively(object, flags);
+        if (bytes != null) {
+            return bytes;
+        }
+        return toJson(object, isFlagTrue(flags, SERIALIZE_AS_SMILE), getCompressionThreshold(flags));
+    }
+
+    /*
+     * @inherit
+     */
+    @Override
+    public void serialize(Serializable object, Map<String, String> flags, ByteArrayBuffer buffer) throws SerializationException {
+        if (serializeOverridden) {
+            Codec.super.serialize(object, flags, buffer);
+            return;
+        }
+        if (object == null) {
+            return;
+        }
+        if (isOrderPreserving(object.getClass(), flags)) {
+            getOrderPreservingSerializer(object.getClass()).serialize(object, buffer);
+            return;
+        }
+        byte[] bytes = serializeNatively(object, flags);
+        if (bytes != null) {
+            buffer.write(bytes, 0, bytes.length);
+            return;
+        }
+        writeJson(object, isFlagTrue(flags, SERIALIZE_AS_SMILE), getCompressionThreshold(flags), buffer);
+    }
+
+    /**
+     * @param compressionThreshold Size above which serialized form is compressed (negative, if it's never to be compressed)
+     */
+    private byte[] toJson(Serializable object, boolean smile, int compressionThreshold) throws SerializationException {
+        byte[] bytes;
+        try {
+            bytes = (smile ? smileWriters : writers).get(object.getClass()).writeValueAsBytes(object);
+        } catch (Exception e) {
+            throw new SerializationException("Could not serialize object to JSON using Jackson", e);
+        }
+        if (compressionThreshold >= 0 && bytes.length > compressionThreshold) {
+            byte[] compressed = ValueCompressor.compress(bytes, 0, bytes.length);
+            if (compressed != null) {
+                return compressed;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Same as {@link #toJson(Serializable, boolean, int)}, but serializes into a buffer (compression, if any, replaces what was written)
+     */
+    private void writeJson(Serializable object, boolean smile, int compressionThreshold, ByteArrayBuffer buffer) throws SerializationException {
+        final int start = buffer.size();
+        try {
+            (smile ? smileWriters : writers).get(object.getClass()).writeValue(buffer, object);
+        } catch (Exception e) {
+            throw new SerializationException("Could not serialize object to JSON using Jackson", e);
+        }
+        final int length = buffer.size() - start;
+        if (compressionThreshold >= 0 && length > compressionThreshold) {
+            byte[] compressed = ValueCompressor.compress(buffer.toByteBuffer().array(), start, length);
+            if (compressed != null) {
+                buffer.truncate(start);
+                buffer.write(compressed, 0, compressed.length);
+            }
+        }
+    }
+
+    /**
+     * @return Serialized form of object (if it's of a data type HBase's native methods can serialize) or <code>null</code>
+     */
+    private byte[] serializeNatively(Serializable object, Map<String, String> flags) throws SerializationException {
         Class<?> clazz = object.getClass();
         if (isSerializeAsStringTrue(flags)) {
             object = String.valueOf(object);
             clazz = String.class;
+        } else if (isFlagTrue(flags, SERIALIZE_AS_VARINT) && VARINT_CODECS.containsKey(clazz)) {
+            return VARINT_CODECS.get(clazz).serialize(object);
         }
         try {
             if (clazz == String.class) {
@@ -93,11 +245,7 @@ public class BestSuitCodec implements Codec {
         } catch (Exception e) {
             throw new SerializationException(String.format("Could not serialize value of type %s using HBase's native methods", clazz.getName()), e);
         }
-        try {
-            return objectMapper.writeValueAsBytes(object);
-        } catch (Exception e) {
-            throw new SerializationException("Could not serialize object to JSON using Jackson", e);
-        }
+        return null;
     }
 
     /*
@@ -107,11 +255,37 @@ public class BestSuitCodec implements Codec {
     public Serializable deserialize(byte[] bytes, Type type, Map<String, String> flags) throws DeserializationException {
         if (bytes == null)
             return null;
+        return deserialize0(bytes, 0, bytes.length, type, flags);
+    }
+
+    /*
+     * @inherit
+     */
+    @Override
+    public Serializable deserialize(byte[] bytes, int offset, int length, Type type, Map<String, String> flags) throws DeserializationException {
+        if (deserializeOverridden) {
+            return Codec.super.deserialize(bytes, offset, length, type, flags);
+        }
+        if (bytes == null)
+            return null;
+        return deserialize0(bytes, offset, length, type, flags);
+    }
+
+    private Serializable deserialize0(byte[] bytes, int offset, int length, Type type, Map<String, String> flags) throws DeserializationException {
+        if (isOrderPreserving(type, flags)) {
+            ValueCodec orderPreservingCodec;
+            try {
+                orderPreservingCodec = getOrderPreservingCodec(type);
+            } catch (IllegalArgumentException e) {
+                throw new DeserializationException(e.getMessage(), e);
+            }
+            return orderPreservingCodec.deserialize(bytes, offset, length);
+        }
         boolean serializeAsString = isSerializeAsStringTrue(flags);
         if (type instanceof Class) {
             if (serializeAsString) {
                 try {
-                    String string = Bytes.toString(bytes);
+                    String string = Bytes.toString(bytes, offset, length);
                     if (type == Integer.class) {
                         return Integer.valueOf(string);
                     } else if (type == Long.class) {
@@ -130,37 +304,496 @@ public class BestSuitCodec implements Codec {
                 } catch (Exception e) {
                     throw new DeserializationException("Could not deserialize byte array into an object using HBase's native methods (note: serialize as string is on)", e);
                 }
+            } else if (isFlagTrue(flags, SERIALIZE_AS_VARINT) && VARINT_CODECS.containsKey(type)) {
+                return VARINT_CODECS.get(type).deserialize(bytes, offset, length);
             } else {
                 try {
                     if (type == String.class) {
-                        return Bytes.toString(bytes);
+                        return Bytes.toString(bytes, offset, length);
                     } else if (type == Integer.class) {
-                        return Bytes.toInt(bytes);
+                        return Bytes.toInt(bytes, offset, checkLength(length, Bytes.SIZEOF_INT));
                     } else if (type == Long.class) {
-                        return Bytes.toLong(bytes);
+                        return Bytes.toLong(bytes, offset, checkLength(length, Bytes.SIZEOF_LONG));
                     } else if (type == Short.class) {
-                        return Bytes.toShort(bytes);
+                        return Bytes.toShort(bytes, offset, checkLength(length, Bytes.SIZEOF_SHORT));
                     } else if (type == Float.class) {
-                        return Bytes.toFloat(bytes);
+                        return Float.intBitsToFloat(Bytes.toInt(bytes, offset, checkLength(length, Bytes.SIZEOF_FLOAT)));
                     } else if (type == Double.class) {
-                        return Bytes.toDouble(bytes);
+                        return Double.longBitsToDouble(Bytes.toLong(bytes, offset, checkLength(length, Bytes.SIZEOF_DOUBLE)));
                     } else if (type == BigDecimal.class) {
-                        return Bytes.toBigDecimal(bytes);
+                        return Bytes.toBigDecimal(bytes, offset, length);
                     } else if (type == Boolean.class) {
-                        return Bytes.toBoolean(bytes);
+                        if (length != 1) {
+                            throw new IllegalArgumentException("Array has wrong size: " + length);
+                        }
+                        return bytes[offset] != (byte) 0;
                     }
                 } catch (Exception e) {
                     throw new DeserializationException("Could not deserialize byte array into an object using HBase's native methods", e);
                 }
             }
         }
-        JavaType javaType = null;
+        ObjectReader reader = null;
         try {
-            javaType = objectMapper.constructType(type);
-            return objectMapper.readValue(bytes, javaType);
+            if (ValueCompressor.isCompressed(bytes, offset, length)) {
+                bytes = ValueCompressor.decompress(bytes, offset, length);
+                offset = 0;
+                length = bytes.length;
+            }
+            reader = isSmile(bytes, offset, length) ? getSmileReader(type) : getReader(type);
+            return reader.readValue(bytes, offset, length);
         } catch (Exception e) {
-            throw new DeserializationException(String.format("Could not deserialize JSON into an object of type %s using Jackson%n(Jackson resolved type = %s)", type, javaType), e);
+            throw new DeserializationException(String.format("Could not deserialize JSON into an object of type %s using Jackson%n(Jackson resolved type = %s)", type, reader == null ? null : reader.getValueType()), e);
+        }
+    }
+
+    /**
+     * Compiles a serializer/deserializer that skips the chain of type checks (and flag lookups) of this codec's methods:
+     * <ul>
+     * <li>for data types serialized using HBase's native methods, it's a dedicated object for that data type (and value of {@link #SERIALIZE_AS_STRING} flag)</li>
+     * <li>for other data types, it's an object that holds Jackson's reader for the type</li>
+     * </ul>
+     * If a subclass overrides any of the (de)serialization methods, this falls back to the default implementation (which invokes those methods).
+     */
+    @Override
+    public ValueCodec compile(Type type, Map<String, String> flags) {
+        if (!compilable) {
+            return Codec.super.compile(type, flags);
+        }
+        if (isOrderPreserving(type, flags)) {
+            return getOrderPreservingCodec(type);
+        }
+        ValueCodec nativeCodec = (isSerializeAsStringTrue(flags) ? NATIVE_STRING_FORM_CODECS : isFlagTrue(flags, SERIALIZE_AS_VARINT) ? VARINT_OR_NATIVE_CODECS : NATIVE_CODECS).get(type);
+        return nativeCodec != null ? nativeCodec : new JsonValueCodec(type, flags);
+    }
+
+    /**
+     * Compiled form of this codec for data types that are serialized to JSON
+     */
+    private final class JsonValueCodec implements ValueCodec {
+        private final Type type;
+        private final Map<String, String> flags;
+        private final ObjectReader reader, smileReader;
+        private final boolean smile;
+        private final int compressionThreshold;
+
+        JsonValueCodec(Type type, Map<String, String> flags) {
+            this.type = type;
+            this.flags = flags;
+            this.smile = isFlagTrue(flags, SERIALIZE_AS_SMILE);
+            this.compressionThreshold = getCompressionThreshold(flags);
+            ObjectReader reader, smileReader;
+            try {
+                reader = getReader(type);
+                smileReader = getSmileReader(type);
+            } catch (RuntimeException e) {
+                reader = smileReader = null; // failure is reported on deserialization (see below)
+            }
+            this.reader = reader;
+            this.smileReader = smileReader;
+        }
+
+        /*
+         * Declared type doesn't decide how a value is serialized here, since the value may be of any subtype (including ones serialized natively)
+         */
+        @Override
+        public byte[] serialize(Serializable object) throws SerializationException {
+            if (object == null) {
+                return null;
+            }
+            byte[] bytes = serializeNatively(object, flags);
+            return bytes != null ? bytes : toJson(object, smile, compressionThreshold);
+        }
+
+        @Override
+        public void serialize(Serializable object, ByteArrayBuffer buffer) throws SerializationException {
+            if (object == null) {
+                return;
+            }
+            byte[] bytes = serializeNatively(object, flags);
+            if (bytes != null) {
+                buffer.write(bytes, 0, bytes.length);
+            } else {
+                writeJson(object, smile, compressionThreshold, buffer);
+            }
+        }
+
+        @Override
+        public Serializable deserialize(byte[] bytes, int offset, int length) throws DeserializationException {
+            if (bytes == null) {
+                return null;
+            }
+            if (reader == null) {
+                return deserialize0(bytes, offset, length, type, flags);
+            }
+            ObjectReader reader = this.reader;
+            try {
+                if (ValueCompressor.isCompressed(bytes, offset, length)) {
+                    bytes = ValueCompressor.decompress(bytes, offset, length);
+                    offset = 0;
+                    length = bytes.length;
+                }
+                if (isSmile(bytes, offset, length)) {
+                    reader = smileReader;
+                }
+                return reader.readValue(bytes, offset, length);
+            } catch (Exception e) {
+                throw new DeserializationException(String.format("Could not deserialize JSON into an object of type %s using Jackson%n(Jackson resolved type = %s)", type, reader.getValueType()), e);
+            }
+        }
+    }
+
+    /**
+     * Compiled form of this codec for a data type that's serialized using HBase's native methods
+     */
+    private abstract static class NativeValueCodec implements ValueCodec {
+        private final String note;
+
+        NativeValueCodec(String note) {
+            this.note = note;
+        }
+
+        @Override
+        public byte[] serialize(Serializable object) throws SerializationException {
+            if (object == null) {
+                return null;
+            }
+            try {
+                return toBytes(object);
+            } catch (Exception e) {
+                throw new SerializationException(String.format("Could not serialize value of type %s using HBase's native methods", object.getClass().getName()), e);
+            }
+        }
+
+        @Override
+        public void serialize(Serializable object, ByteArrayBuffer buffer) throws SerializationException {
+            if (object == null) {
+                return;
+            }
+            try {
+                write(object, buffer);
+            } catch (Exception e) {
+                throw new SerializationException(String.format("Could not serialize value of type %s using HBase's native methods", object.getClass().getName()), e);
+            }
+        }
+
+        @Override
+        public Serializable deserialize(byte[] bytes, int offset, int length) throws DeserializationException {
+            if (bytes == null) {
+                return null;
+            }
+            try {
+                return read(bytes, offset, length);
+            } catch (Exception e) {
+                throw deserializationFailure(e);
+            }
+        }
+
+        DeserializationException deserializationFailure(Exception e) {
+            return new DeserializationException("Could not deserialize byte array into an object using HBase's native methods" + note, e);
         }
+
+        abstract byte[] toBytes(Serializable object);
+
+        /**
+         * Fixed-width types override this to write straight into the buffer (i.e. without an intermediate array)
+         */
+        void write(Serializable object, ByteArrayBuffer buffer) {
+            byte[] bytes = toBytes(object);
+            buffer.write(bytes, 0, bytes.length);
+        }
+
+        abstract Serializable read(byte[] bytes, int offset, int length);
+    }
+
+    /**
+     * Compiled form of this codec for a data type that's serialized using HBase's native methods, with {@link #SERIALIZE_AS_STRING} flag on
+     */
+    private static final class StringFormValueCodec extends NativeValueCodec {
+        private final Function<String, Serializable> parser;
+
+        StringFormValueCodec(Function<String, Serializable> parser) {
+            super(" (note: serialize as string is on)");
+            this.parser = parser;
+        }
+
+        @Override
+        byte[] toBytes(Serializable object) {
+            return Bytes.toBytes(String.valueOf(object));
+        }
+
+        @Override
+        Serializable read(byte[] bytes, int offset, int length) {
+            return parser.apply(Bytes.toString(bytes, offset, length));
+        }
+    }
+
+    /**
+     * Compiled form of this codec for an integral data type, with {@link #SERIALIZE_AS_VARINT} flag on
+     */
+    private static final class VarIntValueCodec extends NativeValueCodec {
+        private final long min, max;
+        private final LongFunction<Serializable> boxer;
+
+        VarIntValueCodec(long min, long max, LongFunction<Serializable> boxer) {
+            super(" (note: serialize as varint is on)");
+            this.min = min;
+            this.max = max;
+            this.boxer = boxer;
+        }
+
+        @Override
+        byte[] toBytes(Serializable object) {
+            return VarInts.toBytes(((Number) object).longValue());
+        }
+
+        @Override
+        void write(Serializable object, ByteArrayBuffer buffer) {
+            VarInts.write(((Number) object).longValue(), buffer);
+        }
+
+        @Override
+        Serializable read(byte[] bytes, int offset, int length) {
+            return boxer.apply(VarInts.read(bytes, offset, length, min, max));
+        }
+
+        @Override
+        public void serializeInt(int value, ByteArrayBuffer buffer) {
+            VarInts.write(value, buffer);
+        }
+
+        @Override
+        public void serializeLong(long value, ByteArrayBuffer buffer) {
+            VarInts.write(value, buffer);
+        }
+
+        @Override
+        public int deserializeInt(byte[] bytes, int offset, int length) throws DeserializationException {
+            try {
+                return (int) VarInts.read(bytes, offset, length, min, max);
+            } catch (RuntimeException e) {
+                throw deserializationFailure(e);
+            }
+        }
+
+        @Override
+        public long deserializeLong(byte[] bytes, int offset, int length) throws DeserializationException {
+            try {
+                return VarInts.read(bytes, offset, length, min, max);
+            } catch (RuntimeException e) {
+                throw deserializationFailure(e);
+            }
+        }
+    }
+
+    private static final Map<Type, ValueCodec> NATIVE_CODECS = new HashMap<>(), NATIVE_STRING_FORM_CODECS = new HashMap<>(),
+            VARINT_CODECS = new HashMap<>(), VARINT_OR_NATIVE_CODECS = new HashMap<>();
+
+    static {
+        NATIVE_CODECS.put(String.class, new NativeValueCodec("") {
+            @Override
+            byte[] toBytes(Serializable object) {
+                return Bytes.toBytes((String) object);
+            }
+
+            @Override
+            Serializable read(byte[] bytes, int offset, int length) {
+                return Bytes.toString(bytes, offset, length);
+            }
+        });
+        NATIVE_CODECS.put(Integer.class, new NativeValueCodec("") {
+            @Override
+            byte[] toBytes(Serializable object) {
+                return Bytes.toBytes((int) object);
+            }
+
+            @Override
+            void write(Serializable object, ByteArrayBuffer buffer) {
+                buffer.writeInt((int) object);
+            }
+
+            @Override
+            Serializable read(byte[] bytes, int offset, int length) {
+                return Bytes.toInt(bytes, offset, checkLength(length, Bytes.SIZEOF_INT));
+            }
+
+            @Override
+            public void serializeInt(int value, ByteArrayBuffer buffer) {
+                buffer.writeInt(value);
+            }
+
+            @Override
+            public int deserializeInt(byte[] bytes, int offset, int length) throws DeserializationException {
+                try {
+                    return Bytes.toInt(bytes, offset, checkLength(length, Bytes.SIZEOF_INT));
+                } catch (RuntimeException e) {
+                    throw deserializationFailure(e);
+                }
+            }
+        });
+        NATIVE_CODECS.put(Short.class, new NativeValueCodec("") {
+            @Override
+            byte[] toBytes(Serializable object) {
+                return Bytes.toBytes((short) object);
+            }
+
+            @Override
+            void write(Serializable object, ByteArrayBuffer buffer) {
+                buffer.writeShort((short) object);
+            }
+
+            @Override
+            Serializable read(byte[] bytes, int offset, int length) {
+                return Bytes.toShort(bytes, offset, checkLength(length, Bytes.SIZEOF_SHORT));
+            }
+        });
+        NATIVE_CODECS.put(Long.class, new NativeValueCodec("") {
+            @Override
+            byte[] toBytes(Serializable object) {
+                return Bytes.toBytes((long) object);
+            }
+
+            @Override
+            void write(Serializable object, ByteArrayBuffer buffer) {
+                buffer.writeLong((long) object);
+            }
+
+            @Override
+            Serializable read(byte[] bytes, int offset, int length) {
+                return Bytes.toLong(bytes, offset, checkLength(length, Bytes.SIZEOF_LONG));
+            }
+
+            @Override
+            public void serializeLong(long value, ByteArrayBuffer buffer) {
+                buffer.writeLong(value);
+            }
+
+            @Override
+            public long deserializeLong(byte[] bytes, int offset, int length) throws DeserializationException {
+                try {
+                    return Bytes.toLong(bytes, offset, checkLength(length, Bytes.SIZEOF_LONG));
+                } catch (RuntimeException e) {
+                    throw deserializationFailure(e);
+                }
+            }
+        });
+        NATIVE_CODECS.put(Float.class, new NativeValueCodec("") {
+            @Override
+            byte[] toBytes(Serializable object) {
+                return Bytes.toBytes((float) object);
+            }
+
+            @Override
+            void write(Serializable object, ByteArrayBuffer buffer) {
+                buffer.writeInt(Float.floatToRawIntBits((float) object));
+            }
+
+            @Override
+            Serializable read(byte[] bytes, int offset, int length) {
+                return Float.intBitsToFloat(Bytes.toInt(bytes, offset, checkLength(length, Bytes.SIZEOF_FLOAT)));
+            }
+        });
+        NATIVE_CODECS.put(Double.class, new NativeValueCodec("") {
+            @Override
+            byte[] toBytes(Serializable object) {
+                return Bytes.toBytes((double) object);
+            }
+
+            @Override
+            void write(Serializable object, ByteArrayBuffer buffer) {
+                buffer.writeLong(Double.doubleToRawLongBits((double) object));
+            }
+
+            @Override
+            Serializable read(byte[] bytes, int offset, int length) {
+                return Double.longBitsToDouble(Bytes.toLong(bytes, offset, checkLength(length, Bytes.SIZEOF_DOUBLE)));
+            }
+
+            @Override
+            public void serializeDouble(double value, ByteArrayBuffer buffer) {
+                buffer.writeLong(Double.doubleToRawLongBits(value));
+            }
+
+            @Override
+            public double deserializeDouble(byte[] bytes, int offset, int length) throws DeserializationException {
+                try {
+                    return Double.longBitsToDouble(Bytes.toLong(bytes, offset, checkLength(length, Bytes.SIZEOF_DOUBLE)));
+                } catch (RuntimeException e) {
+                    throw deserializationFailure(e);
+                }
+            }
+        });
+        NATIVE_CODECS.put(BigDecimal.class, new NativeValueCodec("") {
+            @Override
+            byte[] toBytes(Serializable object) {
+                return Bytes.toBytes((BigDecimal) object);
+            }
+
+            @Override
+            Serializable read(byte[] bytes, int offset, int length) {
+                return Bytes.toBigDecimal(bytes, offset, length);
+            }
+        });
+        NATIVE_CODECS.put(Boolean.class, new NativeValueCodec("") {
+            @Override
+            byte[] toBytes(Serializable object) {
+                return Bytes.toBytes((boolean) object);
+            }
+
+            @Override
+            void write(Serializable object, ByteArrayBuffer buffer) {
+                buffer.write((boolean) object ? -1 : 0);
+            }
+
+            @Override
+            Serializable read(byte[] bytes, int offset, int length) {
+                return toBoolean(bytes, offset, length);
+            }
+
+            @Override
+            public void serializeBoolean(boolean value, ByteArrayBuffer buffer) {
+                buffer.write(value ? -1 : 0);
+            }
+
+            @Override
+            public boolean deserializeBoolean(byte[] bytes, int offset, int length) throws DeserializationException {
+                try {
+                    return toBoolean(bytes, offset, length);
+                } catch (RuntimeException e) {
+                    throw deserializationFailure(e);
+                }
+            }
+
+            private boolean toBoolean(byte[] bytes, int offset, int length) {
+                if (length != 1) {
+                    throw new IllegalArgumentException("Array has wrong size: " + length);
+                }
+                return bytes[offset] != (byte) 0;
+            }
+        });
+        // String isn't here: with serializeAsString on, strings are deserialized through Jackson (i.e. as JSON), as they always have been
+        NATIVE_STRING_FORM_CODECS.put(Integer.class, new StringFormValueCodec(Integer::valueOf));
+        NATIVE_STRING_FORM_CODECS.put(Short.class, new StringFormValueCodec(Short::valueOf));
+        NATIVE_STRING_FORM_CODECS.put(Long.class, new StringFormValueCodec(Long::valueOf));
+        NATIVE_STRING_FORM_CODECS.put(Float.class, new StringFormValueCodec(Float::valueOf));
+        NATIVE_STRING_FORM_CODECS.put(Double.class, new StringFormValueCodec(Double::valueOf));
+        NATIVE_STRING_FORM_CODECS.put(BigDecimal.class, new StringFormValueCodec(BigDecimal::new));
+        NATIVE_STRING_FORM_CODECS.put(Boolean.class, new StringFormValueCodec(Boolean::valueOf));
+        VARINT_CODECS.put(Short.class, new VarIntValueCodec(Short.MIN_VALUE, Short.MAX_VALUE, value -> (short) value));
+        VARINT_CODECS.put(Integer.class, new VarIntValueCodec(Integer.MIN_VALUE, Integer.MAX_VALUE, value -> (int) value));
+        VARINT_CODECS.put(Long.class, new VarIntValueCodec(Long.MIN_VALUE, Long.MAX_VALUE, value -> value));
+        VARINT_OR_NATIVE_CODECS.putAll(NATIVE_CODECS);
+        VARINT_OR_NATIVE_CODECS.putAll(VARINT_CODECS);
+    }
+
+    /**
+     * HBase's fixed-width decoders read those many bytes from start of value (and ignore the rest), but shouldn't read beyond value
+     */
+    private static int checkLength(int length, int width) {
+        if (length < width) {
+            throw new IllegalArgumentException(String.format("Value is %d byte(s) long, whereas at least %d byte(s) were expected", length, width));
+        }
+        return width;
     }
 
     /*
@@ -168,11 +801,102 @@ public class BestSuitCodec implements Codec {
      */
     @Override
     public boolean canDeserialize(Type type) {
-        JavaType javaType = objectMapper.constructType(type);
-        return objectMapper.canDeserialize(javaType);
+        Boolean canDeserialize = deserializableTypes.get(type);
+        if (canDeserialize == null) {
+            canDeserialize = objectMapper.canDeserialize(objectMapper.constructType(type));
+            deserializableTypes.putIfAbsent(type, canDeserialize);
+        }
+        return canDeserialize;
+    }
+
+    private ObjectReader getReader(Type type) {
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            reader = objectMapper.readerFor(objectMapper.constructType(type));
+            ObjectReader existingReader = readers.putIfAbsent(type, reader);
+            if (existingReader != null) {
+                reader = existingReader;
+            }
+        }
+        return reader;
+    }
+
+    private ObjectReader getSmileReader(Type type) {
+        ObjectReader reader = smileReaders.get(type);
+        if (reader == null) {
+            reader = getReader(type).with(smileFactory);
+            ObjectReader existingReader = smileReaders.putIfAbsent(type, reader);
+            if (existingReader != null) {
+                reader = existingReader;
+            }
+        }
+        return reader;
+    }
+
+    /**
+     * @return Whether values of this type are to be encoded in an order-preserving manner (flag is set or it's a composite of annotated components)
+     */
+    private boolean isOrderPreserving(Type type, Map<String, String> flags) {
+        return isFlagTrue(flags, ORDER_PRESERVING) || (type instanceof Class && annotatedComposites.get((Class<?>) type));
+    }
+
+    /**
+     * @throws IllegalArgumentException If values of this type can't be encoded in an order-preserving manner
+     */
+    private ValueCodec getOrderPreservingCodec(Type type) {
+        if (!(type instanceof Class)) {
+            throw new IllegalArgumentException(String.format("Type %s isn't supported by order-preserving encoding", type));
+        }
+        return orderPreservingCodecs.get((Class<?>) type);
+    }
+
+    private ValueCodec getOrderPreservingSerializer(Class<?> clazz) throws SerializationException {
+        try {
+            return orderPreservingCodecs.get(clazz);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return Size above which serialized values are to be compressed (negative, if {@link #COMPRESS} flag isn't "true")
+     * @throws IllegalArgumentException If value of {@link #COMPRESSION_THRESHOLD} flag isn't a non-negative integer
+     */
+    private static int getCompressionThreshold(Map<String, String> flags) {
+        if (!isFlagTrue(flags, COMPRESS)) {
+            return -1;
+        }
+        String threshold = flags.get(COMPRESSION_THRESHOLD);
+        if (threshold == null) {
+            return DEFAULT_COMPRESSION_THRESHOLD;
+        }
+        try {
+            int value = Integer.parseInt(threshold.trim());
+            if (value >= 0) {
+                return value;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException(String.format("Value of flag '%s' must be a non-negative integer (found '%s')", COMPRESSION_THRESHOLD, threshold));
+    }
+
+    private static boolean isSmile(byte[] bytes, int offset, int length) {
+        if (length < SMILE_HEADER.length) {
+            return false;
+        }
+        for (int i = 0; i < SMILE_HEADER.length; i++) {
+            if (bytes[offset + i] != SMILE_HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private static boolean isSerializeAsStringTrue(Map<String, String> flags) {
-        return flags != null && flags.get(SERIALIZE_AS_STRING) != null && flags.get(SERIALIZE_AS_STRING).equalsIgnoreCase("true");
+        return isFlagTrue(flags, SERIALIZE_AS_STRING);
+    }
+
+    private static boolean isFlagTrue(Map<String, String> flags, String flag) {
+        return flags != null && flags.get(flag) != null && flags.get(flag).equalsIgnoreCase("true");
     }
 }
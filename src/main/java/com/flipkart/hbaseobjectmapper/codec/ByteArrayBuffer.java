@@ -0,0 +1,141 @@
+package com.flipkart.hbaseobjectmapper.codec;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A growable buffer into which a {@link Codec} can serialize values (see {@link Codec#serialize(java.io.Serializable, java.util.Map, ByteArrayBuffer)})
+ * <p>
+ * Unlike {@link java.io.ByteArrayOutputStream}, this class isn't synchronized and lets its contents be read without copying
+ * (see {@link #toByteBuffer()}). Closing this buffer has no effect.
+ * <p>
+ * <b>This class is not thread-safe.</b>
+ *
+ * @see Codec#serialize(java.io.Serializable, java.util.Map, ByteArrayBuffer)
+ */
+public final class ByteArrayBuffer extends OutputStream {
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private byte[] buf;
+    private int count;
+
+    /**
+     * Construct a buffer with specified initial capacity
+     *
+     * @param initialCapacity Initial capacity (in bytes)
+     */
+    public ByteArrayBuffer(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity can't be negative: " + initialCapacity);
+        }
+        this.buf = new byte[initialCapacity];
+    }
+
+    /**
+     * Construct a buffer with an initial capacity of 256 bytes
+     */
+    public ByteArrayBuffer() {
+        this(256);
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_ARRAY_SIZE) {
+            throw new OutOfMemoryError("Required buffer size is too large");
+        }
+        if (minCapacity > buf.length) {
+            int newCapacity = Math.max(buf.length << 1, minCapacity);
+            buf = Arrays.copyOf(buf, newCapacity < 0 || newCapacity > MAX_ARRAY_SIZE ? MAX_ARRAY_SIZE : newCapacity);
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        if (off < 0 || len < 0 || off > b.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buf, count, len);
+        count += len;
+    }
+
+    /**
+     * Writes a <code>short</code> in big-endian byte order (same as {@link org.apache.hadoop.hbase.util.Bytes#toBytes(short)})
+     */
+    void writeShort(short value) {
+        ensureCapacity(count + 2);
+        buf[count++] = (byte) (value >>> 8);
+        buf[count++] = (byte) value;
+    }
+
+    /**
+     * Writes an <code>int</code> in big-endian byte order (same as {@link org.apache.hadoop.hbase.util.Bytes#toBytes(int)})
+     */
+    void writeInt(int value) {
+        ensureCapacity(count + 4);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            buf[count++] = (byte) (value >>> shift);
+        }
+    }
+
+    /**
+     * Writes a <code>long</code> in big-endian byte order (same as {@link org.apache.hadoop.hbase.util.Bytes#toBytes(long)})
+     */
+    void writeLong(long value) {
+        ensureCapacity(count + 8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buf[count++] = (byte) (value >>> shift);
+        }
+    }
+
+    /**
+     * @return Number of bytes written to this buffer (since it was constructed or last reset)
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return Number of bytes this buffer can hold without growing
+     */
+    public int capacity() {
+        return buf.length;
+    }
+
+    /**
+     * Discards contents of this buffer (capacity is retained)
+     */
+    public void reset() {
+        count = 0;
+    }
+
+    /**
+     * Discards contents of this buffer beyond the specified size
+     */
+    void truncate(int size) {
+        if (size < 0 || size > count) {
+            throw new IndexOutOfBoundsException("Can't truncate a buffer of size " + count + " to " + size);
+        }
+        count = size;
+    }
+
+    /**
+     * @return A copy of contents of this buffer
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, count);
+    }
+
+    /**
+     * @return A {@link ByteBuffer} that wraps (<b>not</b> copies) contents of this buffer. This is valid only until this buffer is written to or reset.
+     */
+    public ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(buf, 0, count);
+    }
+}
@@ -7,10 +7,16 @@ import com.flipkart.hbaseobjectmapper.codec.exceptions.SerializationException;
 
 import java.io.Serializable;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Map;
 
 /**
  * Interface that defines serialization and deserialization behavior for {@link HBObjectMapper HBObjectMapper}
+ * <p>
+ * Besides the mandatory <code>byte[]</code> based methods, this interface has methods that (de)serialize directly from/to slices of
+ * larger arrays, {@link ByteBuffer}s and {@link ByteArrayBuffer}s. These have default implementations that adapt to the <code>byte[]</code>
+ * based methods (by copying), which a codec may override to avoid those copies.
  */
 public interface Codec {
     /**
@@ -37,6 +43,84 @@ public interface Codec {
      */
     Serializable deserialize(byte[] bytes, Type type, Map<String, String> flags) throws DeserializationException;
 
+    /**
+     * Serializes object into a (caller-supplied) buffer
+     * <p>
+     * The default implementation writes output of {@link #serialize(Serializable, Map)} into the buffer.
+     *
+     * @param object Object to be serialized
+     * @param flags  Flags for tuning serialization behavior (Implementations of this method are expected to handle <code>null</code> and <code>empty map</code> in the same way)
+     * @param buffer Buffer to which serialized form of object is to be appended. Nothing is appended if object serializes to <code>null</code>.
+     * @throws SerializationException If serialization fails
+     * @see #serialize(Serializable, Map)
+     */
+    default void serialize(Serializable object, Map<String, String> flags, ByteArrayBuffer buffer) throws SerializationException {
+        byte[] bytes = serialize(object, flags);
+        if (bytes != null) {
+            buffer.write(bytes, 0, bytes.length);
+        }
+    }
+
+    /**
+     * Deserialize a slice of <code>byte[]</code> into an object
+     * <p>
+     * The default implementation copies the slice (unless it spans the entire array) and invokes {@link #deserialize(byte[], Type, Map)}.
+     *
+     * @param bytes  byte array, a slice of which needs to be deserialized
+     * @param offset offset of slice in the byte array
+     * @param length length of slice
+     * @param type   Java type to which this slice needs to be deserialized to
+     * @param flags  Flags for tuning deserialization behavior  (Implementations of this method are expected to handle <code>null</code> and <code>empty map</code> in the same way)
+     * @return The object
+     * @throws DeserializationException If deserialization fails
+     * @see #deserialize(byte[], Type, Map)
+     */
+    default Serializable deserialize(byte[] bytes, int offset, int length, Type type, Map<String, String> flags) throws DeserializationException {
+        if (bytes == null || (offset == 0 && length == bytes.length)) {
+            return deserialize(bytes, type, flags);
+        }
+        return deserialize(Arrays.copyOfRange(bytes, offset, offset + length), type, flags);
+    }
+
+    /**
+     * Deserialize remaining contents of a {@link ByteBuffer} into an object (position of the buffer is not changed)
+     * <p>
+     * The default implementation invokes {@link #deserialize(byte[], int, int, Type, Map)} on the backing array (or a copy of buffer's contents, if buffer isn't backed by an accessible array).
+     *
+     * @param buffer buffer that needs to be deserialized
+     * @param type   Java type to which this buffer needs to be deserialized to
+     * @param flags  Flags for tuning deserialization behavior  (Implementations of this method are expected to handle <code>null</code> and <code>empty map</code> in the same way)
+     * @return The object
+     * @throws DeserializationException If deserialization fails
+     * @see #deserialize(byte[], Type, Map)
+     */
+    default Serializable deserialize(ByteBuffer buffer, Type type, Map<String, String> flags) throws DeserializationException {
+        if (buffer == null) {
+            return deserialize((byte[]) null, type, flags);
+        }
+        if (buffer.hasArray()) {
+            return deserialize(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), type, flags);
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return deserialize(bytes, type, flags);
+    }
+
+    /**
+     * Compiles a serializer/deserializer dedicated to values of a specific type with a specific set of flags
+     * <p>
+     * {@link HBObjectMapper HBObjectMapper} invokes this once per field (and row key) of an entity class and uses the returned object
+     * for every value of that field. The default implementation just passes the type and flags on to methods of this codec. A codec
+     * may override this to resolve, upfront, whatever depends only on type and flags.
+     *
+     * @param type  Java type of values
+     * @param flags Flags for tuning serialization and deserialization behavior (Implementations of this method are expected to handle <code>null</code> and <code>empty map</code> in the same way)
+     * @return Serializer/deserializer, which should behave same as the corresponding methods of this codec (for the given type and flags)
+     */
+    default ValueCodec compile(Type type, Map<String, String> flags) {
+        return new DelegatingValueCodec(this, type, flags);
+    }
+
     /**
      * Check whether a specific type can be deserialized using this codec
      *
@@ -0,0 +1,402 @@
+package com.flipkart.hbaseobjectmapper.codec;
+
+import com.flipkart.hbaseobjectmapper.FieldAccessor;
+import com.flipkart.hbaseobjectmapper.HBRowKeyComponent;
+import com.flipkart.hbaseobjectmapper.codec.exceptions.DeserializationException;
+import com.flipkart.hbaseobjectmapper.codec.exceptions.SerializationException;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order-preserving encodings of values, for internal use only (see {@link BestSuitCodec#ORDER_PRESERVING})
+ * <p>
+ * Values are encoded such that comparing their encoded forms byte-by-byte (which is how HBase sorts row keys) gives the
+ * same result as comparing the values themselves:
+ * <ul>
+ * <li>{@link Short}, {@link Integer} and {@link Long} are stored big-endian (in 2, 4 and 8 bytes), with sign bit flipped (so that negative numbers sort before positive ones)</li>
+ * <li>{@link Float} and {@link Double} are stored as their IEEE 754 bits, with sign bit flipped for positive numbers and all bits flipped for negative ones</li>
+ * <li>{@link Boolean} is stored as a single byte (<code>0</code> or <code>1</code>)</li>
+ * <li>{@link String} is stored as UTF-8 bytes. When followed by other components (see below), a <code>0x00</code> byte is escaped as <code>0x00 0x01</code> and the string is terminated by <code>0x00 0x00</code>.</li>
+ * </ul>
+ * A value of any other class is treated as a composite of its fields annotated with {@link HBRowKeyComponent} (including those inherited from
+ * its super classes), which are encoded one after another, in the order specified by the annotation. The order is required to be explicit since
+ * it decides the layout of stored row keys, whereas the order in which fields are declared isn't guaranteed to be preserved (by reflection) nor
+ * to be kept stable (when a class is edited). Such fields must be of one of the above types (or their primitive equivalents) and such a class must
+ * have an empty constructor. Since last component is never terminated, a prefix of a component-wise encoded key is also a prefix of keys
+ * that start with the same components (i.e. prefix scans work).
+ */
+final class OrderPreservingCodecs {
+    private static final Map<Class<?>, Encoding> ENCODINGS = new HashMap<>();
+
+    private OrderPreservingCodecs() {
+    }
+
+    /**
+     * @throws IllegalArgumentException If values of this class can't be encoded in an order-preserving manner
+     */
+    static ValueCodec forClass(Class<?> clazz) {
+        Encoding encoding = ENCODINGS.get(clazz);
+        if (encoding != null) {
+            return new ScalarCodec(encoding);
+        }
+        return new CompositeCodec(clazz);
+    }
+
+    /**
+     * @return Whether any field of this class (or its super classes) is annotated with {@link HBRowKeyComponent}
+     */
+    static boolean hasAnnotatedComponents(Class<?> clazz) {
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.isAnnotationPresent(HBRowKeyComponent.class)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Fields of this class (and its super classes) that are components of its encoded form, in the order they're to be encoded
+     * @throws IllegalArgumentException If no field is annotated with {@link HBRowKeyComponent} or if two of them have the same order
+     */
+    private static List<Field> getComponentFields(Class<?> clazz) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!field.isAnnotationPresent(HBRowKeyComponent.class)) {
+                    continue;
+                }
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+                    throw new IllegalArgumentException(String.format("Field '%s' of class %s is static or transient, and hence can't be annotated with %s", field.getName(), c.getName(), HBRowKeyComponent.class.getSimpleName()));
+                }
+                fields.add(field);
+            }
+        }
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException(String.format("Class %s isn't supported by order-preserving encoding (it's neither a supported type nor a class whose fields are annotated with @%s(order = ...))", clazz.getName(), HBRowKeyComponent.class.getSimpleName()));
+        }
+        fields.sort(Comparator.comparingInt(field -> field.getAnnotation(HBRowKeyComponent.class).order()));
+        for (int i = 1; i < fields.size(); i++) {
+            if (fields.get(i).getAnnotation(HBRowKeyComponent.class).order() == fields.get(i - 1).getAnnotation(HBRowKeyComponent.class).order()) {
+                throw new IllegalArgumentException(String.format("Fields '%s' and '%s' of class %s have same order on their %s annotations", fields.get(i - 1).getName(), fields.get(i).getName(), clazz.getName(), HBRowKeyComponent.class.getSimpleName()));
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Encoding of a single component
+     */
+    private interface Encoding {
+        /**
+         * @param last Whether this component is the last one (which needn't be delimited)
+         */
+        void write(Object value, ByteArrayBuffer out, boolean last);
+
+        Object read(Reader in, boolean last);
+    }
+
+    /**
+     * Cursor over an encoded value
+     */
+    private static final class Reader {
+        private final byte[] bytes;
+        private final int end;
+        private int position;
+
+        Reader(byte[] bytes, int offset, int length) {
+            this.bytes = bytes;
+            this.position = offset;
+            this.end = offset + length;
+        }
+
+        long readFixedWidth(int width) {
+            if (end - position < width) {
+                throw new IllegalArgumentException(String.format("Expected %d more byte(s) in encoded value, but found only %d", width, end - position));
+            }
+            long value = 0;
+            for (int i = 0; i < width; i++) {
+                value = (value << 8) | (bytes[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        void checkFullyRead() {
+            if (position != end) {
+                throw new IllegalArgumentException(String.format("Encoded value has %d unexpected trailing byte(s)", end - position));
+            }
+        }
+    }
+
+    private static void writeFixedWidth(long value, int width, ByteArrayBuffer out) {
+        for (int shift = (width - 1) * 8; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    static {
+        Encoding shortEncoding = new Encoding() {
+            @Override
+            public void write(Object value, ByteArrayBuffer out, boolean last) {
+                writeFixedWidth((Short) value ^ Short.MIN_VALUE, 2, out);
+            }
+
+            @Override
+            public Object read(Reader in, boolean last) {
+                return (short) (in.readFixedWidth(2) ^ Short.MIN_VALUE);
+            }
+        };
+        Encoding intEncoding = new Encoding() {
+            @Override
+            public void write(Object value, ByteArrayBuffer out, boolean last) {
+                writeFixedWidth((Integer) value ^ Integer.MIN_VALUE, 4, out);
+            }
+
+            @Override
+            public Object read(Reader in, boolean last) {
+                return (int) in.readFixedWidth(4) ^ Integer.MIN_VALUE;
+            }
+        };
+        Encoding longEncoding = new Encoding() {
+            @Override
+            public void write(Object value, ByteArrayBuffer out, boolean last) {
+                writeFixedWidth((Long) value ^ Long.MIN_VALUE, 8, out);
+            }
+
+            @Override
+            public Object read(Reader in, boolean last) {
+                return in.readFixedWidth(8) ^ Long.MIN_VALUE;
+            }
+        };
+        Encoding floatEncoding = new Encoding() {
+            @Override
+            public void write(Object value, ByteArrayBuffer out, boolean last) {
+                int bits = Float.floatToIntBits((Float) value);
+                writeFixedWidth(bits ^ ((bits >> 31) | Integer.MIN_VALUE), 4, out);
+            }
+
+            @Override
+            public Object read(Reader in, boolean last) {
+                int bits = (int) in.readFixedWidth(4);
+                return Float.intBitsToFloat(bits ^ ((~bits >> 31) | Integer.MIN_VALUE));
+            }
+        };
+        Encoding doubleEncoding = new Encoding() {
+            @Override
+            public void write(Object value, ByteArrayBuffer out, boolean last) {
+                long bits = Double.doubleToLongBits((Double) value);
+                writeFixedWidth(bits ^ ((bits >> 63) | Long.MIN_VALUE), 8, out);
+            }
+
+            @Override
+            public Object read(Reader in, boolean last) {
+                long bits = in.readFixedWidth(8);
+                return Double.longBitsToDouble(bits ^ ((~bits >> 63) | Long.MIN_VALUE));
+            }
+        };
+        Encoding booleanEncoding = new Encoding() {
+            @Override
+            public void write(Object value, ByteArrayBuffer out, boolean last) {
+                out.write((Boolean) value ? 1 : 0);
+            }
+
+            @Override
+            public Object read(Reader in, boolean last) {
+                long value = in.readFixedWidth(1);
+                if (value > 1) {
+                    throw new IllegalArgumentException("Invalid encoded boolean: " + value);
+                }
+                return value == 1;
+            }
+        };
+        Encoding stringEncoding = new Encoding() {
+            @Override
+            public void write(Object value, ByteArrayBuffer out, boolean last) {
+                byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                if (last) {
+                    out.write(bytes, 0, bytes.length);
+                    return;
+                }
+                for (byte b : bytes) {
+                    out.write(b);
+                    if (b == 0) {
+                        out.write(1);
+                    }
+                }
+                out.write(0);
+                out.write(0);
+            }
+
+            @Override
+            public Object read(Reader in, boolean last) {
+                if (last) {
+                    String value = new String(in.bytes, in.position, in.end - in.position, StandardCharsets.UTF_8);
+                    in.position = in.end;
+                    return value;
+                }
+                ByteArrayBuffer decoded = new ByteArrayBuffer(in.end - in.position);
+                while (in.position < in.end) {
+                    byte b = in.bytes[in.position++];
+                    if (b != 0) {
+                        decoded.write(b);
+                        continue;
+                    }
+                    if (in.position == in.end) {
+                        break;
+                    }
+                    byte next = in.bytes[in.position++];
+                    if (next == 0) {
+                        return new String(decoded.toByteBuffer().array(), 0, decoded.size(), StandardCharsets.UTF_8);
+                    } else if (next == 1) {
+                        decoded.write(0);
+                    } else {
+                        throw new IllegalArgumentException("Invalid escape sequence in encoded string");
+                    }
+                }
+                throw new IllegalArgumentException("Encoded string isn't terminated");
+            }
+        };
+        ENCODINGS.put(Short.class, shortEncoding);
+        ENCODINGS.put(short.class, shortEncoding);
+        ENCODINGS.put(Integer.class, intEncoding);
+        ENCODINGS.put(int.class, intEncoding);
+        ENCODINGS.put(Long.class, longEncoding);
+        ENCODINGS.put(long.class, longEncoding);
+        ENCODINGS.put(Float.class, floatEncoding);
+        ENCODINGS.put(float.class, floatEncoding);
+        ENCODINGS.put(Double.class, doubleEncoding);
+        ENCODINGS.put(double.class, doubleEncoding);
+        ENCODINGS.put(Boolean.class, booleanEncoding);
+        ENCODINGS.put(boolean.class, booleanEncoding);
+        ENCODINGS.put(String.class, stringEncoding);
+    }
+
+    private abstract static class OrderPreservingCodec implements ValueCodec {
+        @Override
+        public byte[] serialize(Serializable object) throws SerializationException {
+            if (object == null) {
+                return null;
+            }
+            ByteArrayBuffer buffer = new ByteArrayBuffer(16);
+            serialize(object, buffer);
+            return buffer.toByteArray();
+        }
+
+        @Override
+        public void serialize(Serializable object, ByteArrayBuffer buffer) throws SerializationException {
+            if (object == null) {
+                return;
+            }
+            try {
+                write(object, buffer);
+            } catch (Exception e) {
+                throw new SerializationException(String.format("Could not serialize value of type %s using order-preserving encoding", object.getClass().getName()), e);
+            }
+        }
+
+        @Override
+        public Serializable deserialize(byte[] bytes, int offset, int length) throws DeserializationException {
+            if (bytes == null) {
+                return null;
+            }
+            try {
+                Reader in = new Reader(bytes, offset, length);
+                Serializable value = read(in);
+                in.checkFullyRead();
+                return value;
+            } catch (Exception e) {
+                throw new DeserializationException("Could not deserialize byte array into an object using order-preserving encoding", e);
+            }
+        }
+
+        abstract void write(Serializable object, ByteArrayBuffer out) throws ReflectiveOperationException;
+
+        abstract Serializable read(Reader in) throws ReflectiveOperationException;
+    }
+
+    private static final class ScalarCodec extends OrderPreservingCodec {
+        private final Encoding encoding;
+
+        ScalarCodec(Encoding encoding) {
+            this.encoding = encoding;
+        }
+
+        @Override
+        void write(Serializable object, ByteArrayBuffer out) {
+            encoding.write(object, out, true);
+        }
+
+        @Override
+        Serializable read(Reader in) {
+            return (Serializable) encoding.read(in, true);
+        }
+    }
+
+    private static final class CompositeCodec extends OrderPreservingCodec {
+        private final MethodHandle constructor;
+        private final FieldAccessor[] accessors;
+        private final Encoding[] encodings;
+
+        CompositeCodec(Class<?> clazz) {
+            List<FieldAccessor> accessors = new ArrayList<>();
+            List<Encoding> encodings = new ArrayList<>();
+            for (Field field : getComponentFields(clazz)) {
+                Encoding encoding = ENCODINGS.get(field.getType());
+                if (encoding == null) {
+                    throw new IllegalArgumentException(String.format("Field '%s' of class %s is of type %s, which isn't supported by order-preserving encoding", field.getName(), clazz.getName(), field.getType().getName()));
+                }
+                accessors.add(new FieldAccessor(field));
+                encodings.add(encoding);
+            }
+            try {
+                Constructor<?> constructor = clazz.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                this.constructor = MethodHandles.lookup().unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new IllegalArgumentException(String.format("Class %s needs an (accessible) empty constructor to be deserialized using order-preserving encoding", clazz.getName()), e);
+            }
+            this.accessors = accessors.toArray(new FieldAccessor[0]);
+            this.encodings = encodings.toArray(new Encoding[0]);
+        }
+
+        @Override
+        void write(Serializable object, ByteArrayBuffer out) {
+            for (int i = 0; i < accessors.length; i++) {
+                Object value = accessors[i].get(object);
+                if (value == null) {
+                    throw new IllegalArgumentException(String.format("Field '%s' is null (components of an order-preserving key can't be null)", accessors[i].getField().getName()));
+                }
+                encodings[i].write(value, out, i == accessors.length - 1);
+            }
+        }
+
+        @Override
+        Serializable read(Reader in) {
+            final Object object;
+            try {
+                object = (Object) constructor.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Could not instantiate composite row key", t);
+            }
+            for (int i = 0; i < accessors.length; i++) {
+                accessors[i].set(object, encodings[i].read(in, i == accessors.length - 1));
+            }
+            return (Serializable) object;
+        }
+    }
+}
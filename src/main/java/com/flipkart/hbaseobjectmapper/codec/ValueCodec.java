@@ -0,0 +1,165 @@
+package com.flipkart.hbaseobjectmapper.codec;
+
+import com.flipkart.hbaseobjectmapper.codec.exceptions.DeserializationException;
+import com.flipkart.hbaseobjectmapper.codec.exceptions.SerializationException;
+
+import java.io.Serializable;
+
+/**
+ * Serializer and deserializer for values of one Java type with one set of flags, as compiled by {@link Codec#compile(java.lang.reflect.Type, java.util.Map)}
+ * <p>
+ * {@link com.flipkart.hbaseobjectmapper.HBObjectMapper HBObjectMapper} compiles one of these per field (and one for row key) of an
+ * entity class, so that type and flags needn't be resolved again for every value. Implementations must be thread-safe.
+ *
+ * @see Codec#compile(java.lang.reflect.Type, java.util.Map)
+ */
+public interface ValueCodec {
+    /**
+     * Serializes object to a <code>byte[]</code>
+     *
+     * @param object Object to be serialized
+     * @return byte array (<code>null</code> if object is <code>null</code>)
+     * @throws SerializationException If serialization fails
+     * @see Codec#serialize(Serializable, java.util.Map)
+     */
+    byte[] serialize(Serializable object) throws SerializationException;
+
+    /**
+     * Serializes object into a (caller-supplied) buffer
+     *
+     * @param object Object to be serialized
+     * @param buffer Buffer to which serialized form of object is to be appended. Nothing is appended if object serializes to <code>null</code>.
+     * @throws SerializationException If serialization fails
+     * @see Codec#serialize(Serializable, java.util.Map, ByteArrayBuffer)
+     */
+    void serialize(Serializable object, ByteArrayBuffer buffer) throws SerializationException;
+
+    /**
+     * Deserialize a slice of <code>byte[]</code> into an object
+     *
+     * @param bytes  byte array, a slice of which needs to be deserialized
+     * @param offset offset of slice in the byte array
+     * @param length length of slice
+     * @return The object (<code>null</code> if byte array is <code>null</code>)
+     * @throws DeserializationException If deserialization fails
+     * @see Codec#deserialize(byte[], int, int, java.lang.reflect.Type, java.util.Map)
+     */
+    Serializable deserialize(byte[] bytes, int offset, int length) throws DeserializationException;
+
+    /*
+     * Serializers and deserializers for values of primitive fields (see com.flipkart.hbaseobjectmapper.AbsentValuePolicy). Defaults
+     * box the value and delegate to methods above. Compiled forms of data types serialized natively override these to avoid boxing.
+     */
+
+    /**
+     * Same as {@link #serialize(Serializable, ByteArrayBuffer)}, but for an <code>int</code> (serialized same as an {@link Integer})
+     *
+     * @param value  Value to be serialized
+     * @param buffer Buffer to which serialized form of value is to be appended
+     * @throws SerializationException If serialization fails
+     */
+    default void serializeInt(int value, ByteArrayBuffer buffer) throws SerializationException {
+        serialize(value, buffer);
+    }
+
+    /**
+     * Same as {@link #serialize(Serializable, ByteArrayBuffer)}, but for a <code>long</code> (serialized same as a {@link Long})
+     *
+     * @param value  Value to be serialized
+     * @param buffer Buffer to which serialized form of value is to be appended
+     * @throws SerializationException If serialization fails
+     */
+    default void serializeLong(long value, ByteArrayBuffer buffer) throws SerializationException {
+        serialize(value, buffer);
+    }
+
+    /**
+     * Same as {@link #serialize(Serializable, ByteArrayBuffer)}, but for a <code>double</code> (serialized same as a {@link Double})
+     *
+     * @param value  Value to be serialized
+     * @param buffer Buffer to which serialized form of value is to be appended
+     * @throws SerializationException If serialization fails
+     */
+    default void serializeDouble(double value, ByteArrayBuffer buffer) throws SerializationException {
+        serialize(value, buffer);
+    }
+
+    /**
+     * Same as {@link #serialize(Serializable, ByteArrayBuffer)}, but for a <code>boolean</code> (serialized same as a {@link Boolean})
+     *
+     * @param value  Value to be serialized
+     * @param buffer Buffer to which serialized form of value is to be appended
+     * @throws SerializationException If serialization fails
+     */
+    default void serializeBoolean(boolean value, ByteArrayBuffer buffer) throws SerializationException {
+        serialize(value, buffer);
+    }
+
+    /**
+     * Same as {@link #deserialize(byte[], int, int)}, but into an <code>int</code>
+     *
+     * @param bytes  byte array, a slice of which needs to be deserialized
+     * @param offset offset of slice in the byte array
+     * @param length length of slice
+     * @return The value
+     * @throws DeserializationException If deserialization fails
+     */
+    default int deserializeInt(byte[] bytes, int offset, int length) throws DeserializationException {
+        Serializable value = deserialize(bytes, offset, length);
+        if (value == null) {
+            throw new DeserializationException("Byte array deserialized to null, which isn't a valid value of a primitive", null);
+        }
+        return (Integer) value;
+    }
+
+    /**
+     * Same as {@link #deserialize(byte[], int, int)}, but into a <code>long</code>
+     *
+     * @param bytes  byte array, a slice of which needs to be deserialized
+     * @param offset offset of slice in the byte array
+     * @param length length of slice
+     * @return The value
+     * @throws DeserializationException If deserialization fails
+     */
+    default long deserializeLong(byte[] bytes, int offset, int length) throws DeserializationException {
+        Serializable value = deserialize(bytes, offset, length);
+        if (value == null) {
+            throw new DeserializationException("Byte array deserialized to null, which isn't a valid value of a primitive", null);
+        }
+        return (Long) value;
+    }
+
+    /**
+     * Same as {@link #deserialize(byte[], int, int)}, but into a <code>double</code>
+     *
+     * @param bytes  byte array, a slice of which needs to be deserialized
+     * @param offset offset of slice in the byte array
+     * @param length length of slice
+     * @return The value
+     * @throws DeserializationException If deserialization fails
+     */
+    default double deserializeDouble(byte[] bytes, int offset, int length) throws DeserializationException {
+        Serializable value = deserialize(bytes, offset, length);
+        if (value == null) {
+            throw new DeserializationException("Byte array deserialized to null, which isn't a valid value of a primitive", null);
+        }
+        return (Double) value;
+    }
+
+    /**
+     * Same as {@link #deserialize(byte[], int, int)}, but into a <code>boolean</code>
+     *
+     * @param bytes  byte array, a slice of which needs to be deserialized
+     * @param offset offset of slice in the byte array
+     * @param length length of slice
+     * @return The value
+     * @throws DeserializationException If deserialization fails
+     */
+    default boolean deserializeBoolean(byte[] bytes, int offset, int length) throws DeserializationException {
+        Serializable value = deserialize(bytes, offset, length);
+        if (value == null) {
+            throw new DeserializationException("Byte array deserialized to null, which isn't a valid value of a primitive", null);
+        }
+        return (Boolean) value;
+    }
+}
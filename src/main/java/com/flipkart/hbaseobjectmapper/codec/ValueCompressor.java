@@ -0,0 +1,88 @@
+package com.flipkart.hbaseobjectmapper.codec;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses serialized values using JDK's DEFLATE implementation, for internal use only (see {@link BestSuitCodec#COMPRESS})
+ * <p>
+ * A compressed value is laid out as: a marker byte (<code>0x00</code>), length of uncompressed value (4 bytes) and raw DEFLATE data.
+ * No JSON text or Smile document starts with the marker byte, so values that weren't compressed (e.g. ones that were
+ * too small, or were written before compression was turned on) are stored and read as is.
+ */
+final class ValueCompressor {
+    private static final byte MARKER = 0;
+    private static final int HEADER_LENGTH = 1 + 4;
+
+    /**
+     * Deflaters and inflaters hold native memory and are costly to construct, hence one of each is kept per thread (and reset before each use)
+     */
+    private static final ThreadLocal<Deflater> deflaters = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED, true));
+    private static final ThreadLocal<Inflater> inflaters = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private ValueCompressor() {
+    }
+
+    /**
+     * @return Compressed form of the value, or <code>null</code> if that isn't smaller than the value itself
+     */
+    static byte[] compress(byte[] bytes, int offset, int length) {
+        if (length <= HEADER_LENGTH) {
+            return null;
+        }
+        byte[] compressed = new byte[length];
+        compressed[0] = MARKER;
+        for (int i = 1, shift = 24; shift >= 0; i++, shift -= 8) {
+            compressed[i] = (byte) (length >>> shift);
+        }
+        Deflater deflater = deflaters.get();
+        deflater.reset();
+        deflater.setInput(bytes, offset, length);
+        deflater.finish();
+        int compressedLength = HEADER_LENGTH;
+        while (!deflater.finished() && compressedLength < compressed.length) {
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+        if (!deflater.finished()) {
+            return null;
+        }
+        byte[] result = new byte[compressedLength];
+        System.arraycopy(compressed, 0, result, 0, compressedLength);
+        return result;
+    }
+
+    static boolean isCompressed(byte[] bytes, int offset, int length) {
+        return length > HEADER_LENGTH && bytes[offset] == MARKER;
+    }
+
+    /**
+     * @return Uncompressed form of a value (that {@link #isCompressed(byte[], int, int) is compressed})
+     * @throws DataFormatException If compressed data is corrupt
+     */
+    static byte[] decompress(byte[] bytes, int offset, int length) throws DataFormatException {
+        int uncompressedLength = 0;
+        for (int i = 1; i < HEADER_LENGTH; i++) {
+            uncompressedLength = (uncompressedLength << 8) | (bytes[offset + i] & 0xFF);
+        }
+        if (uncompressedLength < 0) {
+            throw new DataFormatException("Invalid length of uncompressed value: " + uncompressedLength);
+        }
+        byte[] uncompressed = new byte[uncompressedLength];
+        Inflater inflater = inflaters.get();
+        inflater.reset();
+        inflater.setInput(bytes, offset + HEADER_LENGTH, length - HEADER_LENGTH);
+        int uncompressedSoFar = 0;
+        while (uncompressedSoFar < uncompressedLength) {
+            int n = inflater.inflate(uncompressed, uncompressedSoFar, uncompressedLength - uncompressedSoFar);
+            if (n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                break;
+            }
+            uncompressedSoFar += n;
+        }
+        if (uncompressedSoFar != uncompressedLength) {
+            throw new DataFormatException(String.format("Compressed value expands to %d byte(s), whereas %d byte(s) were expected", uncompressedSoFar, uncompressedLength));
+        }
+        return uncompressed;
+    }
+}
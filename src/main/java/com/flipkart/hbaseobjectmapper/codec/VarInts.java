@@ -0,0 +1,75 @@
+package com.flipkart.hbaseobjectmapper.codec;
+
+/**
+ * Variable-length encoding of integral values, for internal use only (see {@link BestSuitCodec#SERIALIZE_AS_VARINT})
+ * <p>
+ * A value is first mapped to an unsigned one using ZigZag encoding (0, -1, 1, -2, 2... map to 0, 1, 2, 3, 4...), so that numbers of
+ * small magnitude stay small whether they're negative or positive. This is then written 7 bits at a time (least significant group
+ * first), with the most significant bit of each byte set if more bytes follow. So, values from -64 to 63 take 1 byte, those from
+ * -8192 to 8191 take 2 bytes and so on (up to 10 bytes for extreme values of a {@link Long}).
+ */
+final class VarInts {
+    private static final int MAX_LENGTH = 10;
+
+    private VarInts() {
+    }
+
+    static byte[] toBytes(long value) {
+        long bits = zigZag(value);
+        byte[] bytes = new byte[length(bits)];
+        for (int i = 0; i < bytes.length - 1; i++) {
+            bytes[i] = (byte) ((bits & 0x7F) | 0x80);
+            bits >>>= 7;
+        }
+        bytes[bytes.length - 1] = (byte) bits;
+        return bytes;
+    }
+
+    static void write(long value, ByteArrayBuffer out) {
+        long bits = zigZag(value);
+        while ((bits & ~0x7FL) != 0) {
+            out.write((int) ((bits & 0x7F) | 0x80));
+            bits >>>= 7;
+        }
+        out.write((int) bits);
+    }
+
+    /**
+     * @throws IllegalArgumentException If the bytes aren't exactly one encoded value or if the value is outside given range
+     */
+    static long read(byte[] bytes, int offset, int length, long min, long max) {
+        if (length < 1 || length > MAX_LENGTH) {
+            throw new IllegalArgumentException(String.format("Value is %d byte(s) long, whereas a variable-length integer takes 1 to %d bytes", length, MAX_LENGTH));
+        }
+        long bits = 0;
+        int end = offset + length;
+        for (int i = offset, shift = 0; i < end; i++, shift += 7) {
+            byte b = bytes[i];
+            bits |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (i != end - 1) {
+                    throw new IllegalArgumentException(String.format("Variable-length integer ends at byte %d of a %d byte value", i - offset + 1, length));
+                }
+                long value = (bits >>> 1) ^ -(bits & 1);
+                if (value < min || value > max) {
+                    throw new IllegalArgumentException(String.format("Value %d is out of range [%d, %d]", value, min, max));
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Variable-length integer is truncated (last byte has continuation bit set)");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static int length(long bits) {
+        int length = 1;
+        while ((bits & ~0x7FL) != 0) {
+            bits >>>= 7;
+            length++;
+        }
+        return length;
+    }
+}
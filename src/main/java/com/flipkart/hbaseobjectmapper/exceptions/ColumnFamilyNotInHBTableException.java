@@ -1,10 +1,11 @@
 package com.flipkart.hbaseobjectmapper.exceptions;
 
 import com.flipkart.hbaseobjectmapper.HBTable;
+import com.flipkart.hbaseobjectmapper.MappingRules;
 
 public class ColumnFamilyNotInHBTableException extends IllegalArgumentException {
     public ColumnFamilyNotInHBTableException(String clazzName, String fieldName, String family, String column) {
-        super(String.format("Field '%s' of class '%s' is mapped to HBase column '%s:%s' - but column family '%s' isn't specified in class's @%s annotation",
+        super(String.format(MappingRules.COLUMN_FAMILY_NOT_IN_HBTABLE,
                 fieldName, clazzName, family, column, family, HBTable.class.getSimpleName()
         ));
     }
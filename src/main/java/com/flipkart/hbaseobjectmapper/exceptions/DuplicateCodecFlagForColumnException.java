@@ -1,9 +1,11 @@
 package com.flipkart.hbaseobjectmapper.exceptions;
 
+import com.flipkart.hbaseobjectmapper.MappingRules;
+
 import java.lang.annotation.Annotation;
 
 public class DuplicateCodecFlagForColumnException extends IllegalArgumentException {
     public DuplicateCodecFlagForColumnException(Class<?> recordClass, String fieldName, Class<? extends Annotation> annotationClass, String flagName) {
-        super(String.format("The @%s annotation on field %s on class %s has duplicate codec flags (See flag %s)", annotationClass, fieldName, recordClass, flagName));
+        super(String.format(MappingRules.DUPLICATE_COLUMN_CODEC_FLAG, annotationClass, fieldName, recordClass, flagName));
     }
 }
@@ -2,11 +2,12 @@ package com.flipkart.hbaseobjectmapper.exceptions;
 
 import com.flipkart.hbaseobjectmapper.HBRecord;
 import com.flipkart.hbaseobjectmapper.HBTable;
+import com.flipkart.hbaseobjectmapper.MappingRules;
 
 import java.io.Serializable;
 
 public class DuplicateCodecFlagForRowKeyException extends IllegalArgumentException {
     public <R extends Serializable & Comparable<R>, T extends HBRecord<R>> DuplicateCodecFlagForRowKeyException(Class<T> clazz, String flagName) {
-        super(String.format("The %s annotation on %s class has duplicate codec flags. See codec flag '%s'.", HBTable.class.getSimpleName(), clazz.getName(), flagName));
+        super(String.format(MappingRules.DUPLICATE_ROW_KEY_CODEC_FLAG, HBTable.class.getSimpleName(), clazz.getName(), flagName));
     }
 }
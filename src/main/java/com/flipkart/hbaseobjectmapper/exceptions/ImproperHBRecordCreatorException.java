@@ -0,0 +1,9 @@
+package com.flipkart.hbaseobjectmapper.exceptions;
+
+import com.flipkart.hbaseobjectmapper.HBRecordCreator;
+
+public class ImproperHBRecordCreatorException extends IllegalArgumentException {
+    public ImproperHBRecordCreatorException(Class<?> clazz, String reason) {
+        super(String.format("Improper use of @%s in class %s: %s", HBRecordCreator.class.getSimpleName(), clazz.getName(), reason));
+    }
+}
@@ -1,9 +1,11 @@
 package com.flipkart.hbaseobjectmapper.exceptions;
 
+import com.flipkart.hbaseobjectmapper.MappingRules;
+
 import java.lang.reflect.Field;
 
 public class MappedColumnCantBeTransientException extends IllegalArgumentException {
     public MappedColumnCantBeTransientException(Field field, String hbColumnName) {
-        super(String.format("In class \"%s\", the field \"%s\" is annotated with \"%s\", but is declared as transient (Transient fields cannot be persisted)", field.getDeclaringClass().getName(), field.getName(), hbColumnName));
+        super(String.format(MappingRules.TRANSIENT_FIELD, field.getDeclaringClass().getName(), field.getName(), hbColumnName));
     }
 }
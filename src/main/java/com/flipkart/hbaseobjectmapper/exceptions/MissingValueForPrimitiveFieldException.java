@@ -0,0 +1,14 @@
+package com.flipkart.hbaseobjectmapper.exceptions;
+
+import com.flipkart.hbaseobjectmapper.AbsentValuePolicy;
+
+import java.lang.reflect.Field;
+
+/**
+ * Exception raised when a row has no value for a column mapped to a primitive field with {@link AbsentValuePolicy#FAIL} policy
+ */
+public class MissingValueForPrimitiveFieldException extends RuntimeException {
+    public MissingValueForPrimitiveFieldException(Field field, String column) {
+        super(String.format("Row has no value for column %s, which is mapped to primitive field %s in class %s (with absent value policy %s)", column, field.getName(), field.getDeclaringClass().getName(), AbsentValuePolicy.FAIL));
+    }
+}
@@ -1,8 +1,10 @@
 package com.flipkart.hbaseobjectmapper.exceptions;
 
+import com.flipkart.hbaseobjectmapper.MappingRules;
+
 public class NoEmptyConstructorException extends IllegalArgumentException {
 
     public NoEmptyConstructorException(Class<?> clazz, Throwable throwable) {
-        super(String.format("Class %s needs to specify an empty (public) constructor", clazz.getName()), throwable);
+        super(String.format(MappingRules.NO_EMPTY_CONSTRUCTOR, clazz.getName()), throwable);
     }
 }
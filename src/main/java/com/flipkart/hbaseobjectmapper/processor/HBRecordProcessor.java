@@ -0,0 +1,251 @@
+package com.flipkart.hbaseobjectmapper.processor;
+
+import com.flipkart.hbaseobjectmapper.AbsentValuePolicy;
+import com.flipkart.hbaseobjectmapper.Family;
+import com.flipkart.hbaseobjectmapper.Flag;
+import com.flipkart.hbaseobjectmapper.HBColumn;
+import com.flipkart.hbaseobjectmapper.HBColumnMultiVersion;
+import com.flipkart.hbaseobjectmapper.HBRecordCreator;
+import com.flipkart.hbaseobjectmapper.HBTable;
+import com.flipkart.hbaseobjectmapper.MappedSuperClass;
+import com.flipkart.hbaseobjectmapper.MappingRules;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An (optional) annotation processor that validates your entity classes at compile time.
+ * <p>
+ * Checks performed by this processor mirror the ones {@link com.flipkart.hbaseobjectmapper.HBObjectMapper} performs when it first
+ * encounters an entity class (missing/improper {@link HBTable} annotation (including its number of salt buckets), fields mapped to undeclared column families, static,
+ * transient or primitive fields (without an {@link AbsentValuePolicy}), improper {@link HBColumnMultiVersion} fields, duplicate columns, duplicate codec flags and
+ * missing/inaccessible empty constructor, unless a member is annotated with {@link HBRecordCreator}), so that such mistakes fail your build instead of your application.
+ * <p>
+ * Checks that depend on the codec in use (e.g. whether a field's type can be deserialized) and checks of members annotated with
+ * {@link HBRecordCreator} (e.g. whether their parameters match fields) are left to run-time. Limits and error messages of checks are shared with
+ * run-time checks, through {@link MappingRules}.
+ * <p>
+ * This processor is not registered automatically. To enable it, add this library to your compiler's annotation processor path
+ * and pass <code>-processor com.flipkart.hbaseobjectmapper.processor.HBRecordProcessor</code> to <code>javac</code>.
+ */
+@SupportedAnnotationTypes({
+        "com.flipkart.hbaseobjectmapper.HBTable",
+        "com.flipkart.hbaseobjectmapper.HBColumn",
+        "com.flipkart.hbaseobjectmapper.HBColumnMultiVersion"
+})
+public class HBRecordProcessor extends AbstractProcessor {
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> entityClasses = new HashSet<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(HBTable.class)) {
+            if (element.getKind() == ElementKind.CLASS) {
+                entityClasses.add((TypeElement) element);
+            }
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(HBColumn.class)) {
+            validateEnclosingClass(element);
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(HBColumnMultiVersion.class)) {
+            validateEnclosingClass(element);
+        }
+        for (TypeElement entityClass : entityClasses) {
+            validateHBClass(entityClass);
+        }
+        return false;
+    }
+
+    private void validateEnclosingClass(Element field) {
+        Element enclosingClass = field.getEnclosingElement();
+        if (enclosingClass.getAnnotation(HBTable.class) == null && enclosingClass.getAnnotation(MappedSuperClass.class) == null) {
+            warning(field, "Field %s is mapped to an HBase column, but class %s is neither annotated with %s nor with %s (this mapping will be ignored)",
+                    field.getSimpleName(), enclosingClass, HBTable.class.getSimpleName(), MappedSuperClass.class.getSimpleName());
+        }
+    }
+
+    private void validateHBClass(TypeElement clazz) {
+        HBTable hbTable = clazz.getAnnotation(HBTable.class);
+        if (hbTable.name().isEmpty()) {
+            error(clazz, MappingRules.EMPTY_TABLE_NAME, HBTable.class.getName(), clazz);
+        }
+        Set<String> families = new HashSet<>();
+        for (Family family : hbTable.families()) {
+            if (family.name().isEmpty()) {
+                error(clazz, MappingRules.EMPTY_COLUMN_FAMILY_NAME, HBTable.class.getSimpleName(), clazz);
+            } else if (!families.add(family.name())) {
+                error(clazz, MappingRules.DUPLICATE_COLUMN_FAMILY_NAMES, HBTable.class.getSimpleName(), clazz, family.name());
+            }
+            if (family.versions() < 1) {
+                error(clazz, MappingRules.INVALID_VERSIONS, HBTable.class.getSimpleName(), clazz, family.name());
+            }
+        }
+        if (hbTable.rowKeySaltBuckets() < 0 || hbTable.rowKeySaltBuckets() > MappingRules.MAX_SALT_BUCKETS) {
+            error(clazz, MappingRules.INVALID_ROW_KEY_SALT_BUCKETS, HBTable.class.getSimpleName(), clazz, hbTable.rowKeySaltBuckets(), MappingRules.MAX_SALT_BUCKETS);
+        }
+        for (String flagName : getDuplicateCodecFlags(hbTable.rowKeyCodecFlags())) {
+            error(clazz, MappingRules.DUPLICATE_ROW_KEY_CODEC_FLAG, HBTable.class.getSimpleName(), clazz, flagName);
+        }
+        if (!clazz.getModifiers().contains(Modifier.ABSTRACT)) {
+            validateEmptyConstructor(clazz);
+        }
+        Set<String> fieldNames = new HashSet<>();
+        Set<String> columns = new HashSet<>();
+        TypeElement thisClass = clazz;
+        while (thisClass != null) {
+            for (VariableElement field : ElementFilter.fieldsIn(thisClass.getEnclosedElements())) {
+                if (fieldNames.add(field.getSimpleName().toString())) {
+                    validateHBColumnField(clazz, field, families, columns);
+                }
+            }
+            thisClass = getMappedSuperClass(thisClass);
+        }
+        if (columns.isEmpty()) {
+            error(clazz, MappingRules.MISSING_HBCOLUMN_FIELDS, clazz, HBColumn.class.getSimpleName(), HBColumnMultiVersion.class.getSimpleName());
+        }
+    }
+
+    private void validateEmptyConstructor(TypeElement clazz) {
+        for (Element member : clazz.getEnclosedElements()) {
+            if (member.getAnnotation(HBRecordCreator.class) != null) {
+                return; // records are created through this instead (validated at run-time)
+            }
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(clazz.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty()) {
+                if (!constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                    error(constructor, MappingRules.EMPTY_CONSTRUCTOR_INACCESSIBLE, clazz);
+                }
+                return;
+            }
+        }
+        error(clazz, MappingRules.NO_EMPTY_CONSTRUCTOR, clazz);
+    }
+
+    private void validateHBColumnField(TypeElement clazz, VariableElement field, Set<String> families, Set<String> columns) {
+        HBColumn hbColumn = field.getAnnotation(HBColumn.class);
+        HBColumnMultiVersion hbColumnMultiVersion = field.getAnnotation(HBColumnMultiVersion.class);
+        if (hbColumn != null && hbColumnMultiVersion != null) {
+            error(field, MappingRules.BOTH_HBCOLUMN_ANNOTATIONS, field.getEnclosingElement(), field.getSimpleName(), HBColumn.class.getName(), HBColumnMultiVersion.class.getName());
+            return;
+        }
+        String family, column;
+        Class<?> annotationClass;
+        Flag[] codecFlags;
+        if (hbColumn != null) {
+            family = hbColumn.family();
+            column = hbColumn.column();
+            annotationClass = HBColumn.class;
+            codecFlags = hbColumn.codecFlags();
+        } else if (hbColumnMultiVersion != null) {
+            family = hbColumnMultiVersion.family();
+            column = hbColumnMultiVersion.column();
+            annotationClass = HBColumnMultiVersion.class;
+            codecFlags = hbColumnMultiVersion.codecFlags();
+        } else {
+            return;
+        }
+        for (String flagName : getDuplicateCodecFlags(codecFlags)) {
+            error(field, MappingRules.DUPLICATE_COLUMN_CODEC_FLAG, annotationClass, field.getSimpleName(), field.getEnclosingElement(), flagName);
+        }
+        String columnName = String.format("%s:%s", family, column);
+        if (!families.contains(family)) {
+            error(field, MappingRules.COLUMN_FAMILY_NOT_IN_HBTABLE, field.getSimpleName(), clazz, family, column, family, HBTable.class.getSimpleName());
+        }
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.TRANSIENT)) {
+            error(field, MappingRules.TRANSIENT_FIELD, field.getEnclosingElement(), field.getSimpleName(), annotationClass.getName());
+        }
+        if (modifiers.contains(Modifier.STATIC)) {
+            error(field, MappingRules.STATIC_FIELD, field.getEnclosingElement(), field.getSimpleName(), annotationClass.getName());
+        }
+        TypeMirror fieldType = field.asType();
+        if (hbColumn != null) {
+            if (fieldType.getKind().isPrimitive()) {
+                if (hbColumn.absentValuePolicy() == AbsentValuePolicy.NONE) {
+                    error(field, MappingRules.PRIMITIVE_FIELD_WITHOUT_ABSENT_VALUE_POLICY, field.getSimpleName(), field.getEnclosingElement(), fieldType);
+                } else if (!isSupportedPrimitive(fieldType)) {
+                    error(field, MappingRules.UNSUPPORTED_PRIMITIVE_FIELD, field.getSimpleName(), field.getEnclosingElement(), fieldType, MappingRules.SUPPORTED_PRIMITIVES);
+                }
+            }
+        } else {
+            validateHBColumnMultiVersionFieldType(field, fieldType);
+        }
+        if (!columns.add(columnName)) {
+            error(field, MappingRules.FIELDS_MAPPED_TO_SAME_COLUMN, clazz, field.getSimpleName(), columnName);
+        }
+    }
+
+    private void validateHBColumnMultiVersionFieldType(VariableElement field, TypeMirror fieldType) {
+        if (fieldType.getKind() != TypeKind.DECLARED || ((DeclaredType) fieldType).getTypeArguments().isEmpty()) {
+            error(field, MappingRules.NOT_A_PARAMETERIZED_TYPE, field.getSimpleName());
+            return;
+        }
+        DeclaredType declaredType = (DeclaredType) fieldType;
+        if (!((TypeElement) declaredType.asElement()).getQualifiedName().contentEquals("java.util.NavigableMap")) {
+            error(field, MappingRules.NOT_A_NAVIGABLE_MAP, field.getSimpleName());
+            return;
+        }
+        List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
+        TypeMirror longType = processingEnv.getElementUtils().getTypeElement(Long.class.getName()).asType();
+        if (typeArguments.size() != 2 || !processingEnv.getTypeUtils().isSameType(typeArguments.get(0), longType)) {
+            error(field, MappingRules.UNEXPECTED_TYPE_PARAMS, field.getSimpleName(), Long.class.getName());
+        }
+    }
+
+    private static boolean isSupportedPrimitive(TypeMirror primitiveType) {
+        for (Class<?> supportedPrimitive : MappingRules.SUPPORTED_PRIMITIVES) {
+            if (supportedPrimitive.getName().equals(primitiveType.toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> getDuplicateCodecFlags(Flag[] codecFlags) {
+        Set<String> flagNames = new HashSet<>(), duplicateFlagNames = new LinkedHashSet<>();
+        for (Flag flag : codecFlags) {
+            if (!flagNames.add(flag.name())) {
+                duplicateFlagNames.add(flag.name());
+            }
+        }
+        return duplicateFlagNames;
+    }
+
+    private TypeElement getMappedSuperClass(TypeElement clazz) {
+        TypeMirror superClass = clazz.getSuperclass();
+        if (superClass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement superClassElement = (TypeElement) ((DeclaredType) superClass).asElement();
+        return superClassElement.getAnnotation(MappedSuperClass.class) != null ? superClassElement : null;
+    }
+
+    private void error(Element element, String format, Object... args) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(format, args), element);
+    }
+
+    private void warning(Element element, String format, Object... args) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, String.format(format, args), element);
+    }
+}
@@ -0,0 +1,22 @@
+package com.flipkart.hbaseobjectmapper;
+
+import java.lang.reflect.Field;
+
+/**
+ * Wrapper for {@link FieldAccessor} class. To be used in test cases only.
+ */
+public class FieldAccessorTC extends FieldAccessor {
+    public FieldAccessorTC(Field field) {
+        super(field);
+    }
+
+    @Override
+    public Object get(Object record) {
+        return super.get(record);
+    }
+
+    @Override
+    public void set(Object record, Object value) {
+        super.set(record, value);
+    }
+}
@@ -0,0 +1,31 @@
+package com.flipkart.hbaseobjectmapper;
+
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Mutation;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Wrapper for {@link WriteBehindQueue} class. To be used in test cases only.
+ */
+public class WriteBehindQueueTC {
+    private final WriteBehindQueue queue;
+
+    public WriteBehindQueueTC(Connection connection, TableName tableName, long capacityInBytes, Executor completionExecutor) {
+        this.queue = new WriteBehindQueue(connection, tableName, capacityInBytes, completionExecutor);
+    }
+
+    public CompletableFuture<Void> enqueue(Mutation mutation, long maxWaitMs) throws InterruptedException {
+        return queue.enqueue(mutation, maxWaitMs);
+    }
+
+    public void flush() throws InterruptedException {
+        queue.flush();
+    }
+
+    public void close() throws InterruptedException {
+        queue.close();
+    }
+}
@@ -1,15 +1,22 @@
 package com.flipkart.hbaseobjectmapper.testcases;
 
 import com.flipkart.hbaseobjectmapper.*;
+import com.flipkart.hbaseobjectmapper.codec.JavaObjectStreamCodec;
 import com.flipkart.hbaseobjectmapper.exceptions.*;
 import com.flipkart.hbaseobjectmapper.testcases.entities.*;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellBuilderFactory;
+import org.apache.hadoop.hbase.CellBuilderType;
+import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
+import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.hadoop.hbase.util.Triple;
 import org.junit.jupiter.api.Test;
 
 import java.io.Serializable;
+import java.lang.reflect.Field;
 import java.util.*;
 
 import static com.flipkart.hbaseobjectmapper.testcases.TestObjects.validObjects;
@@ -23,6 +30,8 @@ public class TestHBObjectMapper {
             triple(Singleton.getInstance(), "A singleton class", EmptyConstructorInaccessibleException.class),
             triple(new ClassWithNoEmptyConstructor(1), "Class with no empty constructor", NoEmptyConstructorException.class),
             triple(new ClassWithPrimitives(1f), "A class with primitives", MappedColumnCantBePrimitiveException.class),
+            triple(new ClassWithUnsupportedPrimitive(1f), "A class with a primitive of unsupported type", MappedColumnCantBePrimitiveException.class),
+            triple(new ClassWithImproperHBRecordCreator("key", 1), String.format("Class with a @%s that doesn't take all fields", HBRecordCreator.class.getSimpleName()), ImproperHBRecordCreatorException.class),
             triple(new ClassWithTwoFieldsMappedToSameColumn(), "Class with two fields mapped to same column", FieldsMappedToSameColumnException.class),
             triple(new ClassWithTwoHBColumnAnnotations(), String.format("Class with a field with two %s annotations", HBColumn.class.getSimpleName()), BothHBColumnAnnotationsPresentException.class),
             triple(new ClassWithBadAnnotationStatic(), "Class with a static field mapped to HBase column", MappedColumnCantBeStaticException.class),
@@ -38,6 +47,7 @@ public class TestHBObjectMapper {
             triple(new ClassesWithInvalidHBTableAnnotation.EmptyTableName(), "Class with empty table name in its " + HBTable.class.getSimpleName() + " annotation", ImproperHBTableAnnotationExceptions.EmptyTableNameOnHBTableAnnotationException.class),
             triple(new ClassesWithInvalidHBTableAnnotation.EmptyColumnFamily(), "Class with empty column family name in its " + HBTable.class.getSimpleName() + " annotation", ImproperHBTableAnnotationExceptions.EmptyColumnFamilyOnHBTableAnnotationException.class),
             triple(new ClassesWithInvalidHBTableAnnotation.DuplicateColumnFamilies(), "Class with duplicate column families in its " + HBTable.class.getSimpleName() + " annotation", ImproperHBTableAnnotationExceptions.DuplicateColumnFamilyNamesOnHBTableAnnotationException.class),
+            triple(new ClassesWithInvalidHBTableAnnotation.InvalidSaltBuckets(), "Class with an invalid number of row key salt buckets in its " + HBTable.class.getSimpleName() + " annotation", ImproperHBTableAnnotationExceptions.InvalidValueForRowKeySaltBucketsOnHBTableAnnotationException.class),
             triple(new ClassesWithInvalidHBTableAnnotation.MissingHBTableAnnotation(), "Class with no HBTable annotation", ImproperHBTableAnnotationExceptions.MissingHBTableAnnotationException.class)
     );
 
@@ -317,6 +327,183 @@ public class TestHBObjectMapper {
         }
     }
 
+    @Test
+    public void testHBColumnFieldsAreResolvedOnce() {
+        for (Class clazz : Arrays.asList(Citizen.class, Crawl.class, Employee.class)) {
+            Map<String, Field> fields = hbMapper.getHBColumnFields(clazz);
+            String fieldName = fields.keySet().iterator().next();
+            assertSame(fields.get(fieldName), hbMapper.getHBColumnFields(clazz).get(fieldName), "Mapping of class " + clazz.getName() + " was resolved more than once");
+            fields.remove(fieldName);
+            assertTrue(hbMapper.getHBColumnFields(clazz).containsKey(fieldName), "Change to map of fields returned leaked into mapping of class " + clazz.getName());
+        }
+        assertTrue(new HBObjectMapper().getHBColumnFields(Employee.class).containsKey("createdAt"), "Fields of mapped super class weren't resolved");
+    }
+
+    @Test
+    public void testFieldAccessors() throws IllegalAccessException {
+        final int numRows = 10000;
+        List<HBRecord> records = Arrays.asList(validObjects.get(0), new Crawl("key").addF1(1L, 1.0).addF1(2L, 2.0).addF1(3L, 3.0));
+        for (HBRecord record : records) {
+            Class<? extends HBRecord> clazz = record.getClass();
+            Result result = hbMapper.writeValueAsResult(record);
+            Collection<Field> fields = hbMapper.getHBColumnFields(clazz).values();
+            List<FieldAccessorTC> accessors = new ArrayList<>();
+            for (Field field : fields) {
+                field.setAccessible(true);
+                accessors.add(new FieldAccessorTC(field));
+            }
+            HBRecord target = hbMapper.readValue(result, clazz);
+            long start = System.nanoTime();
+            for (int i = 0; i < numRows; i++) {
+                for (Field field : fields) {
+                    field.set(target, field.get(record));
+                }
+            }
+            long reflectionCost = (System.nanoTime() - start) / numRows;
+            start = System.nanoTime();
+            for (int i = 0; i < numRows; i++) {
+                for (FieldAccessorTC accessor : accessors) {
+                    accessor.set(target, accessor.get(record));
+                }
+            }
+            long accessorCost = (System.nanoTime() - start) / numRows;
+            start = System.nanoTime();
+            for (int i = 0; i < numRows; i++) {
+                target = hbMapper.readValue(result, clazz);
+            }
+            long deserializationCost = (System.nanoTime() - start) / numRows;
+            for (FieldAccessorTC accessor : accessors) {
+                assertEquals(accessor.get(record), accessor.get(target), "Field value mismatch after deserialization of " + clazz.getSimpleName());
+            }
+            System.out.printf("%s: Per-row cost of populating fields = %dns (reflection) vs %dns (method handles). Per-row cost of Result -> POJO = %dns%n",
+                    clazz.getSimpleName(), reflectionCost, accessorCost, deserializationCost);
+        }
+    }
+
+    @Test
+    public void testResultWithUnsortedAndUnmappedCells() {
+        for (HBRecord record : validObjects) {
+            Result result = hbMapper.writeValueAsResult(record);
+            List<Cell> cells = new ArrayList<>(Arrays.asList(result.rawCells()));
+            Collections.reverse(cells);
+            cells.add(CellBuilderFactory.create(CellBuilderType.DEEP_COPY).setType(Cell.Type.Put).setRow(result.getRow())
+                    .setFamily(CellUtil.cloneFamily(cells.get(0)))
+                    .setQualifier(Bytes.toBytes("unmapped column")).setTimestamp(1L).setValue(Bytes.toBytes("some value")).build());
+            assertEquals(record, hbMapper.readValue(Result.create(cells), record.getClass()), "Data mismatch after deserialization from Result with unsorted and unmapped cells");
+        }
+    }
+
+    @Test
+    public void testLazyRecord() throws IllegalAccessException {
+        for (HBRecord record : validObjects) {
+            Class<? extends HBRecord> clazz = record.getClass();
+            Result result = hbMapper.writeValueAsResult(record);
+            HBRecord expected = hbMapper.readValue(result, clazz);
+            LazyRecord lazyRecord = hbMapper.readValueLazily(result, clazz);
+            assertEquals(record.composeRowKey(), lazyRecord.getRowKey(), "Row key mismatch in lazily deserialized record");
+            for (Map.Entry<String, Field> e : hbMapper.getHBColumnFields(clazz).entrySet()) {
+                Field field = e.getValue();
+                field.setAccessible(true);
+                assertEquals(field.get(expected), lazyRecord.get(e.getKey()), String.format("Value of field %s mismatches in lazily deserialized record", field));
+            }
+            assertEquals(expected, lazyRecord.getRecord(), "Data mismatch after lazy deserialization from Result");
+            assertThrows(IllegalArgumentException.class, () -> lazyRecord.get("someFieldThatDoesNotExist"));
+        }
+        assertNull(hbMapper.readValueLazily(Result.EMPTY_RESULT, Citizen.class));
+    }
+
+    @Test
+    public void testReadValueInto() {
+        Map<Class<? extends HBRecord>, HBRecord> reusedRecords = new HashMap<>();
+        List<HBRecord> records = new ArrayList<>(validObjects);
+        for (int i = 0; i < 2; i++, Collections.reverse(records)) { // in both orders, so that sparse rows overwrite dense ones (and vice versa)
+            for (HBRecord record : records) {
+                Class<? extends HBRecord> clazz = record.getClass();
+                Result result = hbMapper.writeValueAsResult(record);
+                HBRecord reusedRecord = reusedRecords.get(clazz);
+                if (reusedRecord == null) {
+                    reusedRecord = hbMapper.readValue(result, clazz);
+                    reusedRecords.put(clazz, reusedRecord);
+                }
+                assertSame(reusedRecord, hbMapper.readValueInto(result, reusedRecord), "readValueInto didn't return the object passed to it");
+                assertEquals(hbMapper.readValue(result, clazz), reusedRecord, "Data mismatch after deserializing Result into an existing object");
+            }
+        }
+        Citizen citizen = new Citizen();
+        assertNull(hbMapper.readValueInto(Result.EMPTY_RESULT, citizen));
+        assertEquals(new Citizen(), citizen, "Object was modified when deserializing an empty Result into it");
+    }
+
+    @Test
+    public void testPrimitiveFieldsWithAbsentValues() {
+        final byte[] family = Bytes.toBytes("s");
+        Put put = new Put(Bytes.toBytes("/sparse")).addColumn(family, Bytes.toBytes("archived"), Bytes.toBytes(true));
+        Result result = Result.create(put.getFamilyCellMap().get(family));
+        PageStats expected = new PageStats("/sparse", null, 0, 0L, 0.0, true);
+        assertEquals(expected, hbMapper.readValue(result, PageStats.class), "Primitive fields with no values weren't set to zero");
+        assertEquals(expected, hbMapper.readValue(put, PageStats.class), "Primitive fields with no values weren't set to zero (while reading a Put)");
+        PageStats reused = new PageStats("/dense", "Dense", 7, 7L, 7.0, false);
+        hbMapper.readValueInto(result, reused);
+        assertEquals(expected, reused, "Primitive fields with no values weren't reset to zero, while deserializing into an existing object");
+        LazyRecord<String, PageStats> lazyRecord = hbMapper.readValueLazily(result, PageStats.class);
+        assertEquals(0, lazyRecord.get("views"));
+        assertEquals(true, lazyRecord.get("archived"));
+
+        Put putWithoutRequiredValue = new Put(Bytes.toBytes("/broken")).addColumn(family, Bytes.toBytes("views"), Bytes.toBytes(10));
+        Result resultWithoutRequiredValue = Result.create(putWithoutRequiredValue.getFamilyCellMap().get(family));
+        assertThrows(MissingValueForPrimitiveFieldException.class, () -> hbMapper.readValue(resultWithoutRequiredValue, PageStats.class));
+        assertThrows(MissingValueForPrimitiveFieldException.class, () -> hbMapper.readValue(putWithoutRequiredValue, PageStats.class));
+        assertThrows(MissingValueForPrimitiveFieldException.class, () -> hbMapper.readValueLazily(resultWithoutRequiredValue, PageStats.class).get("archived"));
+        assertEquals(10, hbMapper.readValueLazily(resultWithoutRequiredValue, PageStats.class).get("views"));
+    }
+
+    @Test
+    public void testCopy() {
+        List<HBRecord> records = new ArrayList<>(validObjects);
+        NavigableMap<Long, String> tags = new TreeMap<>();
+        tags.put(1L, "java");
+        records.add(Bookmark.of(tags, 3, "/hbase-orm", "HBase ORM"));
+        for (HBRecord record : records) {
+            long start, end;
+            start = System.currentTimeMillis();
+            HBRecord copy = null;
+            for (int i = 0; i < NUM_ITERATIONS; i++) {
+                copy = hbMapper.copy(record);
+            }
+            end = System.currentTimeMillis();
+            assertEquals(record, copy, "Copy doesn't match original object");
+            assertNotSame(record, copy);
+            System.out.printf("Time taken for copy (of %s) = %.2fms%n", record.getClass().getSimpleName(), timeTaken(start, end));
+            start = System.currentTimeMillis();
+            for (int i = 0; i < NUM_ITERATIONS; i++) {
+                copy = JavaObjectStreamCodec.deepCopy(record);
+            }
+            end = System.currentTimeMillis();
+            System.out.printf("Time taken for deep copy through Java serialization = %.2fms%n", timeTaken(start, end));
+        }
+        Crawl crawl = new Crawl("key").addF1(1L, 1.0).addF1(2L, 2.0);
+        Crawl crawlCopy = hbMapper.copy(crawl);
+        assertNotSame(crawl.getF1Versioned(), crawlCopy.getF1Versioned(), "Map of versions was shared (and not copied)");
+        crawlCopy.addF1(3L, 3.0);
+        assertEquals(2, crawl.getF1Versioned().size(), "Change to copy reflected in original object");
+        assertNull(hbMapper.copy((Crawl) null));
+    }
+
+    @Test
+    public void testImmutableRecords() {
+        NavigableMap<Long, String> tags = new TreeMap<>();
+        tags.put(1L, "java");
+        tags.put(2L, "hbase");
+        Bookmark bookmark = Bookmark.of(tags, 3, "/hbase-orm", "HBase ORM");
+        Result result = hbMapper.writeValueAsResult(bookmark);
+        assertEquals(bookmark, hbMapper.readValue(result, Bookmark.class), "Immutable record changed after serialization and deserialization");
+        assertEquals(bookmark, hbMapper.readValue(hbMapper.writeValueAsPut(bookmark), Bookmark.class), "Immutable record changed after serialization and deserialization (as a Put)");
+        assertEquals(bookmark, hbMapper.readValueLazily(result, Bookmark.class).getRecord(), "Immutable record changed after lazy deserialization");
+        Bookmark sparse = Bookmark.of(null, 0, "/sparse", null);
+        assertEquals(sparse, hbMapper.readValue(hbMapper.writeValueAsResult(sparse), Bookmark.class), "Fields with no values weren't passed to creator as null (or zero)");
+        assertThrows(IllegalArgumentException.class, () -> hbMapper.readValueInto(result, Bookmark.of(null, 0, "/other", null)));
+    }
+
     @Test
     public void testUninstantiatableClass() {
         try {
@@ -335,6 +522,7 @@ public class TestHBObjectMapper {
             Crawl versioned = hbMapper.readValue(result, Crawl.class);
             NavigableMap<Long, Double> columnHistory = versioned.getF1Versioned();
             assertEquals(1, columnHistory.size(), "Column history size mismatch");
+            assertTrue(columnHistory instanceof SortedVersionsMap, "Versions weren't decoded into a " + SortedVersionsMap.class.getSimpleName());
             assertEquals(number, columnHistory.lastEntry().getValue(), String.format("Inconsistency between %s and %s",
                     HBColumn.class.getSimpleName(), HBColumnMultiVersion.class.getSimpleName()));
             // Written as versioned, read as unversioned
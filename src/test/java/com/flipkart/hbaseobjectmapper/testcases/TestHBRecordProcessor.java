@@ -0,0 +1,182 @@
+package com.flipkart.hbaseobjectmapper.testcases;
+
+import com.flipkart.hbaseobjectmapper.processor.HBRecordProcessor;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compiles entity classes with {@link HBRecordProcessor} enabled and checks diagnostics it reports.
+ * <p>
+ * Invalid entities compiled here are the very ones {@link TestHBObjectMapper} expects to be rejected at run-time, so that checks of the processor
+ * stay in sync with those of {@link com.flipkart.hbaseobjectmapper.HBObjectMapper}.
+ */
+public class TestHBRecordProcessor {
+    private static final String ENTITIES_DIR = "src/test/java/com/flipkart/hbaseobjectmapper/testcases/entities/";
+
+    /**
+     * An entity that exercises what the processor must let through: fields inherited from a {@link com.flipkart.hbaseobjectmapper.MappedSuperClass},
+     * primitive fields (of all supported types) with an absent value policy and salted row keys
+     */
+    private static final String VALID_ENTITY = "package com.flipkart.hbaseobjectmapper.testcases.entities;\n" +
+            "import com.flipkart.hbaseobjectmapper.*;\n" +
+            "import java.util.NavigableMap;\n" +
+            "@HBTable(name = \"valid\", families = {@Family(name = \"a\", versions = 3)}, rowKeySaltBuckets = 16)\n" +
+            "public class ValidEntity extends AbstractRecord {\n" +
+            "    private Long key;\n" +
+            "    @HBColumn(family = \"a\", column = \"i\", absentValuePolicy = AbsentValuePolicy.ZERO) private int i;\n" +
+            "    @HBColumn(family = \"a\", column = \"l\", absentValuePolicy = AbsentValuePolicy.ZERO, codecFlags = {@Flag(name = \"serializeAsVarint\", value = \"true\")}) private long l;\n" +
+            "    @HBColumn(family = \"a\", column = \"d\", absentValuePolicy = AbsentValuePolicy.FAIL) private double d;\n" +
+            "    @HBColumn(family = \"a\", column = \"b\", absentValuePolicy = AbsentValuePolicy.FAIL) private boolean b;\n" +
+            "    @HBColumnMultiVersion(family = \"a\", column = \"v\") private NavigableMap<Long, String> v;\n" +
+            "    private transient String notMapped;\n" +
+            "    public ValidEntity() {}\n" +
+            "    @Override public Long composeRowKey() { return key; }\n" +
+            "    @Override public void parseRowKey(Long rowKey) { this.key = rowKey; }\n" +
+            "}\n";
+
+    /**
+     * A class that maps a field to a column, but isn't an entity
+     */
+    private static final String UNMAPPED_CLASS = "package com.flipkart.hbaseobjectmapper.testcases.entities;\n" +
+            "import com.flipkart.hbaseobjectmapper.*;\n" +
+            "public class UnmappedClass {\n" +
+            "    @HBColumn(family = \"a\", column = \"c\") private String c;\n" +
+            "}\n";
+
+    private static class Compilation {
+        final boolean succeeded;
+        final List<String> errors = new ArrayList<>(), warnings = new ArrayList<>();
+
+        Compilation(boolean succeeded, List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+            this.succeeded = succeeded;
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+                if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                    errors.add(diagnostic.getMessage(Locale.ROOT));
+                } else if (diagnostic.getKind() == Diagnostic.Kind.WARNING || diagnostic.getKind() == Diagnostic.Kind.MANDATORY_WARNING) {
+                    warnings.add(diagnostic.getMessage(Locale.ROOT));
+                }
+            }
+        }
+
+        void assertReported(List<String> diagnostics, String fragment, String what) {
+            for (String diagnostic : diagnostics) {
+                if (diagnostic.contains(fragment)) {
+                    return;
+                }
+            }
+            fail(String.format("Processor didn't report %s containing \"%s\" (reported: %s)", what, fragment, diagnostics));
+        }
+    }
+
+    private static class SourceString extends SimpleJavaFileObject {
+        private final String source;
+
+        SourceString(String className, String source) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    /**
+     * Runs the processor alone (no other annotation processors and no code generation) on given sources, against the test class path
+     */
+    private static Compilation compile(List<JavaFileObject> sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull(compiler, "Tests need to be run on a JDK (not a JRE)");
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT, null)) {
+            List<String> options = Arrays.asList("-proc:only", "-processor", HBRecordProcessor.class.getName(), "-classpath", System.getProperty("java.class.path"));
+            boolean succeeded = compiler.getTask(null, fileManager, diagnostics, options, null, sources).call();
+            return new Compilation(succeeded, diagnostics.getDiagnostics());
+        }
+    }
+
+    private static Compilation compileEntity(String fileName) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull(compiler, "Tests need to be run on a JDK (not a JRE)");
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, Locale.ROOT, null)) {
+            List<JavaFileObject> sources = new ArrayList<>();
+            for (JavaFileObject source : fileManager.getJavaFileObjects(new File(ENTITIES_DIR + fileName))) {
+                sources.add(source);
+            }
+            return compile(sources);
+        }
+    }
+
+    @Test
+    public void testValidEntities() throws IOException {
+        Compilation compilation = compile(Collections.singletonList(new SourceString("com.flipkart.hbaseobjectmapper.testcases.entities.ValidEntity", VALID_ENTITY)));
+        assertTrue(compilation.succeeded && compilation.errors.isEmpty(), "Processor rejected a valid entity: " + compilation.errors);
+        assertTrue(compilation.warnings.isEmpty(), "Processor warned about a valid entity: " + compilation.warnings);
+        for (String fileName : Arrays.asList(
+                "Bookmark.java", // has no empty constructor, but is created through a static factory method
+                "ClassWithImproperHBRecordCreator.java" // parameters of creators are validated only at run-time
+        )) {
+            compilation = compileEntity(fileName);
+            assertTrue(compilation.succeeded && compilation.errors.isEmpty(), String.format("Processor rejected %s: %s", fileName, compilation.errors));
+        }
+    }
+
+    @Test
+    public void testInvalidEntities() throws IOException {
+        Map<String, List<String>> expectedErrors = new LinkedHashMap<>();
+        expectedErrors.put("ClassWithPrimitives.java", Collections.singletonList("supported only with an absent value policy"));
+        expectedErrors.put("ClassWithUnsupportedPrimitive.java", Collections.singletonList("Supported primitive data types are"));
+        expectedErrors.put("ClassWithNoEmptyConstructor.java", Collections.singletonList("needs to specify an empty (public) constructor"));
+        expectedErrors.put("Singleton.java", Collections.singletonList("Empty constructor of class com.flipkart.hbaseobjectmapper.testcases.entities.Singleton is inaccessible"));
+        expectedErrors.put("ClassWithTwoFieldsMappedToSameColumn.java", Collections.singletonList("mapped to same HBase column a:b"));
+        expectedErrors.put("ClassWithTwoHBColumnAnnotations.java", Collections.singletonList("annotated with both"));
+        expectedErrors.put("ClassWithBadAnnotationStatic.java", Collections.singletonList("is declared as static"));
+        expectedErrors.put("ClassWithBadAnnotationTransient.java", Collections.singletonList("is declared as transient"));
+        expectedErrors.put("ClassWithDuplicateCodecFlagsForColumn.java", Collections.singletonList("has duplicate codec flags (See flag flag1)"));
+        expectedErrors.put("ClassWithDuplicateCodecFlagsForRowKey.java", Collections.singletonList("has duplicate codec flags. See codec flag 'flag1'"));
+        expectedErrors.put("ClassWithHBColumnWithUnknownColumnFamily.java", Collections.singletonList("column family 'f1' isn't specified"));
+        expectedErrors.put("ClassWithNoHBColumns.java", Collections.singletonList("doesn't even have a single field"));
+        expectedErrors.put("ClassesWithInvalidHBTableAnnotation.java", Arrays.asList(
+                "has a column family 'f' which has 'versions' less than 1",
+                "has empty name",
+                "has a column family with empty name",
+                "two or more column families with same name 'f'",
+                "has 'rowKeySaltBuckets' 300, which is outside the range"
+        ));
+        expectedErrors.put("ClassesWithFieldIncompatibleWithHBColumnMultiVersion.java", Arrays.asList(
+                "is not even a parameterized type",
+                "is not a NavigableMap",
+                "has unexpected type params"
+        ));
+        for (Map.Entry<String, List<String>> entry : expectedErrors.entrySet()) {
+            Compilation compilation = compileEntity(entry.getKey());
+            assertFalse(compilation.succeeded, String.format("Processor didn't fail compilation of %s", entry.getKey()));
+            for (String fragment : entry.getValue()) {
+                compilation.assertReported(compilation.errors, fragment, "an error for " + entry.getKey());
+            }
+        }
+    }
+
+    @Test
+    public void testFieldsOfNonEntityClasses() throws IOException {
+        Compilation compilation = compileEntity("ClassesWithInvalidHBTableAnnotation.java");
+        compilation.assertReported(compilation.warnings, "neither annotated with HBTable nor with MappedSuperClass", "a warning for a field of class MissingHBTableAnnotation");
+        compilation = compile(Collections.singletonList(new SourceString("com.flipkart.hbaseobjectmapper.testcases.entities.UnmappedClass", UNMAPPED_CLASS)));
+        assertTrue(compilation.succeeded, "Processor failed compilation of a class that isn't an entity: " + compilation.errors);
+        compilation.assertReported(compilation.warnings, "Field c is mapped to an HBase column", "a warning for a field of a class that isn't an entity");
+    }
+}
@@ -43,6 +43,38 @@ public class TestObjects {
             new Student(2, "S2", (short) -1, -3, -21L, -34.0f, 1.2e232, BigDecimal.valueOf(-3.2), false)
     );
 
+    public static final List<HBRecord> validSensorReadingObjects = asList(
+            new SensorReading("A", 1000L, 21.5),
+            new SensorReading("B\u0000", -5L, -0.5)
+    );
+
+    public static final List<HBRecord> validPageStatsObjects = asList(
+            new PageStats("/home", "Home", 1200, 5_000_000_000L, 12.5, false),
+            new PageStats("/archive/2010", null, 0, -1L, -0.0, true)
+    );
+
+    public static final List<HBRecord> validAddressBookObjects = asList(
+            new AddressBook("Manu", new HashMap<String, Contact>() {
+                {
+                    put("spouse", new Contact("ABCD", 8888888));
+                    put("father", new Contact("XYZ", null));
+                }
+            }, Arrays.asList(new Contact("ABCD", 8888888), new Contact(null, -1))),
+            new AddressBook("Sathish", new HashMap<>(), null)
+    );
+
+    public static final List<HBRecord> validCallLogObjects = asList(
+            new CallLog("9876543210", 5_000_000_000L, 63, (short) -64, new TreeMap<Long, Integer>() {
+                {
+                    put(1L, 100001);
+                    put(2L, Integer.MIN_VALUE);
+                    put(3L, Integer.MAX_VALUE);
+                }
+            }),
+            new CallLog("100", Long.MIN_VALUE, -1, Short.MAX_VALUE, null),
+            new CallLog("101", 0L, null, null, null)
+    );
+
     private static List<HBRecord> asList(HBRecord... hbRecords) {
         List<HBRecord> output = new ArrayList<>();
         Collections.addAll(output, hbRecords);
@@ -76,6 +108,10 @@ public class TestObjects {
             addAll(TestObjects.validCitizenObjects);
             addAll(TestObjects.validEmployeeObjects);
             addAll(TestObjects.validStudentObjects);
+            addAll(TestObjects.validSensorReadingObjects);
+            addAll(TestObjects.validPageStatsObjects);
+            addAll(TestObjects.validAddressBookObjects);
+            addAll(TestObjects.validCallLogObjects);
         }
     };
 
@@ -0,0 +1,153 @@
+package com.flipkart.hbaseobjectmapper.testcases;
+
+import com.flipkart.hbaseobjectmapper.SortedVersionsMap;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSortedVersionsMap {
+    private final Random random = new Random(42);
+
+    /**
+     * Applies same random operations on a {@link SortedVersionsMap} and a {@link TreeMap} (through views of them, at times) and compares outcomes
+     */
+    @Test
+    public void testAgainstTreeMap() {
+        for (int round = 0; round < 500; round++) {
+            TreeMap<Long, String> expected = new TreeMap<>();
+            SortedVersionsMap<String> actual = new SortedVersionsMap<>();
+            long from = random.nextInt(40), to = from + random.nextInt(40);
+            boolean fromInclusive = random.nextBoolean(), toInclusive = random.nextBoolean();
+            NavigableMap<Long, String> expectedView, actualView;
+            switch (random.nextInt(5)) {
+                case 0:
+                    expectedView = expected.subMap(from, fromInclusive, to, toInclusive);
+                    actualView = actual.subMap(from, fromInclusive, to, toInclusive);
+                    break;
+                case 1:
+                    expectedView = expected.headMap(to, toInclusive);
+                    actualView = actual.headMap(to, toInclusive);
+                    break;
+                case 2:
+                    expectedView = expected.tailMap(from, fromInclusive);
+                    actualView = actual.tailMap(from, fromInclusive);
+                    break;
+                case 3:
+                    expectedView = expected.descendingMap().subMap(to, toInclusive, from, fromInclusive);
+                    actualView = actual.descendingMap().subMap(to, toInclusive, from, fromInclusive);
+                    break;
+                default:
+                    expectedView = expected;
+                    actualView = actual;
+            }
+            if (random.nextBoolean()) {
+                expectedView = expectedView.descendingMap();
+                actualView = actualView.descendingMap();
+            }
+            for (int i = 0; i < 100; i++) {
+                long key = random.nextInt(100) - 10;
+                boolean onView = random.nextBoolean();
+                NavigableMap<Long, String> e = onView ? expectedView : expected, a = onView ? actualView : actual;
+                switch (random.nextInt(9)) {
+                    case 0:
+                    case 1:
+                    case 2:
+                        if (onView && !inView(expectedView, key)) {
+                            assertThrows(IllegalArgumentException.class, () -> a.put(key, "out of range"));
+                        } else {
+                            assertEquals(e.put(key, "v" + i), a.put(key, "v" + i));
+                        }
+                        break;
+                    case 3:
+                        assertEquals(e.remove(key), a.remove(key));
+                        break;
+                    case 4:
+                        assertEquals(e.floorEntry(key), a.floorEntry(key));
+                        assertEquals(e.ceilingKey(key), a.ceilingKey(key));
+                        assertEquals(e.higherEntry(key), a.higherEntry(key));
+                        assertEquals(e.lowerKey(key), a.lowerKey(key));
+                        break;
+                    case 5:
+                        assertEquals(e.firstEntry(), a.firstEntry());
+                        assertEquals(e.lastEntry(), a.lastEntry());
+                        break;
+                    case 6:
+                        assertEquals(e.pollFirstEntry(), a.pollFirstEntry());
+                        break;
+                    case 7:
+                        Iterator<Long> expectedKeys = e.keySet().iterator(), actualKeys = a.keySet().iterator();
+                        while (expectedKeys.hasNext()) {
+                            Long expectedKey = expectedKeys.next();
+                            assertEquals(expectedKey, actualKeys.next());
+                            if (expectedKey % 3 == 0) {
+                                expectedKeys.remove();
+                                actualKeys.remove();
+                            }
+                        }
+                        assertFalse(actualKeys.hasNext());
+                        break;
+                    default:
+                        assertEquals(new ArrayList<>(e.descendingMap().entrySet()), new ArrayList<>(a.descendingMap().entrySet()));
+                        assertEquals(outcome(() -> e.headMap(key, true).toString()), outcome(() -> a.headMap(key, true).toString()));
+                        assertEquals(outcome(() -> e.tailMap(key, false).size()), outcome(() -> a.tailMap(key, false).size()));
+                }
+                assertEquals(expected, actual);
+                assertEquals(expected.hashCode(), actual.hashCode());
+                assertEquals(expectedView.toString(), actualView.toString());
+                assertEquals(expectedView.size(), actualView.size());
+            }
+        }
+    }
+
+    /**
+     * @return Value returned by the callable, or class of exception it threw
+     */
+    private static Object outcome(Callable<?> callable) {
+        try {
+            return callable.call();
+        } catch (Exception e) {
+            return e.getClass();
+        }
+    }
+
+    private static boolean inView(NavigableMap<Long, String> view, long key) {
+        try {
+            view.subMap(key, true, key, true);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Test
+    public void testVersionsInEitherOrder() throws IOException, ClassNotFoundException {
+        SortedVersionsMap<Integer> versions = new SortedVersionsMap<>();
+        for (long version = 1000; version > 0; version--) { // the order in which HBase returns versions
+            versions.put(version, (int) version);
+        }
+        for (long version = 1001; version <= 2000; version++) {
+            versions.put(version, (int) version);
+        }
+        assertEquals(2000, versions.size());
+        assertEquals(Long.valueOf(1), versions.firstKey());
+        assertEquals(Long.valueOf(2000), versions.lastKey());
+        assertEquals(Integer.valueOf(1500), versions.get(1500L));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(versions);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(versions, in.readObject(), "Map changed after Java serialization and deserialization");
+        }
+        assertThrows(NullPointerException.class, () -> versions.put(null, 1));
+        assertThrows(ConcurrentModificationException.class, () -> {
+            for (Long version : versions.keySet()) {
+                versions.remove(version);
+            }
+        });
+    }
+}
@@ -0,0 +1,227 @@
+package com.flipkart.hbaseobjectmapper.testcases;
+
+import com.flipkart.hbaseobjectmapper.WriteBehindQueueTC;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests write-behind queue (behind <code>persistAsync</code> of DAOs) against a stub table, whose writes can be held up and made to fail
+ */
+public class TestWriteBehindQueue {
+    private static final TableName TABLE_NAME = TableName.valueOf("write_behind");
+    private static final long PUT_SIZE = put(0).heapSize(); // all puts of these tests are of the same size
+
+    /**
+     * Stub of a table: A call to <code>batch</code> waits for the gate to open, fails mutations of rows prefixed 'bad' (individually) and
+     * throws {@link #toThrow} (once), if set
+     */
+    private static class StubTable {
+        volatile CountDownLatch gate = new CountDownLatch(0);
+        final Semaphore batchesStarted = new Semaphore(0);
+        final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        volatile Throwable toThrow;
+
+        Connection connection() {
+            final Table table = (Table) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Table.class}, (proxy, method, args) -> {
+                if (method.getName().equals("batch")) {
+                    batchesStarted.release();
+                    gate.await();
+                    final Throwable throwable = toThrow;
+                    if (throwable != null) {
+                        toThrow = null;
+                        throw throwable;
+                    }
+                    final List<?> mutations = (List<?>) args[0];
+                    final Object[] results = (Object[]) args[1];
+                    batchSizes.add(mutations.size());
+                    for (int i = 0; i < mutations.size(); i++) {
+                        results[i] = Bytes.toString(((Mutation) mutations.get(i)).getRow()).startsWith("bad") ? new IOException("Write failed") : new Object();
+                    }
+                }
+                return null;
+            });
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Connection.class},
+                    (proxy, method, args) -> method.getName().equals("getTable") ? table : null);
+        }
+
+        /**
+         * Holds up writes, and waits till a batch is being written (so that it's held up)
+         */
+        void holdUpNextBatch() {
+            gate = new CountDownLatch(1);
+        }
+
+        void awaitBatchStart() throws InterruptedException {
+            assertTrue(batchesStarted.tryAcquire(1, TimeUnit.MINUTES), "Background thread didn't start writing a batch");
+        }
+
+        void release() {
+            gate.countDown();
+        }
+    }
+
+    private static Put put(int i) {
+        return put("r" + i);
+    }
+
+    private static Put put(String row) {
+        return new Put(Bytes.toBytes(row)).addColumn(Bytes.toBytes("a"), Bytes.toBytes("c"), Bytes.toBytes(row));
+    }
+
+    @Test
+    public void testCapacityAndRejection() throws Exception {
+        StubTable stub = new StubTable();
+        WriteBehindQueueTC queue = new WriteBehindQueueTC(stub.connection(), TABLE_NAME, 3 * PUT_SIZE, ForkJoinPool.commonPool());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        stub.holdUpNextBatch();
+        futures.add(queue.enqueue(put(0), 0));
+        stub.awaitBatchStart();
+        futures.add(queue.enqueue(put(1), 0));
+        futures.add(queue.enqueue(put(2), 0)); // mutations being written count towards capacity too
+        assertThrows(RejectedExecutionException.class, () -> queue.enqueue(put(3), 0), "Full queue accepted a mutation");
+        long start = System.nanoTime();
+        assertThrows(RejectedExecutionException.class, () -> queue.enqueue(put(3), 200), "Full queue accepted a mutation after waiting");
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200), "Full queue rejected a mutation before waiting as long as asked to");
+        stub.release();
+        queue.flush();
+        for (CompletableFuture<Void> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        assertEquals(Integer.valueOf(2), stub.batchSizes.get(1), "Mutations queued while a batch was being written weren't written as one batch");
+        Put large = new Put(Bytes.toBytes("large"));
+        for (int i = 0; i < 10; i++) {
+            large.addColumn(Bytes.toBytes("a"), Bytes.toBytes("c" + i), new byte[1024]);
+        }
+        queue.enqueue(large, 0).get(1, TimeUnit.MINUTES); // larger than capacity, but queue is empty
+        queue.close();
+    }
+
+    @Test
+    public void testBlocksUntilRoom() throws Exception {
+        StubTable stub = new StubTable();
+        WriteBehindQueueTC queue = new WriteBehindQueueTC(stub.connection(), TABLE_NAME, PUT_SIZE, ForkJoinPool.commonPool());
+        stub.holdUpNextBatch();
+        CompletableFuture<Void> first = queue.enqueue(put(0), 0);
+        stub.awaitBatchStart();
+        CompletableFuture<CompletableFuture<Void>> blocked = CompletableFuture.supplyAsync(() -> {
+            try {
+                return queue.enqueue(put(1), Long.MAX_VALUE);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(200);
+        assertFalse(blocked.isDone(), "Mutation was accepted into a full queue (producer didn't wait for room)");
+        stub.release();
+        CompletableFuture<Void> second = blocked.get(1, TimeUnit.MINUTES);
+        assertFalse(stub.batchSizes.isEmpty(), "Room was made before mutation was written");
+        first.get(1, TimeUnit.MINUTES);
+        second.get(1, TimeUnit.MINUTES);
+        queue.close();
+    }
+
+    @Test
+    public void testFailedWrites() throws Exception {
+        StubTable stub = new StubTable();
+        WriteBehindQueueTC queue = new WriteBehindQueueTC(stub.connection(), TABLE_NAME, Long.MAX_VALUE, ForkJoinPool.commonPool());
+        stub.holdUpNextBatch();
+        queue.enqueue(put(0), 0);
+        stub.awaitBatchStart();
+        CompletableFuture<Void> good = queue.enqueue(put(1), 0), bad = queue.enqueue(put("bad1"), 0);
+        stub.release();
+        good.get(1, TimeUnit.MINUTES);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> bad.get(1, TimeUnit.MINUTES), "Failure of an individual write wasn't propagated to its future");
+        assertTrue(e.getCause() instanceof IOException);
+        stub.toThrow = new IOException("Batch failed");
+        e = assertThrows(ExecutionException.class, () -> queue.enqueue(put(2), 0).get(1, TimeUnit.MINUTES), "Failure of a batch wasn't propagated to its futures");
+        assertEquals("Batch failed", e.getCause().getMessage());
+        stub.toThrow = new OutOfMemoryError("Simulated");
+        e = assertThrows(ExecutionException.class, () -> queue.enqueue(put(3), 0).get(1, TimeUnit.MINUTES), "Error thrown by a batch wasn't propagated to its futures");
+        assertTrue(e.getCause() instanceof OutOfMemoryError);
+        queue.enqueue(put(4), 0).get(1, TimeUnit.MINUTES); // queue keeps writing after an error
+        queue.flush();
+        queue.close();
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        StubTable stub = new StubTable();
+        WriteBehindQueueTC queue = new WriteBehindQueueTC(stub.connection(), TABLE_NAME, Long.MAX_VALUE, ForkJoinPool.commonPool());
+        stub.holdUpNextBatch();
+        CompletableFuture<Void> first = queue.enqueue(put(0), 0);
+        stub.awaitBatchStart();
+        CompletableFuture<Void> second = queue.enqueue(put(1), 0);
+        stub.release();
+        queue.close();
+        assertEquals(2, stub.batchSizes.size(), "Close didn't wait for queued mutations to be written");
+        first.get(1, TimeUnit.MINUTES);
+        second.get(1, TimeUnit.MINUTES);
+        assertThrows(IllegalStateException.class, () -> queue.enqueue(put(2), 0), "Closed queue accepted a mutation");
+    }
+
+    @Test
+    public void testCallbacks() throws Exception {
+        StubTable stub = new StubTable();
+        WriteBehindQueueTC queue = new WriteBehindQueueTC(stub.connection(), TABLE_NAME, PUT_SIZE, ForkJoinPool.commonPool());
+        stub.holdUpNextBatch();
+        CompletableFuture<Void> first = queue.enqueue(put(0), 0);
+        stub.awaitBatchStart();
+        CompletableFuture<Void> flushedInCallback = first.thenRun(() -> {
+            try {
+                queue.flush();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        CompletableFuture<Void> enqueuedInCallback = first.thenCompose(ignored -> {
+            try {
+                return queue.enqueue(put(1), Long.MAX_VALUE); // queue is full until first mutation is written
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        stub.release();
+        flushedInCallback.get(1, TimeUnit.MINUTES);
+        enqueuedInCallback.get(1, TimeUnit.MINUTES);
+        queue.close();
+    }
+
+    @Test
+    public void testStoppedBackgroundThread() throws Exception {
+        StubTable stub = new StubTable();
+        Executor failingExecutor = task -> {
+            throw new StackOverflowError("Simulated");
+        };
+        WriteBehindQueueTC queue = new WriteBehindQueueTC(stub.connection(), TABLE_NAME, Long.MAX_VALUE, failingExecutor);
+        stub.holdUpNextBatch();
+        CompletableFuture<Void> first = queue.enqueue(put(0), 0);
+        stub.awaitBatchStart();
+        CompletableFuture<Void> second = queue.enqueue(put(1), 0);
+        stub.release();
+        assertThrows(IllegalStateException.class, queue::flush, "Flush didn't detect that background thread stopped");
+        assertTrue(first.isCompletedExceptionally() && second.isCompletedExceptionally(), "Mutations pending when background thread stopped weren't failed");
+        assertThrows(IllegalStateException.class, () -> queue.enqueue(put(2), Long.MAX_VALUE), "Queue accepted a mutation after its background thread stopped");
+        queue.close();
+    }
+}
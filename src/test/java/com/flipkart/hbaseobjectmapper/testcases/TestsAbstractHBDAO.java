@@ -9,9 +9,12 @@ import com.flipkart.hbaseobjectmapper.testcases.util.cluster.InMemoryHBaseCluste
 import com.flipkart.hbaseobjectmapper.testcases.util.cluster.RealHBaseCluster;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.Durability;
+import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
@@ -22,6 +25,9 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static com.flipkart.hbaseobjectmapper.testcases.util.LiteralsUtil.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -140,6 +146,15 @@ class TestsAbstractHBDAO extends BaseHBDAOTests {
                 assertArrayEquals(expectedCitizens, Iterables.toArray(citizenIterable, Citizen.class), "Fetch directly vs fetch via iterable differ in results [row key prefix]");
                 assertArrayEquals(expectedCitizens, allCitizens, "Results of Get by array of row keys did not match that of list");
             }
+            try (Records<Citizen> citizenIterable = citizenDao.recordsByPrefix(citizenDao.toBytes("IND#"))) {
+                Citizen reusedCitizen = new Citizen();
+                int i = 0;
+                for (Citizen citizen : citizenIterable.reusing(reusedCitizen)) {
+                    assertSame(reusedCitizen, citizen, "Iterating by reusing a record returned a different object");
+                    assertEquals(allCitizens[i++], citizen, "Fetch directly vs fetch via iterable (reusing a record) differ in results [row key prefix]");
+                }
+                assertEquals(allCitizens.length, i, "Iterating by reusing a record returned fewer records");
+            }
             try (Records<Citizen> citizenIterable = citizenDao.records("IND#101", true, "IND#102", true, 1, 1000)) {
                 Iterator<Citizen> iterator = citizenIterable.iterator();
                 Citizen citizen1 = iterator.next();
@@ -251,6 +266,141 @@ class TestsAbstractHBDAO extends BaseHBDAOTests {
         }
     }
 
+    @Test
+    public void testFieldProjection() throws IOException {
+        try {
+            createTables(Citizen.class);
+            CitizenDAO citizenDao = new CitizenDAO(connection);
+            Citizen citizen = new Citizen("IND", 130, "Jane", (short) 40, 50000, true, 1.0f, 2.0, 3L, null, null, null, null, null, null);
+            String rowKey = citizenDao.persist(citizen);
+            Set<String> fieldNames = s("name", "sal");
+            Citizen projected = citizenDao.get(rowKey, fieldNames);
+            assertEquals(new Citizen("IND", 130, "Jane", null, 50000, null, null, null, null, null, null, null, null, null, null), projected, "get with field projection returned unexpected record");
+            assertEquals(Collections.singletonList(projected), citizenDao.get(Collections.singletonList(rowKey), fieldNames), "Bulk get with field projection returned unexpected records");
+            assertEquals(Collections.singletonList(projected), citizenDao.get(new Scan(), fieldNames), "Scan with field projection returned unexpected records");
+            try (Records<Citizen> records = citizenDao.records(new Scan(), fieldNames)) {
+                assertArrayEquals(new Citizen[]{projected}, Iterables.toArray(records, Citizen.class), "Iterable scan with field projection returned unexpected records");
+            }
+            assertThrows(IllegalArgumentException.class, () -> citizenDao.get(rowKey, s("blahblah")), "Projection on a non-existent field should have failed");
+            assertThrows(IllegalArgumentException.class, () -> citizenDao.get(rowKey, Collections.emptySet()), "Projection on no fields should have failed");
+        } finally {
+            deleteTables(Citizen.class);
+        }
+    }
+
+    @Test
+    public void testFieldProjectionOfPrimitives() throws IOException {
+        try {
+            createTables(PageStats.class);
+            PageStatsDAO pageStatsDAO = new PageStatsDAO(connection);
+            String rowKey = pageStatsDAO.persist(new PageStats("/home", "Home", 1200, 5_000_000_000L, 12.5, true));
+            PageStats projected = pageStatsDAO.get(rowKey, s("views", "bytesServed", "avgLatency", "archived"));
+            assertEquals(new PageStats("/home", null, 1200, 5_000_000_000L, 12.5, true), projected, "get with field projection returned unexpected record");
+            assertThrows(IllegalArgumentException.class, () -> pageStatsDAO.get(rowKey, s("title")), "Projection that leaves out primitive fields should have failed (they'd be read as if the row had no values for them)");
+            assertThrows(IllegalArgumentException.class, () -> pageStatsDAO.get(new Scan(), s("title", "views")), "Projection (of scan) that leaves out primitive fields should have failed");
+            assertEquals(new PageStats("/home", "Home", 1200, 5_000_000_000L, 12.5, true), pageStatsDAO.get(rowKey), "Values of primitive fields changed");
+        } finally {
+            deleteTables(PageStats.class);
+        }
+    }
+
+    @Test
+    public void testParallelDecoding() throws IOException {
+        try {
+            createTables(Citizen.class);
+            CitizenDAO citizenDao = new CitizenDAO(connection);
+            ParallelDecodingCitizenDAO parallelDecodingCitizenDAO = new ParallelDecodingCitizenDAO(connection);
+            List<String> rowKeys = citizenDao.persist(TestObjects.validCitizenObjects);
+            rowKeys.add("IND#0"); // a row key that doesn't exist
+            List<Citizen> expectedCitizens = citizenDao.get(rowKeys, Integer.MAX_VALUE);
+            assertEquals(expectedCitizens, parallelDecodingCitizenDAO.get(rowKeys, Integer.MAX_VALUE), "Parallel deserialization of multi-get changed results (or their order)");
+            assertArrayEquals(expectedCitizens.toArray(new Citizen[0]), parallelDecodingCitizenDAO.get(rowKeys.toArray(new String[0]), Integer.MAX_VALUE), "Parallel deserialization of multi-get (by array) changed results (or their order)");
+            List<Get> gets = new ArrayList<>(rowKeys.size());
+            for (String rowKey : rowKeys) {
+                gets.add(parallelDecodingCitizenDAO.getGet(rowKey));
+            }
+            assertEquals(citizenDao.getOnGets(gets), parallelDecodingCitizenDAO.getOnGets(gets), "Parallel deserialization of multi-get (by Get objects) changed results (or their order)");
+        } finally {
+            deleteTables(Citizen.class);
+        }
+    }
+
+    @Test
+    public void testWriteBuffering() throws IOException {
+        try {
+            createTables(Citizen.class);
+            CitizenDAO citizenDao = new CitizenDAO(connection);
+            BufferedCitizenDAO bufferedCitizenDAO = new BufferedCitizenDAO(connection);
+            List<String> rowKeys = new ArrayList<>();
+            for (Citizen citizen : TestObjects.validCitizenObjects) {
+                rowKeys.add(bufferedCitizenDAO.persist(citizen));
+            }
+            assertSame(bufferedCitizenDAO.getBufferedMutator(), bufferedCitizenDAO.getBufferedMutator(), "Buffered mutator wasn't reused");
+            for (String rowKey : rowKeys) {
+                assertNull(citizenDao.get(rowKey), "Buffered write was sent to HBase before flush");
+            }
+            bufferedCitizenDAO.flush();
+            for (String rowKey : rowKeys) {
+                assertNotNull(citizenDao.get(rowKey), "Buffered write wasn't sent to HBase on flush");
+            }
+            bufferedCitizenDAO.delete(rowKeys.get(0));
+            assertNotNull(citizenDao.get(rowKeys.get(0)), "Buffered delete was sent to HBase before flush");
+            bufferedCitizenDAO.close();
+            assertNull(citizenDao.get(rowKeys.get(0)), "Buffered delete wasn't sent to HBase on close");
+        } finally {
+            deleteTables(Citizen.class);
+        }
+    }
+
+    @Test
+    public void testWriteBehind() throws Exception {
+        try {
+            createTables(Citizen.class);
+            CitizenDAO citizenDao = new CitizenDAO(connection);
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            for (Citizen citizen : TestObjects.validCitizenObjects) {
+                futures.add(citizenDao.persistAsync(citizen));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                String rowKey = futures.get(i).get(1, TimeUnit.MINUTES);
+                assertEquals(TestObjects.validCitizenObjects.get(i).composeRowKey(), rowKey, "Future of write-behind completed with a different row key");
+                assertNotNull(citizenDao.get(rowKey), "Write-behind future completed before the write");
+            }
+            CompletableFuture<String> last = citizenDao.persistAsync(TestObjects.validCitizenObjects.get(0));
+            citizenDao.close();
+            assertEquals(TestObjects.validCitizenObjects.get(0).composeRowKey(), last.get(1, TimeUnit.MINUTES), "Queued write failed on close");
+        } finally {
+            deleteTables(Citizen.class);
+        }
+    }
+
+    @Test
+    public void testWriteBehindBackpressure() throws Exception {
+        try {
+            createTables(Citizen.class);
+            CitizenDAO citizenDao = new CitizenDAO(connection);
+            BoundedWriteBehindCitizenDAO boundedDao = new BoundedWriteBehindCitizenDAO(connection);
+            Citizen citizen = TestObjects.validCitizenObjects.get(0);
+            List<CompletableFuture<String>> accepted = new ArrayList<>();
+            int rejected = 0;
+            for (int i = 0; i < 100; i++) {
+                try {
+                    accepted.add(boundedDao.persistAsync(citizen));
+                } catch (RejectedExecutionException e) {
+                    rejected++; // a write is still pending, and there's no room for another
+                }
+            }
+            assertTrue(rejected > 0, "Writes beyond capacity of write-behind queue weren't rejected");
+            for (CompletableFuture<String> future : accepted) {
+                assertEquals(citizen.composeRowKey(), future.get(1, TimeUnit.MINUTES), "Accepted write-behind write failed");
+            }
+            boundedDao.close();
+            assertNotNull(citizenDao.get(citizen.composeRowKey()), "Accepted write-behind write wasn't written");
+        } finally {
+            deleteTables(Citizen.class);
+        }
+    }
+
     @Test
     public void testCustom() throws IOException {
         try {
@@ -288,6 +438,52 @@ class TestsAbstractHBDAO extends BaseHBDAOTests {
         }
     }
 
+    @Test
+    public void testIncrementOfVarint() throws IOException {
+        try {
+            createTables(CallLog.class);
+            CallLogDAO callLogDAO = new CallLogDAO(connection);
+            String rowKey = callLogDAO.persist(new CallLog("9999999999", 10L, 2, (short) 300, nm(e(1L, 12345))));
+            assertThrows(IllegalArgumentException.class, () -> callLogDAO.increment(rowKey, "totalCalls", 4L), "Attempt to increment a field serialized as a variable-length integer succeeded (it shouldn't have)");
+            assertEquals(10L, (long) callLogDAO.fetchFieldValue(rowKey, "totalCalls"), "Value of a field serialized as a variable-length integer changed on a failed increment");
+        } finally {
+            deleteTables(CallLog.class);
+        }
+    }
+
+    @Test
+    public void testPersistChanges() throws IOException {
+        try {
+            createTables(Counter.class);
+            CounterDAO counterDAO = new CounterDAO(connection);
+            TrackedCounterDAO trackedCounterDAO = new TrackedCounterDAO(connection);
+            Counter counter = new Counter("c1", nm(e(1L, 10L), e(2L, 20L)));
+            counter.setVar(1L);
+            trackedCounterDAO.persist(counter);
+            Counter trackedCounter = trackedCounterDAO.get("c1", 10);
+            assertEquals(counter, trackedCounter, "Record read through a DAO with change tracking differs from what was persisted");
+            counterDAO.increment("c1", "var", 5L); // a concurrent write, to a field that won't be changed in tracked record
+            trackedCounter.badvarI = 3000;
+            trackedCounter.getValue().remove(1L);
+            trackedCounter.setValue(3L, 30L);
+            assertEquals("c1", trackedCounterDAO.persistChanges(trackedCounter));
+            Counter counterAfterChanges = counterDAO.get("c1", 10);
+            assertEquals(6L, (long) counterAfterChanges.getVar(), "persistChanges wrote a field that wasn't changed");
+            assertEquals(Integer.valueOf(3000), counterAfterChanges.badvarI, "persistChanges didn't write a modified field");
+            assertEquals(nm(e(2L, 20L), e(3L, 30L)), counterAfterChanges.getValue(), "persistChanges didn't apply changes to versions of a multi-versioned field");
+            trackedCounter.badvarI = null;
+            trackedCounterDAO.persistChanges(trackedCounter);
+            assertNull(counterDAO.fetchFieldValue("c1", "badvarI"), "persistChanges didn't delete a field that was set to null");
+            assertEquals(6L, (long) counterDAO.fetchFieldValue("c1", "var"), "persistChanges wrote a field that wasn't changed (on second call)");
+            Counter untrackedCounter = counterDAO.get("c1");
+            untrackedCounter.setVar(100L);
+            counterDAO.persistChanges(untrackedCounter); // change tracking isn't enabled, so this falls back to persist
+            assertEquals(100L, (long) counterDAO.fetchFieldValue("c1", "var"), "persistChanges didn't fall back to persist when change tracking is disabled");
+        } finally {
+            deleteTables(Counter.class);
+        }
+    }
+
     @Test
     public void testVersioning() throws IOException {
         try {
@@ -398,6 +594,36 @@ class TestsAbstractHBDAO extends BaseHBDAOTests {
         }
     }
 
+    @Test
+    public void testSaltedCompositeRowKeys() throws IOException {
+        try {
+            createTables(SensorReading.class);
+            SensorReadingDAO sensorReadingDAO = new SensorReadingDAO(connection);
+            List<SensorReading> readings = new ArrayList<>();
+            for (String sensorId : Arrays.asList("A", "B", "C")) {
+                for (long timestamp = -50; timestamp < 50; timestamp++) {
+                    readings.add(new SensorReading(sensorId, timestamp, (double) timestamp));
+                }
+            }
+            List<SensorReading> shuffledReadings = new ArrayList<>(readings);
+            Collections.shuffle(shuffledReadings, new Random(7));
+            sensorReadingDAO.persist(shuffledReadings);
+            assertEquals(readings.get(42), sensorReadingDAO.get(new SensorReadingKey("A", -8)), "Random access of a record with salted row key failed");
+            List<SensorReading> rangeOfReadings = sensorReadingDAO.get(new SensorReadingKey("A", 0), new SensorReadingKey("B", 10));
+            assertEquals(readings.subList(50, 160), rangeOfReadings, "Range of records across salt buckets isn't in order of row keys");
+            assertEquals(readings.subList(50, 160), Lists.newArrayList(sensorReadingDAO.records(new SensorReadingKey("A", 0), new SensorReadingKey("B", 10))), "Iteration over range of records across salt buckets isn't in order of row keys");
+            assertEquals(readings.subList(100, 200), sensorReadingDAO.getByPrefix(Bytes.toBytes("B")), "Records with a row key prefix across salt buckets aren't in order of row keys");
+            try (Records<SensorReading> records = sensorReadingDAO.recordsByPrefix(Bytes.toBytes("C"))) {
+                assertEquals(readings.subList(200, 300), Lists.newArrayList(records), "Iteration over records with a row key prefix across salt buckets isn't in order of row keys");
+            }
+            assertEquals(100, sensorReadingDAO.fetchFieldValues(new SensorReadingKey("C", Long.MIN_VALUE), new SensorReadingKey("D", Long.MIN_VALUE), "value", 1).size(), "Fetch of field values across salt buckets missed records");
+            sensorReadingDAO.close(); // shuts down pool on which salt buckets are scanned, which is recreated on next range scan
+            assertEquals(rangeOfReadings, sensorReadingDAO.get(new SensorReadingKey("A", 0), new SensorReadingKey("B", 10)), "Range of records across salt buckets couldn't be fetched after DAO was closed");
+        } finally {
+            deleteTables(SensorReading.class);
+        }
+    }
+
     @AfterAll
     public static void tearDown() throws Exception {
         connection.close();
@@ -1,5 +1,7 @@
 package com.flipkart.hbaseobjectmapper.testcases.codec;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flipkart.hbaseobjectmapper.*;
 import com.flipkart.hbaseobjectmapper.codec.*;
 import com.flipkart.hbaseobjectmapper.codec.exceptions.DeserializationException;
@@ -8,14 +10,23 @@ import com.flipkart.hbaseobjectmapper.exceptions.CodecException;
 import com.flipkart.hbaseobjectmapper.exceptions.RowKeyCantBeComposedException;
 import com.flipkart.hbaseobjectmapper.testcases.TestObjects;
 import com.flipkart.hbaseobjectmapper.testcases.entities.Citizen;
+import com.flipkart.hbaseobjectmapper.testcases.entities.Contact;
+import com.google.common.primitives.Primitives;
 import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
 import org.junit.jupiter.api.Test;
 
 import java.io.Serializable;
 import java.lang.reflect.*;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.util.*;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 @SuppressWarnings("unchecked")
@@ -57,7 +68,9 @@ public class TestCodecs {
                         }
                     } else {
                         Serializable fieldValue = (Serializable) field.get(record);
-                        verifyFieldSerDe(codec, objectClass.getSimpleName() + "." + fieldName, field.getGenericType(), fieldValue, toMap(field.getAnnotation(HBColumn.class).codecFlags()));
+                        // values of primitive fields are serialized as those of their wrapper types
+                        final Type fieldType = field.getType().isPrimitive() ? Primitives.wrap(field.getType()) : field.getGenericType();
+                        verifyFieldSerDe(codec, objectClass.getSimpleName() + "." + fieldName, fieldType, fieldValue, toMap(field.getAnnotation(HBColumn.class).codecFlags()));
                     }
                 }
             }
@@ -91,6 +104,376 @@ public class TestCodecs {
         assertEquals(fieldValue, deserializedFieldValue,
                 String.format("Field %s got corrupted after serialization and deserialization of it's value:%n%s%n", fieldFullName, fieldValue)
         );
+        final byte[] prefix = new byte[]{1, 2, 3};
+        ByteArrayBuffer buffer = new ByteArrayBuffer(1);
+        buffer.write(prefix, 0, prefix.length);
+        codec.serialize(fieldValue, flags, buffer);
+        ValueCodec valueCodec = codec.compile(type, flags);
+        assertArrayEquals(bytes, valueCodec.serialize(fieldValue), String.format("Field %s serialized differently by compiled codec", fieldFullName));
+        ByteArrayBuffer compiledBuffer = new ByteArrayBuffer(1);
+        compiledBuffer.write(prefix, 0, prefix.length);
+        valueCodec.serialize(fieldValue, compiledBuffer);
+        assertArrayEquals(buffer.toByteArray(), compiledBuffer.toByteArray(), String.format("Field %s serialized differently into a buffer by compiled codec", fieldFullName));
+        if (bytes == null) {
+            assertEquals(prefix.length, buffer.size(), String.format("Field %s serialized to null, but something was written to buffer", fieldFullName));
+            return;
+        }
+        assertEquals(fieldValue, valueCodec.deserialize(bytes, 0, bytes.length),
+                String.format("Field %s got corrupted after deserialization by compiled codec", fieldFullName));
+        byte[] bufferBytes = buffer.toByteArray();
+        assertArrayEquals(bytes, Arrays.copyOfRange(bufferBytes, prefix.length, bufferBytes.length),
+                String.format("Field %s serialized differently into a buffer", fieldFullName));
+        assertEquals(fieldValue, codec.deserialize(bufferBytes, prefix.length, bufferBytes.length - prefix.length, type, flags),
+                String.format("Field %s got corrupted after deserialization from a slice of byte array", fieldFullName));
+        ByteBuffer byteBuffer = ByteBuffer.allocateDirect(bufferBytes.length);
+        byteBuffer.put(bufferBytes).position(prefix.length);
+        assertEquals(fieldValue, codec.deserialize(byteBuffer, type, flags),
+                String.format("Field %s got corrupted after deserialization from a ByteBuffer", fieldFullName));
+    }
+
+    @Test
+    public void testBestSuitCodecJsonPerformance() throws Exception {
+        final int numOfIterations = 100000;
+        ObjectMapper objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        BestSuitCodec codec = new BestSuitCodec(objectMapper);
+        Type type = Citizen.class.getDeclaredField("emergencyContacts2").getGenericType();
+        HashMap<String, Contact> value = new HashMap<>();
+        value.put("spouse", new Contact("ABCD", 8888888));
+        value.put("father", new Contact("XYZ", 89898));
+        byte[] bytes = objectMapper.writeValueAsBytes(value);
+        assertArrayEquals(bytes, codec.serialize(value, null), "Codec serialized JSON differently from Jackson's ObjectMapper");
+        assertEquals(value, codec.deserialize(bytes, type, null), "Codec deserialized JSON differently from Jackson's ObjectMapper");
+        for (int round = 1; round <= 2; round++) { // first round warms up
+            long start = System.nanoTime();
+            for (int i = 0; i < numOfIterations; i++) {
+                objectMapper.writeValueAsBytes(value);
+                objectMapper.readValue(bytes, objectMapper.constructType(type));
+            }
+            long objectMapperNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int i = 0; i < numOfIterations; i++) {
+                codec.serialize(value, null);
+                codec.deserialize(bytes, type, null);
+            }
+            long codecNanos = System.nanoTime() - start;
+            System.out.printf("[round %d] Time taken for %d serializations and deserializations of %s: %.2fms through ObjectMapper (type resolved per call) vs %.2fms through %s (cached reader/writer per type)%n",
+                    round, numOfIterations, type, objectMapperNanos / 1e6, codecNanos / 1e6, BestSuitCodec.class.getSimpleName());
+        }
+    }
+
+    @Test
+    public void testBestSuitCodecSmile() throws Exception {
+        BestSuitCodec codec = new BestSuitCodec();
+        Type type = Citizen.class.getDeclaredField("emergencyContacts2").getGenericType();
+        HashMap<String, Contact> value = new HashMap<>();
+        value.put("spouse", new Contact("ABCD", 8888888));
+        value.put("father", new Contact("XYZ", 89898));
+        final Map<String, String> smileFlags = new HashMap<>();
+        smileFlags.put(BestSuitCodec.SERIALIZE_AS_SMILE, "true");
+        byte[] jsonBytes = codec.serialize(value, null);
+        byte[] smileBytes = codec.serialize(value, smileFlags);
+        assertArrayEquals(new byte[]{':', ')', '\n'}, Arrays.copyOf(smileBytes, 3), "Value wasn't serialized in Smile format");
+        assertTrue(smileBytes.length < jsonBytes.length, String.format("Smile (%d bytes) isn't more compact than JSON (%d bytes)", smileBytes.length, jsonBytes.length));
+        System.out.printf("Serialized %s into %d bytes of JSON and %d bytes of Smile%n", type, jsonBytes.length, smileBytes.length);
+        for (Map<String, String> flags : Arrays.asList(null, smileFlags)) {
+            ValueCodec valueCodec = codec.compile(type, flags);
+            for (byte[] bytes : Arrays.asList(jsonBytes, smileBytes)) {
+                assertEquals(value, codec.deserialize(bytes, type, flags), "Value got corrupted on deserialization (irrespective of format it was stored in)");
+                assertEquals(value, valueCodec.deserialize(bytes, 0, bytes.length), "Value got corrupted on deserialization by compiled codec (irrespective of format it was stored in)");
+            }
+        }
+    }
+
+    @Test
+    public void testBestSuitCodecCompression() throws Exception {
+        BestSuitCodec codec = new BestSuitCodec();
+        Type type = Citizen.class.getDeclaredField("emergencyContacts2").getGenericType();
+        HashMap<String, Contact> smallValue = new HashMap<>(), largeValue = new HashMap<>();
+        smallValue.put("spouse", new Contact("ABCD", 8888888));
+        for (int i = 0; i < 500; i++) {
+            largeValue.put("contact" + i, new Contact("Contact Name " + i, 9000000 + i));
+        }
+        for (boolean smile : new boolean[]{false, true}) {
+            final Map<String, String> flags = new HashMap<>(), compressionFlags = new HashMap<>();
+            flags.put(BestSuitCodec.SERIALIZE_AS_SMILE, String.valueOf(smile));
+            compressionFlags.putAll(flags);
+            compressionFlags.put(BestSuitCodec.COMPRESS, "true");
+            ValueCodec valueCodec = codec.compile(type, compressionFlags);
+            assertArrayEquals(codec.serialize(smallValue, flags), codec.serialize(smallValue, compressionFlags), "Value smaller than threshold got compressed");
+            byte[] uncompressedBytes = codec.serialize(largeValue, flags);
+            byte[] compressedBytes = codec.serialize(largeValue, compressionFlags);
+            assertEquals(0, compressedBytes[0], "Value larger than threshold wasn't compressed");
+            assertTrue(compressedBytes.length < uncompressedBytes.length, String.format("Compressed value (%d bytes) isn't smaller than uncompressed value (%d bytes)", compressedBytes.length, uncompressedBytes.length));
+            System.out.printf("Serialized %d contacts into %d bytes, which got compressed to %d bytes (smile = %s)%n", largeValue.size(), uncompressedBytes.length, compressedBytes.length, smile);
+            assertArrayEquals(compressedBytes, valueCodec.serialize(largeValue), "Compiled codec compressed value differently");
+            ByteArrayBuffer buffer = new ByteArrayBuffer(1);
+            buffer.write(7);
+            valueCodec.serialize(largeValue, buffer);
+            byte[] bufferBytes = buffer.toByteArray();
+            assertArrayEquals(compressedBytes, Arrays.copyOfRange(bufferBytes, 1, bufferBytes.length), "Value was compressed differently into a buffer");
+            assertEquals(largeValue, valueCodec.deserialize(bufferBytes, 1, bufferBytes.length - 1), "Compressed value got corrupted on deserialization from a slice of byte array");
+            for (byte[] bytes : Arrays.asList(uncompressedBytes, compressedBytes)) {
+                assertEquals(largeValue, codec.deserialize(bytes, type, flags), "Value got corrupted on deserialization (irrespective of whether it was compressed)");
+                assertEquals(largeValue, valueCodec.deserialize(bytes, 0, bytes.length), "Value got corrupted on deserialization by compiled codec (irrespective of whether it was compressed)");
+            }
+        }
+        final Map<String, String> invalidFlags = new HashMap<>();
+        invalidFlags.put(BestSuitCodec.COMPRESS, "true");
+        invalidFlags.put(BestSuitCodec.COMPRESSION_THRESHOLD, "-1");
+        assertThrows(IllegalArgumentException.class, () -> codec.compile(type, invalidFlags), "Invalid compression threshold was accepted");
+    }
+
+    @Test
+    public void testBestSuitCodecVarint() throws Exception {
+        BestSuitCodec codec = new BestSuitCodec();
+        final Map<String, String> flags = new HashMap<>();
+        flags.put(BestSuitCodec.SERIALIZE_AS_VARINT, "true");
+        List<Serializable> values = Arrays.asList(0L, -1L, 63L, -64L, 64L, 8191L, -8193L, Long.MIN_VALUE, Long.MAX_VALUE,
+                0, -1, 100000, Integer.MIN_VALUE, Integer.MAX_VALUE, (short) 0, (short) -300, Short.MIN_VALUE, Short.MAX_VALUE);
+        for (Serializable value : values) {
+            ValueCodec valueCodec = codec.compile(value.getClass(), flags);
+            byte[] bytes = codec.serialize(value, flags);
+            long magnitude = Math.abs(((Number) value).longValue());
+            if (magnitude < 64) {
+                assertEquals(1, bytes.length, String.format("Value %s wasn't serialized into a single byte", value));
+            }
+            assertTrue(bytes.length <= 10, String.format("Value %s was serialized into %d bytes", value, bytes.length));
+            assertArrayEquals(bytes, valueCodec.serialize(value), String.format("Compiled codec serialized %s differently", value));
+            ByteArrayBuffer buffer = new ByteArrayBuffer(1);
+            buffer.write(7);
+            valueCodec.serialize(value, buffer);
+            byte[] bufferBytes = buffer.toByteArray();
+            assertArrayEquals(bytes, Arrays.copyOfRange(bufferBytes, 1, bufferBytes.length), String.format("Value %s was serialized differently into a buffer", value));
+            assertEquals(value, codec.deserialize(bytes, value.getClass(), flags), String.format("Value %s got corrupted after serialization and deserialization", value));
+            assertEquals(value, valueCodec.deserialize(bufferBytes, 1, bufferBytes.length - 1), String.format("Value %s got corrupted after deserialization from a slice of byte array", value));
+        }
+        assertEquals(8, codec.serialize(1L, null).length, "Flag changed serialization of a field it wasn't set on");
+        assertArrayEquals(codec.serialize(2.5, null), codec.serialize(2.5, flags), "Flag changed serialization of a non-integral value");
+        final byte[] largeLong = codec.serialize(Long.MAX_VALUE, flags);
+        assertThrows(DeserializationException.class, () -> codec.deserialize(largeLong, Integer.class, flags), "Out of range value was deserialized into an Integer");
+        assertThrows(DeserializationException.class, () -> codec.deserialize(new byte[]{(byte) 0x80}, Long.class, flags), "Truncated value was deserialized");
+        assertThrows(DeserializationException.class, () -> codec.deserialize(new byte[]{1, 2}, Long.class, flags), "Value with trailing bytes was deserialized");
+    }
+
+    /**
+     * Strings with {@link BestSuitCodec#SERIALIZE_AS_STRING} on are written as is, but are read as JSON (which is how this codec has always read them,
+     * so values written JSON-quoted by other writers must keep reading unquoted)
+     */
+    @Test
+    public void testBestSuitCodecStringSerializedAsString() throws Exception {
+        BestSuitCodec codec = new BestSuitCodec();
+        final Map<String, String> flags = new HashMap<>();
+        flags.put(BestSuitCodec.SERIALIZE_AS_STRING, "true");
+        ValueCodec valueCodec = codec.compile(String.class, flags);
+        assertArrayEquals(Bytes.toBytes("hello"), codec.serialize("hello", flags), "String wasn't serialized as is");
+        assertArrayEquals(Bytes.toBytes("hello"), valueCodec.serialize("hello"), "Compiled codec didn't serialize string as is");
+        byte[] quoted = Bytes.toBytes("\"hello\"");
+        assertEquals("hello", codec.deserialize(quoted, String.class, flags), "JSON-quoted string wasn't deserialized as JSON");
+        assertEquals("hello", valueCodec.deserialize(quoted, 0, quoted.length), "Compiled codec didn't deserialize JSON-quoted string as JSON");
+        assertEquals("hello", valueCodec.deserialize(Bytes.toBytes("[\"hello\"]"), 1, quoted.length), "Compiled codec didn't deserialize a slice as JSON");
+        assertEquals("123", codec.deserialize(codec.serialize("123", flags), String.class, flags), "String that's valid JSON didn't survive serialization and deserialization");
+        byte[] number = valueCodec.serialize("123");
+        assertEquals("123", valueCodec.deserialize(number, 0, number.length), "String that's valid JSON didn't survive serialization and deserialization by compiled codec");
+        assertEquals("hello", codec.deserialize(Bytes.toBytes("hello"), String.class, null), "Flag changed deserialization of a field it wasn't set on");
+    }
+
+    @Test
+    public void testPrimitiveValueCodecs() throws Exception {
+        final Map<String, String> varint = new HashMap<>();
+        varint.put(BestSuitCodec.SERIALIZE_AS_VARINT, "true");
+        for (Codec codec : Arrays.asList(new BestSuitCodec(), new JavaObjectStreamCodec())) {
+            for (Map<String, String> flags : Arrays.asList(null, varint)) {
+                for (int value : new int[]{0, -1, 300, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+                    ValueCodec valueCodec = codec.compile(Integer.class, flags);
+                    byte[] bytes = serializeAfterPrefix(buffer -> valueCodec.serializeInt(value, buffer));
+                    assertArrayEquals(codec.serialize(value, flags), Arrays.copyOfRange(bytes, 1, bytes.length), String.format("int %d was serialized differently from an Integer", value));
+                    assertEquals(value, valueCodec.deserializeInt(bytes, 1, bytes.length - 1), String.format("int %d got corrupted after serialization and deserialization", value));
+                }
+                for (long value : new long[]{0L, -1L, 5_000_000_000L, Long.MIN_VALUE, Long.MAX_VALUE}) {
+                    ValueCodec valueCodec = codec.compile(Long.class, flags);
+                    byte[] bytes = serializeAfterPrefix(buffer -> valueCodec.serializeLong(value, buffer));
+                    assertArrayEquals(codec.serialize(value, flags), Arrays.copyOfRange(bytes, 1, bytes.length), String.format("long %d was serialized differently from a Long", value));
+                    assertEquals(value, valueCodec.deserializeLong(bytes, 1, bytes.length - 1), String.format("long %d got corrupted after serialization and deserialization", value));
+                }
+                for (double value : new double[]{0.0, -0.0, 3.14159, Double.NaN, Double.NEGATIVE_INFINITY}) {
+                    ValueCodec valueCodec = codec.compile(Double.class, flags);
+                    byte[] bytes = serializeAfterPrefix(buffer -> valueCodec.serializeDouble(value, buffer));
+                    assertArrayEquals(codec.serialize(value, flags), Arrays.copyOfRange(bytes, 1, bytes.length), String.format("double %s was serialized differently from a Double", value));
+                    assertEquals(value, valueCodec.deserializeDouble(bytes, 1, bytes.length - 1), String.format("double %s got corrupted after serialization and deserialization", value));
+                }
+                for (boolean value : new boolean[]{true, false}) {
+                    ValueCodec valueCodec = codec.compile(Boolean.class, flags);
+                    byte[] bytes = serializeAfterPrefix(buffer -> valueCodec.serializeBoolean(value, buffer));
+                    assertArrayEquals(codec.serialize(value, flags), Arrays.copyOfRange(bytes, 1, bytes.length), String.format("boolean %s was serialized differently from a Boolean", value));
+                    assertEquals(value, valueCodec.deserializeBoolean(bytes, 1, bytes.length - 1), String.format("boolean %s got corrupted after serialization and deserialization", value));
+                }
+            }
+        }
+        ValueCodec longCodec = new BestSuitCodec().compile(Long.class, null);
+        assertThrows(DeserializationException.class, () -> longCodec.deserializeLong(new byte[]{1, 2, 3}, 0, 3), "Value shorter than a long was deserialized");
+    }
+
+    private interface BufferWriter {
+        void write(ByteArrayBuffer buffer) throws SerializationException;
+    }
+
+    /**
+     * @return Bytes written to a buffer (after a single byte prefix, to verify writes don't assume an empty buffer)
+     */
+    private static byte[] serializeAfterPrefix(BufferWriter writer) throws SerializationException {
+        ByteArrayBuffer buffer = new ByteArrayBuffer(1);
+        buffer.write(7);
+        writer.write(buffer);
+        return buffer.toByteArray();
+    }
+
+    @SuppressWarnings("unused")
+    static class CompositeKey implements Serializable {
+        private static final long serialVersionUID = 1L;
+        @HBRowKeyComponent(order = 0)
+        private String country;
+        @HBRowKeyComponent(order = 1)
+        private long timestamp;
+        @HBRowKeyComponent(order = 2)
+        private Integer sequence;
+        @HBRowKeyComponent(order = 3)
+        private String suffix;
+
+        CompositeKey() {
+        }
+
+        CompositeKey(String country, long timestamp, Integer sequence, String suffix) {
+            this.country = country;
+            this.timestamp = timestamp;
+            this.sequence = sequence;
+            this.suffix = suffix;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CompositeKey))
+                return false;
+            CompositeKey that = (CompositeKey) o;
+            return country.equals(that.country) && timestamp == that.timestamp && sequence.equals(that.sequence) && suffix.equals(that.suffix);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(country, timestamp, sequence, suffix);
+        }
+
+        @Override
+        public String toString() {
+            return country + "|" + timestamp + "|" + sequence + "|" + suffix;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class VersionedCompositeKey extends CompositeKey {
+        private static final long serialVersionUID = 1L;
+        @HBRowKeyComponent(order = 4)
+        private short version;
+
+        VersionedCompositeKey() {
+        }
+
+        VersionedCompositeKey(String country, long timestamp, Integer sequence, String suffix, short version) {
+            super(country, timestamp, sequence, suffix);
+            this.version = version;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class UnannotatedCompositeKey implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private String country;
+        private long timestamp;
+    }
+
+    @Test
+    public void testBestSuitCodecOrderPreserving() throws Exception {
+        BestSuitCodec codec = new BestSuitCodec();
+        final Map<String, String> flags = new HashMap<>();
+        flags.put(BestSuitCodec.ORDER_PRESERVING, "true");
+        List<List<? extends Serializable>> sortedValueLists = Arrays.asList(
+                Arrays.asList(Long.MIN_VALUE, -100000L, -1L, 0L, 1L, 255L, 256L, Long.MAX_VALUE),
+                Arrays.asList(Integer.MIN_VALUE, -2, -1, 0, 1, 65536, Integer.MAX_VALUE),
+                Arrays.asList(Short.MIN_VALUE, (short) -1, (short) 0, (short) 1, Short.MAX_VALUE),
+                Arrays.asList(Double.NEGATIVE_INFINITY, -1e10, -1.5, -Double.MIN_VALUE, 0.0, Double.MIN_VALUE, 0.5, 1e10, Double.POSITIVE_INFINITY),
+                Arrays.asList(Float.NEGATIVE_INFINITY, -2.5f, 0.0f, 2.5f, Float.MAX_VALUE),
+                Arrays.asList(false, true),
+                Arrays.asList("", "a", "a\u0000", "a\u0000b", "ab", "b", "\u00e9"),
+                Arrays.asList(
+                        new CompositeKey("IN", -5L, 1, "z"),
+                        new CompositeKey("IN", 7L, -1, ""),
+                        new CompositeKey("IN", 7L, 0, "a"),
+                        new CompositeKey("IN\u0000", Long.MIN_VALUE, 0, ""),
+                        new CompositeKey("INA", Long.MIN_VALUE, 0, ""),
+                        new CompositeKey("US", 0L, 0, "")
+                )
+        );
+        for (List<? extends Serializable> sortedValues : sortedValueLists) {
+            Class<?> clazz = sortedValues.get(0).getClass();
+            ValueCodec valueCodec = codec.compile(clazz, flags);
+            byte[] previousBytes = null;
+            for (Serializable value : sortedValues) {
+                byte[] bytes = codec.serialize(value, flags);
+                assertArrayEquals(bytes, valueCodec.serialize(value), String.format("Compiled codec serialized %s differently", value));
+                assertEquals(value, codec.deserialize(bytes, clazz, flags), String.format("Value %s got corrupted after serialization and deserialization", value));
+                assertEquals(value, valueCodec.deserialize(bytes, 0, bytes.length), String.format("Value %s got corrupted after deserialization by compiled codec", value));
+                if (previousBytes != null) {
+                    assertTrue(Bytes.compareTo(previousBytes, bytes) < 0, String.format("Serialized form of %s doesn't sort after that of its predecessor in %s", value, sortedValues));
+                }
+                previousBytes = bytes;
+            }
+        }
+        assertArrayEquals(codec.serialize("a string", null), codec.serialize("a string", flags), "Order-preserving encoding of string isn't same as regular encoding");
+        byte[] prefix = codec.serialize(new CompositeKey("IN", 7L, 0, ""), flags);
+        byte[] key = codec.serialize(new CompositeKey("IN", 7L, 0, "abc"), flags);
+        assertArrayEquals(prefix, Arrays.copyOf(key, prefix.length), "Key with an empty last component isn't a prefix of keys that differ only in last component");
+        assertThrows(IllegalArgumentException.class, () -> codec.compile(BigDecimal.class, flags), "Unsupported type was accepted for order-preserving encoding");
+        assertThrows(IllegalArgumentException.class, () -> codec.compile(UnannotatedCompositeKey.class, flags), "Composite key without components annotated with @HBRowKeyComponent was accepted for order-preserving encoding");
+        byte[] versionedKey = codec.serialize(new VersionedCompositeKey("IN", 7L, 0, "abc", (short) 3), flags);
+        assertArrayEquals(key, Arrays.copyOf(versionedKey, key.length), "Components inherited from super class weren't encoded (before those of the class)");
+        VersionedCompositeKey deserializedVersionedKey = (VersionedCompositeKey) codec.deserialize(versionedKey, VersionedCompositeKey.class, flags);
+        assertEquals(new CompositeKey("IN", 7L, 0, "abc"), deserializedVersionedKey, "Components inherited from super class got corrupted after serialization and deserialization");
+        assertEquals((short) 3, deserializedVersionedKey.version, "Component of subclass got corrupted after serialization and deserialization");
+        assertThrows(SerializationException.class, () -> codec.serialize(new CompositeKey("IN", 7L, null, ""), flags), "Null component was accepted for order-preserving encoding");
+    }
+
+    @Test
+    public void testBestSuitCodecCompiledPerformance() throws Exception {
+        final int numOfIterations = 1000000;
+        BestSuitCodec codec = new BestSuitCodec();
+        final Serializable[] values = {42, 4200000000L, 4.2, 4.2f, (short) 42, true};
+        final Map<String, String> flags = new HashMap<>();
+        ValueCodec[] valueCodecs = new ValueCodec[values.length];
+        for (int v = 0; v < values.length; v++) {
+            valueCodecs[v] = codec.compile(values[v].getClass(), flags);
+        }
+        ByteArrayBuffer buffer = new ByteArrayBuffer();
+        for (int round = 1; round <= 2; round++) { // first round warms up
+            long start = System.nanoTime();
+            for (int i = 0; i < numOfIterations; i++) {
+                for (Serializable value : values) {
+                    buffer.reset();
+                    codec.serialize(value, flags, buffer);
+                    codec.deserialize(buffer.toByteBuffer().array(), 0, buffer.size(), value.getClass(), flags);
+                }
+            }
+            long codecNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int i = 0; i < numOfIterations; i++) {
+                for (int v = 0; v < values.length; v++) {
+                    buffer.reset();
+                    valueCodecs[v].serialize(values[v], buffer);
+                    valueCodecs[v].deserialize(buffer.toByteBuffer().array(), 0, buffer.size());
+                }
+            }
+            long compiledNanos = System.nanoTime() - start;
+            System.out.printf("[round %d] Time taken for %d serializations and deserializations of small numeric values: %.2fms through %s vs %.2fms through compiled codecs%n",
+                    round, numOfIterations * values.length, codecNanos / 1e6, BestSuitCodec.class.getSimpleName(), compiledNanos / 1e6);
+        }
     }
 
     @Test
@@ -143,5 +526,14 @@ public class TestCodecs {
                     String.format("Cause of %s should'be been %s", CodecException.class.getSimpleName(), DeserializationException.class.getSimpleName())
             );
         }
+        Result result = hbObjectMapper.writeValueAsResult(TestObjects.validObjects.get(0));
+        try {
+            System.out.println(hbObjectMapper.readValue(result, Citizen.class));
+            fail("Overridden deserialize method of codec should've been used for Result too");
+        } catch (CodecException e) {
+            assertEquals(DeserializationException.class, e.getCause().getClass(),
+                    String.format("Cause of %s should'be been %s", CodecException.class.getSimpleName(), DeserializationException.class.getSimpleName())
+            );
+        }
     }
 }
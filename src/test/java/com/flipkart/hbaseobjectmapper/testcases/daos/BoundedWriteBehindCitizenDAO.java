@@ -0,0 +1,22 @@
+package com.flipkart.hbaseobjectmapper.testcases.daos;
+
+import com.flipkart.hbaseobjectmapper.AbstractHBDAO;
+import com.flipkart.hbaseobjectmapper.testcases.entities.Citizen;
+import org.apache.hadoop.hbase.client.Connection;
+
+public class BoundedWriteBehindCitizenDAO extends AbstractHBDAO<String, Citizen> {
+
+    public BoundedWriteBehindCitizenDAO(Connection connection) {
+        super(connection);
+    }
+
+    @Override
+    protected long getWriteBehindCapacityInBytes() {
+        return 1; // room for just one write at a time
+    }
+
+    @Override
+    protected long getWriteBehindMaxWaitMs() {
+        return 0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.flipkart.hbaseobjectmapper.testcases.daos;
+
+import com.flipkart.hbaseobjectmapper.AbstractHBDAO;
+import com.flipkart.hbaseobjectmapper.testcases.entities.Citizen;
+import org.apache.hadoop.hbase.client.Connection;
+
+public class BufferedCitizenDAO extends AbstractHBDAO<String, Citizen> {
+
+    public BufferedCitizenDAO(Connection connection) {
+        super(connection);
+    }
+
+    @Override
+    protected boolean isWriteBufferingEnabled() {
+        return true;
+    }
+
+    @Override
+    protected long getWriteBufferSize() {
+        return 64 * 1024 * 1024; // large enough that test writes are flushed only when asked to
+    }
+}
@@ -0,0 +1,13 @@
+package com.flipkart.hbaseobjectmapper.testcases.daos;
+
+import com.flipkart.hbaseobjectmapper.AbstractHBDAO;
+import com.flipkart.hbaseobjectmapper.testcases.entities.CallLog;
+import org.apache.hadoop.hbase.client.Connection;
+
+import java.io.IOException;
+
+public class CallLogDAO extends AbstractHBDAO<String, CallLog> {
+    public CallLogDAO(Connection connection) throws IOException {
+        super(connection);
+    }
+}
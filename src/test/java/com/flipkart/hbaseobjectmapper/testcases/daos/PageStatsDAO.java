@@ -0,0 +1,13 @@
+package com.flipkart.hbaseobjectmapper.testcases.daos;
+
+import com.flipkart.hbaseobjectmapper.AbstractHBDAO;
+import com.flipkart.hbaseobjectmapper.testcases.entities.PageStats;
+import org.apache.hadoop.hbase.client.Connection;
+
+import java.io.IOException;
+
+public class PageStatsDAO extends AbstractHBDAO<String, PageStats> {
+    public PageStatsDAO(Connection connection) throws IOException {
+        super(connection);
+    }
+}
@@ -0,0 +1,25 @@
+package com.flipkart.hbaseobjectmapper.testcases.daos;
+
+import com.flipkart.hbaseobjectmapper.AbstractHBDAO;
+import com.flipkart.hbaseobjectmapper.testcases.entities.Citizen;
+import org.apache.hadoop.hbase.client.Connection;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelDecodingCitizenDAO extends AbstractHBDAO<String, Citizen> {
+
+    public ParallelDecodingCitizenDAO(Connection connection) {
+        super(connection);
+    }
+
+    @Override
+    protected Executor getDecodingExecutor() {
+        return ForkJoinPool.commonPool();
+    }
+
+    @Override
+    protected int getParallelDecodingThreshold() {
+        return 2;
+    }
+}
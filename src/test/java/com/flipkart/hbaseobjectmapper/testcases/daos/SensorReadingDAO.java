@@ -0,0 +1,13 @@
+package com.flipkart.hbaseobjectmapper.testcases.daos;
+
+import com.flipkart.hbaseobjectmapper.AbstractHBDAO;
+import com.flipkart.hbaseobjectmapper.testcases.entities.SensorReading;
+import com.flipkart.hbaseobjectmapper.testcases.entities.SensorReadingKey;
+import org.apache.hadoop.hbase.client.Connection;
+
+public class SensorReadingDAO extends AbstractHBDAO<SensorReadingKey, SensorReading> {
+
+    public SensorReadingDAO(Connection connection) {
+        super(connection);
+    }
+}
@@ -0,0 +1,16 @@
+package com.flipkart.hbaseobjectmapper.testcases.daos;
+
+import com.flipkart.hbaseobjectmapper.AbstractHBDAO;
+import com.flipkart.hbaseobjectmapper.testcases.entities.Counter;
+import org.apache.hadoop.hbase.client.Connection;
+
+public class TrackedCounterDAO extends AbstractHBDAO<String, Counter> {
+    public TrackedCounterDAO(Connection connection) {
+        super(connection);
+    }
+
+    @Override
+    protected boolean isChangeTrackingEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,37 @@
+package com.flipkart.hbaseobjectmapper.testcases.entities;
+
+import com.flipkart.hbaseobjectmapper.*;
+import com.flipkart.hbaseobjectmapper.codec.BestSuitCodec;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An entity whose JSON-mapped fields are stored in Smile format
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@HBTable(name = "address_books", families = {@Family(name = "c")})
+public class AddressBook implements HBRecord<String> {
+    private String owner;
+
+    @HBColumn(family = "c", column = "contacts", codecFlags = {@Flag(name = BestSuitCodec.SERIALIZE_AS_SMILE, value = "true")})
+    private Map<String, Contact> contacts;
+
+    @HBColumn(family = "c", column = "favourites", codecFlags = {@Flag(name = BestSuitCodec.SERIALIZE_AS_SMILE, value = "true")})
+    private List<Contact> favourites;
+
+    @Override
+    public String composeRowKey() {
+        return owner;
+    }
+
+    @Override
+    public void parseRowKey(String rowKey) {
+        this.owner = rowKey;
+    }
+}
@@ -0,0 +1,46 @@
+package com.flipkart.hbaseobjectmapper.testcases.entities;
+
+import com.flipkart.hbaseobjectmapper.*;
+import lombok.Value;
+
+import java.util.NavigableMap;
+
+/**
+ * An immutable entity, created through a static factory method (since it has no empty constructor)
+ */
+@Value
+@HBTable(name = "bookmarks", families = {@Family(name = "b", versions = 5)})
+public class Bookmark implements HBRecord<String> {
+    String url;
+
+    @HBColumn(family = "b", column = "title")
+    String title;
+
+    @HBColumn(family = "b", column = "visits", absentValuePolicy = AbsentValuePolicy.ZERO)
+    int visits;
+
+    @HBColumnMultiVersion(family = "b", column = "tag")
+    NavigableMap<Long, String> tags;
+
+    private Bookmark(String url, String title, int visits, NavigableMap<Long, String> tags) {
+        this.url = url;
+        this.title = title;
+        this.visits = visits;
+        this.tags = tags;
+    }
+
+    @HBRecordCreator({"tags", "visits", HBRecordCreator.ROW_KEY, "title"})
+    public static Bookmark of(NavigableMap<Long, String> tags, int visits, String url, String title) {
+        return new Bookmark(url, title, visits, tags);
+    }
+
+    @Override
+    public String composeRowKey() {
+        return url;
+    }
+
+    @Override
+    public void parseRowKey(String rowKey) {
+        throw new UnsupportedOperationException("Row key of an immutable record can't be changed");
+    }
+}
@@ -0,0 +1,42 @@
+package com.flipkart.hbaseobjectmapper.testcases.entities;
+
+import com.flipkart.hbaseobjectmapper.*;
+import com.flipkart.hbaseobjectmapper.codec.BestSuitCodec;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.NavigableMap;
+
+/**
+ * An entity whose integer fields (including a multi-version one) are stored as variable-length integers
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@HBTable(name = "call_logs", families = {@Family(name = "c", versions = 5)})
+public class CallLog implements HBRecord<String> {
+    private String phoneNumber;
+
+    @HBColumn(family = "c", column = "total_calls", codecFlags = {@Flag(name = BestSuitCodec.SERIALIZE_AS_VARINT, value = "true")})
+    private Long totalCalls;
+
+    @HBColumn(family = "c", column = "missed_calls", codecFlags = {@Flag(name = BestSuitCodec.SERIALIZE_AS_VARINT, value = "true")})
+    private Integer missedCalls;
+
+    @HBColumn(family = "c", column = "max_duration", codecFlags = {@Flag(name = BestSuitCodec.SERIALIZE_AS_VARINT, value = "true")})
+    private Short maxDuration;
+
+    @HBColumnMultiVersion(family = "c", column = "last_caller", codecFlags = {@Flag(name = BestSuitCodec.SERIALIZE_AS_VARINT, value = "true")})
+    private NavigableMap<Long, Integer> lastCaller;
+
+    @Override
+    public String composeRowKey() {
+        return phoneNumber;
+    }
+
+    @Override
+    public void parseRowKey(String rowKey) {
+        this.phoneNumber = rowKey;
+    }
+}
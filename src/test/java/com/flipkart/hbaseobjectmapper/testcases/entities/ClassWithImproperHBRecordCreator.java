@@ -0,0 +1,32 @@
+package com.flipkart.hbaseobjectmapper.testcases.entities;
+
+import com.flipkart.hbaseobjectmapper.*;
+
+@SuppressWarnings({"FieldCanBeLocal", "unused"})
+@HBTable(name = "blah", families = {@Family(name = "a")})
+public class ClassWithImproperHBRecordCreator implements HBRecord<String> {
+    private final String key;
+
+    @HBColumn(family = "a", column = "b")
+    private final Integer b;
+
+    @HBColumn(family = "a", column = "c")
+    private final String c;
+
+    @HBRecordCreator({HBRecordCreator.ROW_KEY, "b"}) // no parameter for field 'c'
+    public ClassWithImproperHBRecordCreator(String key, Integer b) {
+        this.key = key;
+        this.b = b;
+        this.c = null;
+    }
+
+    @Override
+    public String composeRowKey() {
+        return key;
+    }
+
+    @Override
+    public void parseRowKey(String rowKey) {
+        throw new UnsupportedOperationException();
+    }
+}
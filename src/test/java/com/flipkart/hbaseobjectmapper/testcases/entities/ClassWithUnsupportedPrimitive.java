@@ -0,0 +1,30 @@
+package com.flipkart.hbaseobjectmapper.testcases.entities;
+
+import com.flipkart.hbaseobjectmapper.*;
+
+@SuppressWarnings({"FieldCanBeLocal", "unused"})
+@HBTable(name = "blah", families = {@Family(name = "a")})
+public class ClassWithUnsupportedPrimitive implements HBRecord<String> {
+    protected String key = "key";
+
+    @Override
+    public String composeRowKey() {
+        return key;
+    }
+
+    @Override
+    public void parseRowKey(String rowKey) {
+        this.key = rowKey;
+    }
+
+    @HBColumn(family = "a", column = "b", absentValuePolicy = AbsentValuePolicy.ZERO)
+    private float f;
+
+    public ClassWithUnsupportedPrimitive() {
+
+    }
+
+    public ClassWithUnsupportedPrimitive(float f) {
+        this.f = f;
+    }
+}
@@ -93,4 +93,22 @@ public class ClassesWithInvalidHBTableAnnotation {
         @HBColumn(family = "f", column = "c")
         private Integer i;
     }
+
+    @HBTable(name = "blah", families = {@Family(name = "f")}, rowKeySaltBuckets = 300)
+    public static class InvalidSaltBuckets implements HBRecord<String> {
+        private String key = "key";
+
+        @Override
+        public String composeRowKey() {
+            return key;
+        }
+
+        @Override
+        public void parseRowKey(String rowKey) {
+            this.key = rowKey;
+        }
+
+        @HBColumn(family = "f", column = "c")
+        private Integer i;
+    }
 }
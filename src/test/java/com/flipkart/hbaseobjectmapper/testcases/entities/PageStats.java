@@ -0,0 +1,40 @@
+package com.flipkart.hbaseobjectmapper.testcases.entities;
+
+import com.flipkart.hbaseobjectmapper.*;
+import com.flipkart.hbaseobjectmapper.codec.BestSuitCodec;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@HBTable(name = "page_stats", families = {@Family(name = "s")})
+public class PageStats implements HBRecord<String> {
+    private String url;
+
+    @HBColumn(family = "s", column = "title")
+    private String title;
+
+    @HBColumn(family = "s", column = "views", absentValuePolicy = AbsentValuePolicy.ZERO)
+    private int views;
+
+    @HBColumn(family = "s", column = "bytes_served", absentValuePolicy = AbsentValuePolicy.ZERO, codecFlags = {@Flag(name = BestSuitCodec.SERIALIZE_AS_VARINT, value = "true")})
+    private long bytesServed;
+
+    @HBColumn(family = "s", column = "avg_latency", absentValuePolicy = AbsentValuePolicy.ZERO)
+    private double avgLatency;
+
+    @HBColumn(family = "s", column = "archived", absentValuePolicy = AbsentValuePolicy.FAIL)
+    private boolean archived;
+
+    @Override
+    public String composeRowKey() {
+        return url;
+    }
+
+    @Override
+    public void parseRowKey(String rowKey) {
+        this.url = rowKey;
+    }
+}
@@ -0,0 +1,37 @@
+package com.flipkart.hbaseobjectmapper.testcases.entities;
+
+import com.flipkart.hbaseobjectmapper.Family;
+import com.flipkart.hbaseobjectmapper.HBColumn;
+import com.flipkart.hbaseobjectmapper.HBRecord;
+import com.flipkart.hbaseobjectmapper.HBTable;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@HBTable(name = "sensor_readings", families = {@Family(name = "r")}, rowKeySaltBuckets = 8)
+public class SensorReading implements HBRecord<SensorReadingKey> {
+    private String sensorId;
+
+    private long timestamp;
+
+    @HBColumn(family = "r", column = "value")
+    private Double value;
+
+    public SensorReading(String sensorId, long timestamp, Double value) {
+        this.sensorId = sensorId;
+        this.timestamp = timestamp;
+        this.value = value;
+    }
+
+    @Override
+    public SensorReadingKey composeRowKey() {
+        return new SensorReadingKey(sensorId, timestamp);
+    }
+
+    @Override
+    public void parseRowKey(SensorReadingKey rowKey) {
+        sensorId = rowKey.getSensorId();
+        timestamp = rowKey.getTimestamp();
+    }
+}
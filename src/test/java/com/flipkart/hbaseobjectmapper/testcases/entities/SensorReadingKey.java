@@ -0,0 +1,30 @@
+package com.flipkart.hbaseobjectmapper.testcases.entities;
+
+import com.flipkart.hbaseobjectmapper.HBRowKeyComponent;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.Comparator;
+
+@Data
+@NoArgsConstructor
+public class SensorReadingKey implements Serializable, Comparable<SensorReadingKey> {
+    private static final Comparator<SensorReadingKey> COMPARATOR = Comparator.comparing(SensorReadingKey::getSensorId).thenComparingLong(SensorReadingKey::getTimestamp);
+
+    @HBRowKeyComponent(order = 1)
+    private long timestamp;
+
+    @HBRowKeyComponent(order = 0)
+    private String sensorId;
+
+    public SensorReadingKey(String sensorId, long timestamp) {
+        this.sensorId = sensorId;
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public int compareTo(SensorReadingKey other) {
+        return COMPARATOR.compare(this, other);
+    }
+}